@@ -31,6 +31,6 @@ CubicHermiteSpline::CubicHermiteSpline(
         m_coefficients.template block<2, 1>(0, i) * (3 - i);
 
     m_coefficients.template block<2, 1>(4, i) =
-        m_coefficients.template block<2, 1>(2, i) * (3 - i);
+        m_coefficients.template block<2, 1>(2, i) * (2 - i);
   }
 }
@@ -31,6 +31,6 @@ QuinticHermiteSpline::QuinticHermiteSpline(
         m_coefficients.template block<2, 1>(0, i) * (5 - i);
 
     m_coefficients.template block<2, 1>(4, i) =
-        m_coefficients.template block<2, 1>(2, i) * (5 - i);
+        m_coefficients.template block<2, 1>(2, i) * (4 - i);
   }
 }
@@ -0,0 +1,83 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures 50-tap filters: a moving average, which uses a running sum, and a
+ * general FIR filter with the same number of taps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinearFilterBenchmark {
+  private static final int kTaps = 50;
+
+  private LinearFilter m_movingAverage;
+  private LinearFilter m_fir;
+
+  private final double[] m_inputs = new double[256];
+  private final double[] m_outputs = new double[256];
+  private int m_index;
+
+  /**
+   * Creates the filters and the input samples.
+   */
+  @Setup
+  public void setup() {
+    m_movingAverage = LinearFilter.movingAverage(kTaps);
+
+    var gains = new double[kTaps];
+    for (int i = 0; i < kTaps; i++) {
+      gains[i] = (kTaps - i) / (kTaps * (kTaps + 1) / 2.0);
+    }
+    m_fir = new LinearFilter(gains, new double[0]);
+
+    var random = new Random(2019);
+    for (int i = 0; i < m_inputs.length; i++) {
+      m_inputs[i] = random.nextGaussian();
+    }
+  }
+
+  private double nextInput() {
+    m_index = (m_index + 1) & (m_inputs.length - 1);
+    return m_inputs[m_index];
+  }
+
+  @Benchmark
+  public double movingAverage() {
+    return m_movingAverage.calculate(nextInput());
+  }
+
+  @Benchmark
+  public double fir() {
+    return m_fir.calculate(nextInput());
+  }
+
+  @Benchmark
+  public double[] movingAverageBatch() {
+    m_movingAverage.calculate(m_inputs, m_outputs);
+    return m_outputs;
+  }
+}
@@ -0,0 +1,88 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one step of a streaming median filter against sorting a copy of the
+ * window every step.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PercentileFilterBenchmark {
+  @Param({"11", "101", "501"})
+  private int m_size;
+
+  private PercentileFilter m_filter;
+
+  private double[] m_window;
+  private double[] m_sorted;
+  private int m_windowIndex;
+
+  private final double[] m_inputs = new double[1024];
+  private int m_index;
+
+  /**
+   * Creates the filters and the input samples.
+   */
+  @Setup
+  public void setup() {
+    m_filter = PercentileFilter.median(m_size);
+    m_window = new double[m_size];
+    m_sorted = new double[m_size];
+
+    var random = new Random(2019);
+    for (int i = 0; i < m_inputs.length; i++) {
+      m_inputs[i] = random.nextGaussian();
+    }
+  }
+
+  private double nextInput() {
+    m_index = (m_index + 1) & (m_inputs.length - 1);
+    return m_inputs[m_index];
+  }
+
+  /**
+   * Steps the streaming median filter.
+   */
+  @Benchmark
+  public double streaming() {
+    return m_filter.calculate(nextInput());
+  }
+
+  /**
+   * Steps a median filter that sorts a copy of its window.
+   */
+  @Benchmark
+  public double sortEveryStep() {
+    m_window[m_windowIndex] = nextInput();
+    m_windowIndex = (m_windowIndex + 1) % m_size;
+    System.arraycopy(m_window, 0, m_sorted, 0, m_size);
+    Arrays.sort(m_sorted);
+    return m_sorted[m_size / 2];
+  }
+}
@@ -0,0 +1,88 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one period of updating 24 PID controllers, as separate
+ * PIDControllers and as one PIDControllerBank.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PIDControllerBankBenchmark {
+  private static final int kChannels = 24;
+
+  private final PIDController[] m_controllers = new PIDController[kChannels];
+  private PIDControllerBank m_bank;
+
+  private final double[] m_measurements = new double[kChannels];
+  private final double[] m_setpoints = new double[kChannels];
+  private final double[] m_outputs = new double[kChannels];
+
+  /**
+   * Creates the controllers with the same gains.
+   */
+  @Setup
+  public void setup() {
+    m_bank = new PIDControllerBank(kChannels);
+    for (int i = 0; i < kChannels; i++) {
+      m_controllers[i] = new PIDController(1.0, 0.1, 0.05);
+      m_bank.setPID(i, 1.0, 0.1, 0.05);
+      m_measurements[i] = Math.sin(i);
+      m_setpoints[i] = Math.cos(i);
+    }
+  }
+
+  /**
+   * Unregisters the controllers.
+   */
+  @TearDown
+  public void tearDown() {
+    for (var controller : m_controllers) {
+      controller.close();
+    }
+    m_bank.close();
+  }
+
+  /**
+   * Updates each of the separate controllers.
+   */
+  @Benchmark
+  public double[] controllers() {
+    for (int i = 0; i < kChannels; i++) {
+      m_outputs[i] = m_controllers[i].calculate(m_measurements[i], m_setpoints[i]);
+    }
+    return m_outputs;
+  }
+
+  /**
+   * Updates every channel of the bank in one call.
+   */
+  @Benchmark
+  public double[] bank() {
+    m_bank.calculate(m_measurements, m_setpoints, m_outputs);
+    return m_outputs;
+  }
+}
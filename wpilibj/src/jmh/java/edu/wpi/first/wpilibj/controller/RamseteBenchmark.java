@@ -0,0 +1,93 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveWheelSpeeds;
+import edu.wpi.first.wpilibj.trajectory.PackedTrajectory;
+import edu.wpi.first.wpilibj.trajectory.Trajectory;
+import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
+
+/**
+ * Measures one tick of a Ramsete follow loop: sampling the trajectory,
+ * calculating the controller output, and converting it to wheel speeds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RamseteBenchmark {
+  private final RamseteController m_controller = new RamseteController(2.0, 0.7);
+  private final DifferentialDriveKinematics m_kinematics = new DifferentialDriveKinematics(0.7);
+  private final Pose2d m_robotPose = new Pose2d(0.1, -0.1, Rotation2d.fromDegrees(5.0));
+
+  private Trajectory m_trajectory;
+  private PackedTrajectory.Sampler m_sampler;
+  private final PackedTrajectory.MutableState m_state = new PackedTrajectory.MutableState();
+  private final ChassisSpeeds m_chassisSpeeds = new ChassisSpeeds();
+  private final DifferentialDriveWheelSpeeds m_wheelSpeeds = new DifferentialDriveWheelSpeeds();
+  private double m_timeSeconds;
+
+  /**
+   * Generates the trajectory that is followed.
+   */
+  @Setup
+  public void setup() {
+    m_trajectory = TrajectoryGenerator.generateTrajectory(List.of(
+        new Pose2d(0, 0, new Rotation2d()),
+        new Pose2d(3, 1.5, Rotation2d.fromDegrees(30)),
+        new Pose2d(6, 0, Rotation2d.fromDegrees(-30))), List.of(), 0.0, 0.0, 3.0, 2.0, false);
+    m_sampler = new PackedTrajectory(m_trajectory).sampler();
+  }
+
+  private double nextTime() {
+    m_timeSeconds += 0.02;
+    if (m_timeSeconds > m_trajectory.getTotalTimeSeconds()) {
+      m_timeSeconds = 0.0;
+    }
+    return m_timeSeconds;
+  }
+
+  /**
+   * Follows one trajectory sample with the allocating API.
+   */
+  @Benchmark
+  public DifferentialDriveWheelSpeeds followTick() {
+    var output = m_controller.calculate(m_robotPose, m_trajectory.sample(nextTime()));
+    return m_kinematics.toWheelSpeeds(output);
+  }
+
+  /**
+   * Follows one trajectory sample with the allocation-free API.
+   */
+  @Benchmark
+  public DifferentialDriveWheelSpeeds followTickAllocationFree() {
+    m_sampler.sample(nextTime(), m_state);
+    m_controller.calculate(m_robotPose, m_state, m_chassisSpeeds);
+    return m_kinematics.toWheelSpeeds(m_chassisSpeeds, m_wheelSpeeds);
+  }
+}
@@ -0,0 +1,85 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the pose operations used by odometry and path following, comparing
+ * the immutable Pose2d against MutablePose2d. Run with the GC profiler
+ * (the default for the jmh task) to see the bytes allocated per operation in
+ * gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+  private final Pose2d m_start = new Pose2d(2.0, 1.0, Rotation2d.fromDegrees(160.0));
+  private final Pose2d m_end = new Pose2d(5.0, 5.0, Rotation2d.fromDegrees(90.0));
+  private final Transform2d m_transform = new Transform2d(new Translation2d(0.5, -0.2),
+      Rotation2d.fromDegrees(5.0));
+  private final Twist2d m_twist = new Twist2d(0.02, 0.0, 0.001);
+
+  private final MutablePose2d m_mutableStart = new MutablePose2d(m_start);
+  private final MutablePose2d m_mutableEnd = new MutablePose2d(m_end);
+  private final MutablePose2d m_mutableResult = new MutablePose2d();
+  private final Twist2d m_twistResult = new Twist2d();
+
+  @Benchmark
+  public Pose2d poseExp() {
+    return m_start.exp(m_twist);
+  }
+
+  @Benchmark
+  public Twist2d poseLog() {
+    return m_start.log(m_end);
+  }
+
+  @Benchmark
+  public Pose2d poseTransformBy() {
+    return m_start.transformBy(m_transform);
+  }
+
+  @Benchmark
+  public Pose2d poseRelativeTo() {
+    return m_end.relativeTo(m_start);
+  }
+
+  @Benchmark
+  public MutablePose2d mutablePoseExp() {
+    return m_mutableResult.set(m_mutableStart).exp(m_twist);
+  }
+
+  @Benchmark
+  public Twist2d mutablePoseLog() {
+    return m_mutableStart.log(m_mutableEnd, m_twistResult);
+  }
+
+  @Benchmark
+  public MutablePose2d mutablePoseTransformBy() {
+    return m_mutableResult.set(m_mutableStart).transformBy(m_transform);
+  }
+
+  @Benchmark
+  public MutablePose2d mutablePoseRelativeTo() {
+    return m_mutableResult.set(m_mutableEnd).relativeTo(m_mutableStart);
+  }
+}
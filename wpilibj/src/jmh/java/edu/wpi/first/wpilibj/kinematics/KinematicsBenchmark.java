@@ -0,0 +1,95 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.kinematics;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+
+/**
+ * Measures the kinematics and odometry calls that run every robot period. Run
+ * with the GC profiler (the default for the jmh task) to see the bytes
+ * allocated per operation in gc.alloc.rate.norm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KinematicsBenchmark {
+  private final SwerveDriveKinematics m_swerveKinematics = new SwerveDriveKinematics(
+      new Translation2d(0.3, 0.3), new Translation2d(0.3, -0.3),
+      new Translation2d(-0.3, 0.3), new Translation2d(-0.3, -0.3));
+  private final DifferentialDriveKinematics m_differentialKinematics =
+      new DifferentialDriveKinematics(0.7);
+  private final DifferentialDriveOdometry m_differentialOdometry =
+      new DifferentialDriveOdometry(m_differentialKinematics, new Pose2d());
+
+  private final ChassisSpeeds m_speeds = new ChassisSpeeds(2.0, 0.5, 1.0);
+  private final SwerveModuleState[] m_moduleStates = {
+      new SwerveModuleState(2.0, Rotation2d.fromDegrees(10.0)),
+      new SwerveModuleState(2.1, Rotation2d.fromDegrees(12.0)),
+      new SwerveModuleState(1.9, Rotation2d.fromDegrees(8.0)),
+      new SwerveModuleState(2.0, Rotation2d.fromDegrees(11.0))
+  };
+  private final DifferentialDriveWheelSpeeds m_wheelSpeeds =
+      new DifferentialDriveWheelSpeeds(1.9, 2.1);
+  private final Rotation2d m_gyroAngle = Rotation2d.fromDegrees(30.0);
+
+  private final double[] m_moduleSpeeds = {2.0, 2.1, 1.9, 2.0};
+  private final double[] m_moduleAngles = {0.17, 0.21, 0.14, 0.19};
+  private final ChassisSpeeds m_chassisSpeedsResult = new ChassisSpeeds();
+
+  private double m_timeSeconds;
+
+  @Benchmark
+  public SwerveModuleState[] swerveToModuleStates() {
+    return m_swerveKinematics.toSwerveModuleStates(m_speeds);
+  }
+
+  @Benchmark
+  public double[] swerveToModuleStatesPrimitive() {
+    m_swerveKinematics.toSwerveModuleStates(m_speeds, m_moduleSpeeds, m_moduleAngles);
+    return m_moduleSpeeds;
+  }
+
+  @Benchmark
+  public ChassisSpeeds swerveToChassisSpeeds() {
+    return m_swerveKinematics.toChassisSpeeds(m_moduleStates);
+  }
+
+  @Benchmark
+  public ChassisSpeeds swerveToChassisSpeedsPrimitive() {
+    return m_swerveKinematics.toChassisSpeeds(m_moduleSpeeds, m_moduleAngles,
+        m_chassisSpeedsResult);
+  }
+
+  @Benchmark
+  public DifferentialDriveWheelSpeeds differentialToWheelSpeeds() {
+    return m_differentialKinematics.toWheelSpeeds(m_speeds);
+  }
+
+  @Benchmark
+  public Pose2d differentialOdometryUpdate() {
+    m_timeSeconds += 0.02;
+    return m_differentialOdometry.updateWithTime(m_timeSeconds, m_gyroAngle, m_wheelSpeeds);
+  }
+}
@@ -0,0 +1,77 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.spline;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+
+/**
+ * Measures spline evaluation through the allocating
+ * {@link Spline#getPoint(double)} and the allocation-free
+ * {@link Spline#getPoint(double, SplineSample)}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplineBenchmark {
+  private final Spline m_quintic = SplineHelper.getQuinticSplinesFromWaypoints(new Pose2d[]{
+      new Pose2d(0, 0, new Rotation2d()),
+      new Pose2d(3, 2, Rotation2d.fromDegrees(60))})[0];
+  private final Spline m_cubic = SplineHelper.getCubicSplinesFromWaypoints(
+      new Pose2d(0, 0, new Rotation2d()), new Translation2d[]{},
+      new Pose2d(3, 2, Rotation2d.fromDegrees(60)))[0];
+
+  private final SplineSample m_sample = new SplineSample();
+  private double m_parameter;
+
+  private double nextT() {
+    m_parameter += 0.01;
+    if (m_parameter > 1.0) {
+      m_parameter = 0.0;
+    }
+    return m_parameter;
+  }
+
+  @Benchmark
+  public PoseWithCurvature quinticGetPoint() {
+    return m_quintic.getPoint(nextT());
+  }
+
+  @Benchmark
+  public SplineSample quinticGetPointSample() {
+    m_quintic.getPoint(nextT(), m_sample);
+    return m_sample;
+  }
+
+  @Benchmark
+  public PoseWithCurvature cubicGetPoint() {
+    return m_cubic.getPoint(nextT());
+  }
+
+  @Benchmark
+  public SplineSample cubicGetPointSample() {
+    m_cubic.getPoint(nextT(), m_sample);
+    return m_sample;
+  }
+}
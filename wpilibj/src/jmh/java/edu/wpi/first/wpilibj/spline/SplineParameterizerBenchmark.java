@@ -0,0 +1,147 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.spline;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+/**
+ * Compares the iterative spline parameterizer against the recursive
+ * implementation it replaced on long multi-waypoint paths.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SplineParameterizerBenchmark {
+  private static final SplineParameterizer.Tolerances kCoarseTolerances =
+      new SplineParameterizer.Tolerances(0.5, 0.01, 0.25);
+
+  @Param({"2", "10", "25"})
+  public int m_waypointCount;
+
+  private Spline[] m_quinticSplines;
+  private final SplineSampleBuffer m_buffer = new SplineSampleBuffer(4096);
+
+  /**
+   * Builds a weaving path through the requested number of waypoints.
+   */
+  @Setup
+  public void setup() {
+    var poses = new Pose2d[m_waypointCount];
+    for (int i = 0; i < m_waypointCount; i++) {
+      poses[i] = new Pose2d(2.0 * i, (i % 2 == 0) ? 0.0 : 1.5,
+          Rotation2d.fromDegrees((i % 2 == 0) ? 30.0 : -30.0));
+    }
+    m_quinticSplines = SplineHelper.getQuinticSplinesFromWaypoints(poses);
+  }
+
+  /**
+   * Parameterizes the splines with the old recursive parameterizer.
+   */
+  @Benchmark
+  public List<PoseWithCurvature> recursiveQuintic() {
+    var points = new ArrayList<PoseWithCurvature>();
+    for (var spline : m_quinticSplines) {
+      points.addAll(RecursiveParameterizer.parameterize(spline));
+    }
+    return points;
+  }
+
+  /**
+   * Parameterizes the splines into a list of poses.
+   */
+  @Benchmark
+  public List<PoseWithCurvature> iterativeQuintic() {
+    var points = new ArrayList<PoseWithCurvature>();
+    for (var spline : m_quinticSplines) {
+      points.addAll(SplineParameterizer.parameterize(spline));
+    }
+    return points;
+  }
+
+  /**
+   * Parameterizes the splines into a reused sample buffer.
+   */
+  @Benchmark
+  public SplineSampleBuffer iterativeQuinticBuffer() {
+    m_buffer.clear();
+    for (var spline : m_quinticSplines) {
+      SplineParameterizer.appendPoints(spline, 0.0, 1.0, SplineParameterizer.kDefaultTolerances,
+          m_buffer);
+    }
+    return m_buffer;
+  }
+
+  /**
+   * Parameterizes the splines into a reused sample buffer with coarse
+   * tolerances.
+   */
+  @Benchmark
+  public SplineSampleBuffer iterativeQuinticBufferCoarse() {
+    m_buffer.clear();
+    for (var spline : m_quinticSplines) {
+      SplineParameterizer.appendPoints(spline, 0.0, 1.0, kCoarseTolerances, m_buffer);
+    }
+    return m_buffer;
+  }
+
+  /**
+   * The recursive parameterizer that SplineParameterizer used before it was
+   * made iterative, kept here as a baseline.
+   */
+  static final class RecursiveParameterizer {
+    private static final double kMaxDx = 0.127;
+    private static final double kMaxDy = 0.00127;
+    private static final double kMaxDtheta = 0.0872;
+
+    private RecursiveParameterizer() {
+    }
+
+    static List<PoseWithCurvature> parameterize(Spline spline) {
+      var arr = new ArrayList<PoseWithCurvature>();
+      arr.add(spline.getPoint(0.0));
+      getSegmentArc(spline, arr, 0.0, 1.0);
+      return arr;
+    }
+
+    private static void getSegmentArc(Spline spline, List<PoseWithCurvature> vector,
+                                      double t0, double t1) {
+      final var start = spline.getPoint(t0);
+      final var end = spline.getPoint(t1);
+
+      final var twist = start.poseMeters.log(end.poseMeters);
+
+      if (Math.abs(twist.dy) > kMaxDy || Math.abs(twist.dx) > kMaxDx
+          || Math.abs(twist.dtheta) > kMaxDtheta) {
+        getSegmentArc(spline, vector, t0, (t0 + t1) / 2);
+        getSegmentArc(spline, vector, (t0 + t1) / 2, t1);
+      } else {
+        vector.add(spline.getPoint(t1));
+      }
+    }
+  }
+}
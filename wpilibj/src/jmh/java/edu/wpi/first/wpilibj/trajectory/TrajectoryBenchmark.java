@@ -0,0 +1,91 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveKinematicsConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+/**
+ * Measures trajectory generation and sampling. Sampling walks forward through
+ * the trajectory in 20 ms steps like a follower would.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrajectoryBenchmark {
+  private static final List<TrajectoryConstraint> kConstraints = List.of(
+      new CentripetalAccelerationConstraint(2.0),
+      new DifferentialDriveKinematicsConstraint(new DifferentialDriveKinematics(0.7), 2.5));
+
+  private List<Pose2d> m_waypoints;
+  private Trajectory m_trajectory;
+  private PackedTrajectory.Sampler m_sampler;
+  private final PackedTrajectory.MutableState m_state = new PackedTrajectory.MutableState();
+  private double m_timeSeconds;
+
+  /**
+   * Generates the trajectory that is sampled.
+   */
+  @Setup
+  public void setup() {
+    m_waypoints = List.of(
+        new Pose2d(0, 0, new Rotation2d()),
+        new Pose2d(3, 1.5, Rotation2d.fromDegrees(30)),
+        new Pose2d(6, 0, Rotation2d.fromDegrees(-30)),
+        new Pose2d(9, 1.5, new Rotation2d()));
+    m_trajectory = generate();
+    m_sampler = new PackedTrajectory(m_trajectory).sampler();
+  }
+
+  private double nextTime() {
+    m_timeSeconds += 0.02;
+    if (m_timeSeconds > m_trajectory.getTotalTimeSeconds()) {
+      m_timeSeconds = 0.0;
+    }
+    return m_timeSeconds;
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.AverageTime)
+  public Trajectory generate() {
+    return TrajectoryGenerator.generateTrajectory(m_waypoints, kConstraints, 0.0, 0.0, 3.0, 2.0,
+        false);
+  }
+
+  @Benchmark
+  public Trajectory.State sample() {
+    return m_trajectory.sample(nextTime());
+  }
+
+  @Benchmark
+  public PackedTrajectory.MutableState packedSample() {
+    m_sampler.sample(nextTime(), m_state);
+    return m_state;
+  }
+}
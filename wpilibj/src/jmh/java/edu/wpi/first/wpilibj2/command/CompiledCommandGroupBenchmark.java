@@ -0,0 +1,104 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures one iteration of a 40-step routine, with each step a small nested group, run by the
+ * groups themselves and by a compiled group.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompiledCommandGroupBenchmark {
+  private static final int kSteps = 40;
+
+  private Command m_groups;
+  private Command m_compiled;
+
+  /**
+   * A command that finishes after executing a set number of times.
+   */
+  private static class StepCommand extends CommandBase {
+    private final int m_length;
+    private int m_executions;
+
+    StepCommand(int length) {
+      m_length = length;
+    }
+
+    @Override
+    public void initialize() {
+      m_executions = 0;
+    }
+
+    @Override
+    public void execute() {
+      m_executions++;
+    }
+
+    @Override
+    public boolean isFinished() {
+      return m_executions >= m_length;
+    }
+  }
+
+  private static Command createRoutine() {
+    Command[] steps = new Command[kSteps];
+    for (int i = 0; i < kSteps; i++) {
+      steps[i] = new ParallelDeadlineGroup(new StepCommand(50),
+          new SequentialCommandGroup(new StepCommand(10), new StepCommand(1000)),
+          new ParallelRaceGroup(new StepCommand(1000), new StepCommand(1000)));
+    }
+    return new SequentialCommandGroup(steps);
+  }
+
+  /**
+   * Creates the routines.
+   */
+  @Setup
+  public void setup() {
+    CommandGroupBase.clearGroupedCommands();
+    m_groups = createRoutine();
+    m_compiled = new CompiledCommandGroup(createRoutine());
+  }
+
+  private static boolean iterate(Command command) {
+    command.execute();
+    if (command.isFinished()) {
+      command.end(false);
+      command.initialize();
+    }
+    return command.isFinished();
+  }
+
+  @Benchmark
+  public boolean groups() {
+    return iterate(m_groups);
+  }
+
+  @Benchmark
+  public boolean compiled() {
+    return iterate(m_compiled);
+  }
+}
@@ -0,0 +1,58 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+/**
+ * A source of time with microsecond resolution.
+ *
+ * <p>Classes that measure time, such as {@link Timer}, {@link Watchdog} and the
+ * odometry classes, read it from the default clock. This is the FPGA clock,
+ * which is monotonic and counts microseconds since the FPGA started. A
+ * simulation can replace the default clock with a {@link SimClock} so that time
+ * only advances when the simulation steps it, which lets the simulation run
+ * faster than real time while the robot code still sees precise periods.
+ */
+@FunctionalInterface
+public interface Clock {
+  /**
+   * Returns the current time in microseconds. This must never decrease.
+   *
+   * @return The current time in microseconds.
+   */
+  long getMicroseconds();
+
+  /**
+   * Returns the current time in seconds.
+   *
+   * @return The current time in seconds.
+   */
+  default double getSeconds() {
+    return getMicroseconds() / 1.0e6;
+  }
+
+  /**
+   * Returns the default clock. The returned clock always reads from the clock
+   * most recently passed to {@link #setDefault(Clock)}, so objects that keep it
+   * will use a replacement clock even if they were constructed before it was
+   * set.
+   *
+   * @return The default clock.
+   */
+  static Clock getDefault() {
+    return DefaultClock.kInstance;
+  }
+
+  /**
+   * Replaces the clock that {@link #getDefault()} reads from.
+   *
+   * @param clock The new clock, or null to use the FPGA clock.
+   */
+  static void setDefault(Clock clock) {
+    DefaultClock.setClock(clock);
+  }
+}
@@ -0,0 +1,33 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+/**
+ * The clock returned by {@link Clock#getDefault()}, which forwards to the
+ * currently selected clock.
+ */
+final class DefaultClock implements Clock {
+  static final DefaultClock kInstance = new DefaultClock();
+
+  @SuppressWarnings("AbbreviationAsWordInName")
+  private static final Clock kFPGAClock = RobotController::getFPGATime;
+
+  private static volatile Clock clock = kFPGAClock;
+
+  private DefaultClock() {
+  }
+
+  static void setClock(Clock newClock) {
+    clock = newClock != null ? newClock : kFPGAClock;
+  }
+
+  @Override
+  public long getMicroseconds() {
+    return clock.getMicroseconds();
+  }
+}
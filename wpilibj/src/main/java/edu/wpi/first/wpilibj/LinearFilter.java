@@ -11,7 +11,6 @@ import java.util.Arrays;
 
 import edu.wpi.first.hal.FRCNetComm.tResourceType;
 import edu.wpi.first.hal.HAL;
-import edu.wpi.first.wpiutil.CircularBuffer;
 
 /**
  * This class implements a linear, digital filter. All types of FIR and IIR filters are supported.
@@ -49,13 +48,33 @@ import edu.wpi.first.wpiutil.CircularBuffer;
  * that works well for you at, say, 100Hz, you will most definitely need to adjust the gains if you
  * then want to run it at 200Hz! Combining this with Note 1 - the impetus is on YOU as a developer
  * to make sure calculate() gets called at the desired, constant frequency!
+ *
+ * <p>The past inputs and outputs are kept in ring buffers whose sizes are powers of two, so the
+ * taps are indexed with a mask instead of a modulo. Filters whose feed forward gains are all equal
+ * and that have no feed back gains, such as {@link #movingAverage(int)}, keep a running sum of
+ * their inputs, so each step takes constant time no matter how many taps there are.
  */
 public class LinearFilter {
-  private final CircularBuffer m_inputs;
-  private final CircularBuffer m_outputs;
+  // The number of steps between recomputing the running sum from scratch, which keeps the rounding
+  // error that it accumulates from growing without bound
+  private static final int kRunningSumRefreshPeriod = 1024;
+
+  private final double[] m_inputs;
+  private final double[] m_outputs;
+  private final int m_inputMask;
+  private final int m_outputMask;
   private final double[] m_inputGains;
   private final double[] m_outputGains;
 
+  // Indices of the most recent input and output
+  private int m_inputIndex;
+  private int m_outputIndex;
+
+  // Whether the output is the running sum of the inputs times the (equal) input gains
+  private final boolean m_useRunningSum;
+  private double m_runningSum;
+  private int m_stepsUntilRefresh = kRunningSumRefreshPeriod;
+
   private static int instances;
 
   /**
@@ -65,10 +84,13 @@ public class LinearFilter {
    * @param fbGains The "feed back" or IIR gains.
    */
   public LinearFilter(double[] ffGains, double[] fbGains) {
-    m_inputs = new CircularBuffer(ffGains.length);
-    m_outputs = new CircularBuffer(fbGains.length);
+    m_inputs = new double[ringBufferSize(ffGains.length)];
+    m_outputs = new double[ringBufferSize(fbGains.length)];
+    m_inputMask = m_inputs.length - 1;
+    m_outputMask = m_outputs.length - 1;
     m_inputGains = Arrays.copyOf(ffGains, ffGains.length);
     m_outputGains = Arrays.copyOf(fbGains, fbGains.length);
+    m_useRunningSum = fbGains.length == 0 && ffGains.length > 1 && allEqual(ffGains);
 
     instances++;
     HAL.report(tResourceType.kResourceType_LinearFilter, instances);
@@ -138,8 +160,12 @@ public class LinearFilter {
    * Reset the filter state.
    */
   public void reset() {
-    m_inputs.clear();
-    m_outputs.clear();
+    Arrays.fill(m_inputs, 0.0);
+    Arrays.fill(m_outputs, 0.0);
+    m_inputIndex = 0;
+    m_outputIndex = 0;
+    m_runningSum = 0.0;
+    m_stepsUntilRefresh = kRunningSumRefreshPeriod;
   }
 
   /**
@@ -150,22 +176,74 @@ public class LinearFilter {
    * @return The filtered value at this step
    */
   public double calculate(double input) {
-    double retVal = 0.0;
-
     // Rotate the inputs
-    m_inputs.addFirst(input);
+    m_inputIndex = (m_inputIndex - 1) & m_inputMask;
+    final double oldestInput = m_inputs[(m_inputIndex + m_inputGains.length) & m_inputMask];
+    m_inputs[m_inputIndex] = input;
 
     // Calculate the new value
-    for (int i = 0; i < m_inputGains.length; i++) {
-      retVal += m_inputs.get(i) * m_inputGains[i];
-    }
-    for (int i = 0; i < m_outputGains.length; i++) {
-      retVal -= m_outputs.get(i) * m_outputGains[i];
+    double retVal = 0.0;
+    if (m_useRunningSum) {
+      // Subtracting an infinite or NaN input back out of the sum would leave it NaN, so the sum
+      // is recomputed whenever one enters or leaves the window.
+      if (--m_stepsUntilRefresh > 0 && Double.isFinite(input) && Double.isFinite(oldestInput)
+          && Double.isFinite(m_runningSum)) {
+        m_runningSum += input - oldestInput;
+      } else {
+        m_runningSum = 0.0;
+        for (int i = 0; i < m_inputGains.length; i++) {
+          m_runningSum += m_inputs[(m_inputIndex + i) & m_inputMask];
+        }
+        m_stepsUntilRefresh = kRunningSumRefreshPeriod;
+      }
+      retVal = m_runningSum * m_inputGains[0];
+    } else {
+      for (int i = 0; i < m_inputGains.length; i++) {
+        retVal += m_inputs[(m_inputIndex + i) & m_inputMask] * m_inputGains[i];
+      }
+      for (int i = 0; i < m_outputGains.length; i++) {
+        retVal -= m_outputs[(m_outputIndex + i) & m_outputMask] * m_outputGains[i];
+      }
     }
 
     // Rotate the outputs
-    m_outputs.addFirst(retVal);
+    m_outputIndex = (m_outputIndex - 1) & m_outputMask;
+    m_outputs[m_outputIndex] = retVal;
 
     return retVal;
   }
+
+  /**
+   * Calculates the next values of the filter for several inputs in order, such as a buffer of
+   * samples read from a sensor at once. This is the same as calling {@link #calculate(double)} for
+   * each input.
+   *
+   * @param inputs  The input values, oldest first.
+   * @param outputs The array to store the filtered value of each input in. This may be the same
+   *                array as the inputs.
+   */
+  public void calculate(double[] inputs, double[] outputs) {
+    if (inputs.length != outputs.length) {
+      throw new IllegalArgumentException("Number of outputs must match number of inputs");
+    }
+    for (int i = 0; i < inputs.length; i++) {
+      outputs[i] = calculate(inputs[i]);
+    }
+  }
+
+  /**
+   * Returns the smallest power of two that can hold the given number of values.
+   */
+  private static int ringBufferSize(int length) {
+    return length <= 1 ? 1 : Integer.highestOneBit(length - 1) << 1;
+  }
+
+  private static boolean allEqual(double[] values) {
+    for (double value : values) {
+      if (value != values[0]) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
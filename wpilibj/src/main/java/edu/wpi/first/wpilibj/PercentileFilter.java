@@ -0,0 +1,236 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+/**
+ * A filter that outputs a percentile, such as the median, of the most recent inputs.
+ *
+ * <p>Unlike a {@link LinearFilter}, a median filter ignores occasional outliers completely instead
+ * of averaging them in, which makes it a good fit for sensors like ultrasonic rangefinders and
+ * vision targets that sometimes return a wildly wrong value.
+ *
+ * <p>The window of inputs is split between two heaps: one holding the smallest inputs up to the
+ * percentile, with the largest of them on top, and one holding the rest, with the smallest of them
+ * on top. Each step removes the oldest input from whichever heap holds it and adds the new one, so
+ * it takes O(log n) time for a window of n inputs instead of sorting the window every step.
+ *
+ * <p>Percentiles that fall between two inputs are interpolated linearly, so the median of an even
+ * number of inputs is the average of the two middle inputs. Before the window fills, the
+ * percentile of the inputs seen so far is returned.
+ */
+@SuppressWarnings("PMD.TooManyMethods")
+public class PercentileFilter {
+  private final double m_percentile;
+
+  // The inputs in the window, indexed by slot. Slots are reused in order, so the oldest input is
+  // always in the next slot to be written.
+  private final double[] m_values;
+  private int m_nextSlot;
+  private int m_count;
+
+  // Max-heap of the slots of the lower inputs, and min-heap of the slots of the upper inputs
+  private final int[] m_lowerHeap;
+  private final int[] m_upperHeap;
+  private int m_lowerSize;
+  private int m_upperSize;
+
+  // The heap that each slot is in, and its index in that heap
+  private final boolean[] m_inLowerHeap;
+  private final int[] m_heapIndex;
+
+  /**
+   * Creates a filter that outputs a percentile of the most recent inputs.
+   *
+   * @param size       The number of inputs in the window.
+   * @param percentile The percentile to output, from 0 (the minimum) to 1 (the maximum).
+   * @throws IllegalArgumentException if the size is less than 1 or the percentile is outside
+   *                                  [0, 1].
+   */
+  public PercentileFilter(int size, double percentile) {
+    if (size <= 0) {
+      throw new IllegalArgumentException("Size was not at least 1");
+    }
+    if (!(percentile >= 0.0 && percentile <= 1.0)) {
+      throw new IllegalArgumentException("Percentile was not between 0 and 1");
+    }
+
+    m_percentile = percentile;
+    m_values = new double[size];
+    m_lowerHeap = new int[size];
+    m_upperHeap = new int[size];
+    m_inLowerHeap = new boolean[size];
+    m_heapIndex = new int[size];
+  }
+
+  /**
+   * Creates a filter that outputs the median of the most recent inputs.
+   *
+   * @param size The number of inputs in the window.
+   * @throws IllegalArgumentException if the size is less than 1.
+   */
+  public static PercentileFilter median(int size) {
+    return new PercentileFilter(size, 0.5);
+  }
+
+  /**
+   * Reset the filter state.
+   */
+  public void reset() {
+    m_nextSlot = 0;
+    m_count = 0;
+    m_lowerSize = 0;
+    m_upperSize = 0;
+  }
+
+  /**
+   * Calculates the next value of the filter.
+   *
+   * @param input Current input value.
+   *
+   * @return The filtered value at this step
+   */
+  public double calculate(double input) {
+    final int slot = m_nextSlot;
+    m_nextSlot = m_nextSlot + 1 < m_values.length ? m_nextSlot + 1 : 0;
+
+    // Replace the oldest input
+    if (m_count == m_values.length) {
+      remove(slot);
+    } else {
+      m_count++;
+    }
+    m_values[slot] = input;
+    if (m_lowerSize > 0) {
+      push(input <= m_values[m_lowerHeap[0]], slot);
+    } else {
+      push(m_upperSize == 0 || input <= m_values[m_upperHeap[0]], slot);
+    }
+
+    // The lower heap holds every input up to and including the one at or just below the
+    // percentile
+    final double rank = m_percentile * (m_count - 1);
+    final int lowerRank = (int) rank;
+    while (m_lowerSize > lowerRank + 1) {
+      push(false, pop(true));
+    }
+    while (m_lowerSize < lowerRank + 1) {
+      push(true, pop(false));
+    }
+
+    final double lower = m_values[m_lowerHeap[0]];
+    final double fraction = rank - lowerRank;
+    if (fraction == 0.0) {
+      return lower;
+    }
+    return lower + (m_values[m_upperHeap[0]] - lower) * fraction;
+  }
+
+  /**
+   * Calculates the next values of the filter for several inputs in order. This is the same as
+   * calling {@link #calculate(double)} for each input.
+   *
+   * @param inputs  The input values, oldest first.
+   * @param outputs The array to store the filtered value of each input in. This may be the same
+   *                array as the inputs.
+   */
+  public void calculate(double[] inputs, double[] outputs) {
+    if (inputs.length != outputs.length) {
+      throw new IllegalArgumentException("Number of outputs must match number of inputs");
+    }
+    for (int i = 0; i < inputs.length; i++) {
+      outputs[i] = calculate(inputs[i]);
+    }
+  }
+
+  /**
+   * Returns true if the input in slot a belongs above the input in slot b in the given heap.
+   */
+  private boolean isAbove(boolean lower, int slotA, int slotB) {
+    return lower ? m_values[slotA] > m_values[slotB] : m_values[slotA] < m_values[slotB];
+  }
+
+  private void place(boolean lower, int index, int slot) {
+    (lower ? m_lowerHeap : m_upperHeap)[index] = slot;
+    m_inLowerHeap[slot] = lower;
+    m_heapIndex[slot] = index;
+  }
+
+  private void push(boolean lower, int slot) {
+    final int index;
+    if (lower) {
+      index = m_lowerSize++;
+    } else {
+      index = m_upperSize++;
+    }
+    place(lower, index, slot);
+    siftUp(lower, index);
+  }
+
+  private int pop(boolean lower) {
+    final int slot = (lower ? m_lowerHeap : m_upperHeap)[0];
+    remove(slot);
+    return slot;
+  }
+
+  private void remove(int slot) {
+    final boolean lower = m_inLowerHeap[slot];
+    final int[] heap = lower ? m_lowerHeap : m_upperHeap;
+    final int index = m_heapIndex[slot];
+    final int last;
+    if (lower) {
+      last = --m_lowerSize;
+    } else {
+      last = --m_upperSize;
+    }
+
+    // Fill the hole with the last input in the heap, which may belong above or below it
+    if (index < last) {
+      final int moved = heap[last];
+      place(lower, index, moved);
+      siftUp(lower, index);
+      if (m_heapIndex[moved] == index) {
+        siftDown(lower, index);
+      }
+    }
+  }
+
+  private void siftUp(boolean lower, int index) {
+    final int[] heap = lower ? m_lowerHeap : m_upperHeap;
+    final int slot = heap[index];
+    while (index > 0) {
+      final int parent = (index - 1) / 2;
+      if (!isAbove(lower, slot, heap[parent])) {
+        break;
+      }
+      place(lower, index, heap[parent]);
+      index = parent;
+    }
+    place(lower, index, slot);
+  }
+
+  private void siftDown(boolean lower, int index) {
+    final int[] heap = lower ? m_lowerHeap : m_upperHeap;
+    final int size = lower ? m_lowerSize : m_upperSize;
+    final int slot = heap[index];
+    while (true) {
+      int child = 2 * index + 1;
+      if (child >= size) {
+        break;
+      }
+      if (child + 1 < size && isAbove(lower, heap[child + 1], heap[child])) {
+        child++;
+      }
+      if (!isAbove(lower, heap[child], slot)) {
+        break;
+      }
+      place(lower, index, heap[child]);
+      index = child;
+    }
+    place(lower, index, slot);
+  }
+}
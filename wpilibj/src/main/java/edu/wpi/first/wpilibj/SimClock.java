@@ -0,0 +1,61 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+/**
+ * A clock that only advances when it is stepped, for use in simulations and
+ * tests.
+ *
+ * <p>Install it with {@link Clock#setDefault(Clock)} to make time-based code
+ * use it, then call {@link #step(double)} once per simulated robot period.
+ */
+public class SimClock implements Clock {
+  private volatile long m_microseconds;
+
+  /**
+   * Constructs a clock that starts at zero.
+   */
+  public SimClock() {
+  }
+
+  /**
+   * Constructs a clock that starts at the given time.
+   *
+   * @param microseconds The starting time in microseconds.
+   */
+  public SimClock(long microseconds) {
+    m_microseconds = microseconds;
+  }
+
+  @Override
+  public long getMicroseconds() {
+    return m_microseconds;
+  }
+
+  /**
+   * Advances the clock.
+   *
+   * @param seconds The time to advance the clock by, in seconds. This is rounded
+   *                to the nearest microsecond.
+   */
+  public void step(double seconds) {
+    stepMicroseconds(Math.round(seconds * 1.0e6));
+  }
+
+  /**
+   * Advances the clock.
+   *
+   * @param microseconds The time to advance the clock by, in microseconds.
+   */
+  public synchronized void stepMicroseconds(long microseconds) {
+    if (microseconds < 0) {
+      throw new IllegalArgumentException("A clock can't go backwards");
+    }
+    m_microseconds += microseconds;
+  }
+}
@@ -48,17 +48,28 @@ public class Timer {
     }
   }
 
+  private final Clock m_clock;
   private double m_startTime;
   private double m_accumulatedTime;
   private boolean m_running;
 
   @SuppressWarnings("JavadocMethod")
   public Timer() {
+    this(Clock.getDefault());
+  }
+
+  /**
+   * Create a timer that reads time from the given clock instead of the default clock.
+   *
+   * @param clock The clock to read time from.
+   */
+  public Timer(Clock clock) {
+    m_clock = clock;
     reset();
   }
 
   private double getMsClock() {
-    return RobotController.getFPGATime() / 1000.0;
+    return m_clock.getMicroseconds() / 1000.0;
   }
 
   /**
@@ -22,12 +22,18 @@ import java.util.concurrent.locks.ReentrantLock;
  * callback is invoked.
  *
  * <p>The watchdog is initialized disabled, so the user needs to call enable() before use.
+ *
+ * <p>Times are read from the default {@link Clock}. The scheduler thread still
+ * sleeps in real time, so with a simulated clock a timeout is noticed the next
+ * time the scheduler wakes up after the simulated deadline has passed.
  */
 @SuppressWarnings("PMD.TooManyMethods")
 public class Watchdog implements Closeable, Comparable<Watchdog> {
   // Used for timeout print rate-limiting
   private static final long kMinPrintPeriod = 1000000; // us
 
+  private static final Clock kClock = Clock.getDefault();
+
   private long m_startTime; // us
   private long m_timeout; // us
   private long m_expirationTime; // us
@@ -76,7 +82,7 @@ public class Watchdog implements Closeable, Comparable<Watchdog> {
    * Returns the time in seconds since the watchdog was last fed.
    */
   public double getTime() {
-    return (RobotController.getFPGATime() - m_startTime) / 1.0e6;
+    return (kClock.getMicroseconds() - m_startTime) / 1.0e6;
   }
 
   /**
@@ -86,7 +92,7 @@ public class Watchdog implements Closeable, Comparable<Watchdog> {
    *                resolution.
    */
   public void setTimeout(double timeout) {
-    m_startTime = RobotController.getFPGATime();
+    m_startTime = kClock.getMicroseconds();
     m_epochs.clear();
 
     m_queueMutex.lock();
@@ -136,7 +142,7 @@ public class Watchdog implements Closeable, Comparable<Watchdog> {
    * @param epochName The name to associate with the epoch.
    */
   public void addEpoch(String epochName) {
-    long currentTime = RobotController.getFPGATime();
+    long currentTime = kClock.getMicroseconds();
     m_epochs.put(epochName, currentTime - m_startTime);
     m_startTime = currentTime;
   }
@@ -145,7 +151,7 @@ public class Watchdog implements Closeable, Comparable<Watchdog> {
    * Prints list of epochs added so far and their times.
    */
   public void printEpochs() {
-    long now = RobotController.getFPGATime();
+    long now = kClock.getMicroseconds();
     if (now  - m_lastEpochsPrintTime > kMinPrintPeriod) {
       m_lastEpochsPrintTime = now;
       m_epochs.forEach((key, value) -> System.out.format("\t%s: %.6fs\n", key, value / 1.0e6));
@@ -165,7 +171,7 @@ public class Watchdog implements Closeable, Comparable<Watchdog> {
    * Enables the watchdog timer.
    */
   public void enable() {
-    m_startTime = RobotController.getFPGATime();
+    m_startTime = kClock.getMicroseconds();
     m_epochs.clear();
 
     m_queueMutex.lock();
@@ -223,7 +229,7 @@ public class Watchdog implements Closeable, Comparable<Watchdog> {
           boolean timedOut = !awaitUntil(m_schedulerWaiter, m_watchdogs.peek().m_expirationTime);
           if (timedOut) {
             if (m_watchdogs.size() == 0 || m_watchdogs.peek().m_expirationTime
-                > RobotController.getFPGATime()) {
+                > kClock.getMicroseconds()) {
               continue;
             }
 
@@ -231,7 +237,7 @@ public class Watchdog implements Closeable, Comparable<Watchdog> {
             // has occurred, so call its timeout function.
             Watchdog watchdog = m_watchdogs.poll();
 
-            long now = RobotController.getFPGATime();
+            long now = kClock.getMicroseconds();
             if (now  - watchdog.m_lastTimeoutPrintTime > kMinPrintPeriod) {
               watchdog.m_lastTimeoutPrintTime = now;
               if (!watchdog.m_suppressTimeoutMessage) {
@@ -270,7 +276,7 @@ public class Watchdog implements Closeable, Comparable<Watchdog> {
    * @return False if the deadline has elapsed upon return, else true.
    */
   private static boolean awaitUntil(Condition cond, long time) {
-    long delta = time - RobotController.getFPGATime();
+    long delta = time - kClock.getMicroseconds();
     try {
       return cond.await(delta, TimeUnit.MICROSECONDS);
     } catch (InterruptedException ex) {
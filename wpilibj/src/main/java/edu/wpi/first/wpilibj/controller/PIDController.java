@@ -9,6 +9,7 @@ package edu.wpi.first.wpilibj.controller;
 
 import edu.wpi.first.hal.FRCNetComm.tResourceType;
 import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.Clock;
 import edu.wpi.first.wpilibj.Sendable;
 import edu.wpi.first.wpilibj.smartdashboard.SendableBuilder;
 import edu.wpi.first.wpilibj.smartdashboard.SendableRegistry;
@@ -36,6 +37,14 @@ public class PIDController implements Sendable, AutoCloseable {
   // The period (in seconds) of the loop that calls the controller
   private final double m_period;
 
+  // The clock used to measure the period between calls to calculate(), or null to always use
+  // m_period
+  private final Clock m_clock;
+
+  // The time of the most recent call to calculate() in microseconds, or -1 if there hasn't been
+  // one since the controller was created or reset
+  private long m_prevTimeMicroseconds = -1;
+
   private double m_maximumIntegral = 1.0;
 
   private double m_minimumIntegral = -1.0;
@@ -91,11 +100,33 @@ public class PIDController implements Sendable, AutoCloseable {
    */
   @SuppressWarnings("ParameterName")
   public PIDController(double Kp, double Ki, double Kd, double period) {
+    this(Kp, Ki, Kd, period, null);
+  }
+
+  /**
+   * Allocates a PIDController with the given constants for Kp, Ki, and Kd that
+   * measures the time between updates.
+   *
+   * <p>Instead of assuming that calculate() is called exactly once per period,
+   * the controller measures the time since the previous call with the given
+   * clock, and uses it for the integral and derivative terms. The nominal period
+   * is used for the first call after construction or {@link #reset()}.
+   *
+   * @param Kp     The proportional coefficient.
+   * @param Ki     The integral coefficient.
+   * @param Kd     The derivative coefficient.
+   * @param period The nominal period between controller updates in seconds.
+   * @param clock  The clock to measure the period with, or null to always use
+   *               the nominal period.
+   */
+  @SuppressWarnings("ParameterName")
+  public PIDController(double Kp, double Ki, double Kd, double period, Clock clock) {
     m_Kp = Kp;
     m_Ki = Ki;
     m_Kd = Kd;
 
     m_period = period;
+    m_clock = clock;
 
     instances++;
     SendableRegistry.addLW(this, "PIDController", instances);
@@ -315,12 +346,38 @@ public class PIDController implements Sendable, AutoCloseable {
    * @param measurement The current measurement of the process variable.
    */
   public double calculate(double measurement) {
+    return calculateWithPeriod(measurement, nextPeriod());
+  }
+
+  /**
+   * Returns the period to use for the next update. This is the time since the
+   * previous update if the controller has a clock, or the nominal period
+   * otherwise.
+   */
+  double nextPeriod() {
+    if (m_clock == null) {
+      return m_period;
+    }
+
+    long now = m_clock.getMicroseconds();
+    long elapsed = m_prevTimeMicroseconds >= 0 ? now - m_prevTimeMicroseconds : 0;
+    m_prevTimeMicroseconds = now;
+
+    // Use the nominal period when no time has passed to avoid dividing by zero.
+    return elapsed > 0 ? elapsed / 1.0e6 : m_period;
+  }
+
+  /**
+   * Returns the next output of the PID controller for an update that happened
+   * the given time after the previous one.
+   */
+  double calculateWithPeriod(double measurement, double period) {
     m_prevError = m_positionError;
     m_positionError = getContinuousError(m_setpoint - measurement);
-    m_velocityError = (m_positionError - m_prevError) / m_period;
+    m_velocityError = (m_positionError - m_prevError) / period;
 
     if (m_Ki != 0) {
-      m_totalError = MathUtils.clamp(m_totalError + m_positionError * m_period,
+      m_totalError = MathUtils.clamp(m_totalError + m_positionError * period,
           m_minimumIntegral / m_Ki, m_maximumIntegral / m_Ki);
     }
 
@@ -333,6 +390,7 @@ public class PIDController implements Sendable, AutoCloseable {
   public void reset() {
     m_prevError = 0;
     m_totalError = 0;
+    m_prevTimeMicroseconds = -1;
   }
 
   @Override
@@ -0,0 +1,652 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+import edu.wpi.first.hal.FRCNetComm.tResourceType;
+import edu.wpi.first.hal.HAL;
+import edu.wpi.first.wpilibj.Sendable;
+import edu.wpi.first.wpilibj.smartdashboard.SendableBuilder;
+import edu.wpi.first.wpilibj.smartdashboard.SendableRegistry;
+import edu.wpi.first.wpiutil.math.MathUtils;
+
+/**
+ * A bank of PID control loops that are updated together.
+ *
+ * <p>Each channel behaves exactly like a {@link PIDController}, but the gains,
+ * errors, integrators and tolerances of every channel are stored in parallel
+ * arrays, and {@link #calculate(double[], double[])} updates all of the
+ * channels in one loop. This is useful for robots that run many controllers
+ * every period, such as the steering and drive motors of a swerve drive. The
+ * bank is registered and published to the dashboard once, rather than once per
+ * controller.
+ *
+ * <p>{@link #getChannel(int)} returns a view of a single channel whose methods
+ * mirror those of {@link PIDController}, for code that works with one controller
+ * at a time. A channel is not a {@link PIDController} and cannot be passed where
+ * one is expected.
+ */
+@SuppressWarnings({"PMD.TooManyFields", "PMD.TooManyMethods", "PMD.GodClass"})
+public class PIDControllerBank implements Sendable, AutoCloseable {
+  private static int instances;
+
+  // Factor for "proportional" control
+  @SuppressWarnings("MemberName")
+  private final double[] m_Kp;
+
+  // Factor for "integral" control
+  @SuppressWarnings("MemberName")
+  private final double[] m_Ki;
+
+  // Factor for "derivative" control
+  @SuppressWarnings("MemberName")
+  private final double[] m_Kd;
+
+  // The period (in seconds) of the loop that calls the controllers
+  private final double m_period;
+
+  private final double[] m_maximumIntegral;
+  private final double[] m_minimumIntegral;
+
+  // Maximum input - limit setpoint to this
+  private final double[] m_maximumInput;
+
+  // Minimum input - limit setpoint to this
+  private final double[] m_minimumInput;
+
+  // Input range - difference between maximum and minimum
+  private final double[] m_inputRange;
+
+  // Do the endpoints wrap around? eg. Absolute encoder
+  private final boolean[] m_continuous;
+
+  // The error at the time of the most recent call to calculate()
+  private final double[] m_positionError;
+  private final double[] m_velocityError;
+
+  // The error at the time of the second-most-recent call to calculate() (used to compute velocity)
+  private final double[] m_prevError;
+
+  // The sum of the errors for use in the integral calc
+  private final double[] m_totalError;
+
+  // The percentage or absolute error that is considered at setpoint.
+  private final double[] m_positionTolerance;
+  private final double[] m_velocityTolerance;
+
+  private final double[] m_setpoint;
+
+  private final Channel[] m_channels;
+
+  /**
+   * Allocates a PIDControllerBank whose channels all have zero gains and a
+   * default period of 0.02 seconds.
+   *
+   * @param channels The number of controllers in the bank.
+   */
+  public PIDControllerBank(int channels) {
+    this(channels, 0.02);
+  }
+
+  /**
+   * Allocates a PIDControllerBank whose channels all have zero gains.
+   *
+   * @param channels The number of controllers in the bank.
+   * @param period   The period between controller updates in seconds.
+   */
+  public PIDControllerBank(int channels, double period) {
+    if (channels < 1) {
+      throw new IllegalArgumentException("The number of channels must be positive");
+    }
+
+    m_Kp = new double[channels];
+    m_Ki = new double[channels];
+    m_Kd = new double[channels];
+    m_period = period;
+    m_maximumIntegral = new double[channels];
+    m_minimumIntegral = new double[channels];
+    m_maximumInput = new double[channels];
+    m_minimumInput = new double[channels];
+    m_inputRange = new double[channels];
+    m_continuous = new boolean[channels];
+    m_positionError = new double[channels];
+    m_velocityError = new double[channels];
+    m_prevError = new double[channels];
+    m_totalError = new double[channels];
+    m_positionTolerance = new double[channels];
+    m_velocityTolerance = new double[channels];
+    m_setpoint = new double[channels];
+    m_channels = new Channel[channels];
+
+    for (int i = 0; i < channels; i++) {
+      m_maximumIntegral[i] = 1.0;
+      m_minimumIntegral[i] = -1.0;
+      m_positionTolerance[i] = 0.05;
+      m_velocityTolerance[i] = Double.POSITIVE_INFINITY;
+      m_channels[i] = new Channel(i);
+    }
+
+    instances++;
+    SendableRegistry.addLW(this, "PIDControllerBank", instances);
+
+    HAL.report(tResourceType.kResourceType_PIDController, instances);
+  }
+
+  @Override
+  public void close() {
+    SendableRegistry.remove(this);
+  }
+
+  /**
+   * Returns the number of controllers in the bank.
+   *
+   * @return The number of controllers in the bank.
+   */
+  public int size() {
+    return m_channels.length;
+  }
+
+  /**
+   * Returns a view of one controller in the bank. The view's methods mirror
+   * those of {@link PIDController}, and changes through it apply to the bank.
+   *
+   * @param channel The index of the controller.
+   * @return A view of the controller.
+   */
+  public Channel getChannel(int channel) {
+    return m_channels[channel];
+  }
+
+  /**
+   * Returns the period of the controllers.
+   *
+   * @return the period of the controllers.
+   */
+  public double getPeriod() {
+    return m_period;
+  }
+
+  /**
+   * Sets the PID gain parameters of one controller.
+   *
+   * @param channel The index of the controller.
+   * @param Kp      The proportional coefficient.
+   * @param Ki      The integral coefficient.
+   * @param Kd      The derivative coefficient.
+   */
+  @SuppressWarnings("ParameterName")
+  public void setPID(int channel, double Kp, double Ki, double Kd) {
+    m_Kp[channel] = Kp;
+    m_Ki[channel] = Ki;
+    m_Kd[channel] = Kd;
+  }
+
+  /**
+   * Sets the PID gain parameters of every controller.
+   *
+   * @param Kp The proportional coefficient.
+   * @param Ki The integral coefficient.
+   * @param Kd The derivative coefficient.
+   */
+  @SuppressWarnings("ParameterName")
+  public void setPID(double Kp, double Ki, double Kd) {
+    for (int i = 0; i < m_channels.length; i++) {
+      setPID(i, Kp, Ki, Kd);
+    }
+  }
+
+  /**
+   * Sets the setpoint of one controller.
+   *
+   * @param channel  The index of the controller.
+   * @param setpoint The desired setpoint.
+   */
+  public void setSetpoint(int channel, double setpoint) {
+    if (m_maximumInput[channel] > m_minimumInput[channel]) {
+      m_setpoint[channel] = MathUtils.clamp(setpoint, m_minimumInput[channel],
+          m_maximumInput[channel]);
+    } else {
+      m_setpoint[channel] = setpoint;
+    }
+  }
+
+  /**
+   * Returns the setpoint of one controller.
+   *
+   * @param channel The index of the controller.
+   * @return The current setpoint.
+   */
+  public double getSetpoint(int channel) {
+    return m_setpoint[channel];
+  }
+
+  /**
+   * Returns true if the error of one controller is within its tolerance. See
+   * {@link PIDController#atSetpoint()}.
+   *
+   * @param channel The index of the controller.
+   * @return Whether the error is within the acceptable bounds.
+   */
+  public boolean atSetpoint(int channel) {
+    return Math.abs(m_positionError[channel]) < m_positionTolerance[channel]
+        && Math.abs(m_velocityError[channel]) < m_velocityTolerance[channel];
+  }
+
+  /**
+   * Returns true if the error of every controller is within its tolerance.
+   *
+   * @return Whether every error is within the acceptable bounds.
+   */
+  public boolean atSetpoints() {
+    for (int i = 0; i < m_channels.length; i++) {
+      if (!atSetpoint(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Enables continuous input for one controller. See
+   * {@link PIDController#enableContinuousInput(double, double)}.
+   *
+   * @param channel      The index of the controller.
+   * @param minimumInput The minimum value expected from the input.
+   * @param maximumInput The maximum value expected from the input.
+   */
+  public void enableContinuousInput(int channel, double minimumInput, double maximumInput) {
+    m_continuous[channel] = true;
+    m_minimumInput[channel] = minimumInput;
+    m_maximumInput[channel] = maximumInput;
+    m_inputRange[channel] = maximumInput - minimumInput;
+
+    // Clamp setpoint to new input
+    if (maximumInput > minimumInput) {
+      m_setpoint[channel] = MathUtils.clamp(m_setpoint[channel], minimumInput, maximumInput);
+    }
+  }
+
+  /**
+   * Disables continuous input for one controller.
+   *
+   * @param channel The index of the controller.
+   */
+  public void disableContinuousInput(int channel) {
+    m_continuous[channel] = false;
+  }
+
+  /**
+   * Sets the minimum and maximum values for the integrator of one controller.
+   * See {@link PIDController#setIntegratorRange(double, double)}.
+   *
+   * @param channel         The index of the controller.
+   * @param minimumIntegral The minimum value of the integrator.
+   * @param maximumIntegral The maximum value of the integrator.
+   */
+  public void setIntegratorRange(int channel, double minimumIntegral, double maximumIntegral) {
+    m_minimumIntegral[channel] = minimumIntegral;
+    m_maximumIntegral[channel] = maximumIntegral;
+  }
+
+  /**
+   * Sets the error which is considered tolerable for use with atSetpoint().
+   *
+   * @param channel           The index of the controller.
+   * @param positionTolerance Position error which is tolerable.
+   * @param velocityTolerance Velocity error which is tolerable.
+   */
+  public void setTolerance(int channel, double positionTolerance, double velocityTolerance) {
+    m_positionTolerance[channel] = positionTolerance;
+    m_velocityTolerance[channel] = velocityTolerance;
+  }
+
+  /**
+   * Returns the difference between the setpoint and the measurement of one
+   * controller.
+   *
+   * @param channel The index of the controller.
+   * @return The error.
+   */
+  public double getPositionError(int channel) {
+    return getContinuousError(channel, m_positionError[channel]);
+  }
+
+  /**
+   * Returns the velocity error of one controller.
+   *
+   * @param channel The index of the controller.
+   * @return The velocity error.
+   */
+  public double getVelocityError(int channel) {
+    return m_velocityError[channel];
+  }
+
+  /**
+   * Computes the next output of every controller.
+   *
+   * @param measurements The current measurement of the process variable of each
+   *                     controller.
+   * @param outputs      The array to store the output of each controller in.
+   */
+  public void calculate(double[] measurements, double[] outputs) {
+    if (measurements.length != m_channels.length || outputs.length != m_channels.length) {
+      throw new IllegalArgumentException(
+          "Number of measurements is not consistent with number of channels");
+    }
+    for (int i = 0; i < m_channels.length; i++) {
+      outputs[i] = calculate(i, measurements[i]);
+    }
+  }
+
+  /**
+   * Sets the setpoints and computes the next output of every controller.
+   *
+   * @param measurements The current measurement of the process variable of each
+   *                     controller.
+   * @param setpoints    The new setpoint of each controller.
+   * @param outputs      The array to store the output of each controller in.
+   */
+  public void calculate(double[] measurements, double[] setpoints, double[] outputs) {
+    if (setpoints.length != m_channels.length) {
+      throw new IllegalArgumentException(
+          "Number of setpoints is not consistent with number of channels");
+    }
+    for (int i = 0; i < m_channels.length; i++) {
+      setSetpoint(i, setpoints[i]);
+    }
+    calculate(measurements, outputs);
+  }
+
+  /**
+   * Returns the next output of one controller.
+   *
+   * @param channel     The index of the controller.
+   * @param measurement The current measurement of the process variable.
+   * @return The output of the controller.
+   */
+  public double calculate(int channel, double measurement) {
+    final double period = m_period;
+    m_prevError[channel] = m_positionError[channel];
+    m_positionError[channel] = getContinuousError(channel, m_setpoint[channel] - measurement);
+    m_velocityError[channel] = (m_positionError[channel] - m_prevError[channel]) / period;
+
+    final double ki = m_Ki[channel];
+    if (ki != 0) {
+      m_totalError[channel] = MathUtils.clamp(
+          m_totalError[channel] + m_positionError[channel] * period,
+          m_minimumIntegral[channel] / ki, m_maximumIntegral[channel] / ki);
+    }
+
+    return m_Kp[channel] * m_positionError[channel] + ki * m_totalError[channel]
+        + m_Kd[channel] * m_velocityError[channel];
+  }
+
+  /**
+   * Resets the previous error and the integral term of one controller.
+   *
+   * @param channel The index of the controller.
+   */
+  public void reset(int channel) {
+    m_prevError[channel] = 0;
+    m_totalError[channel] = 0;
+  }
+
+  /**
+   * Resets the previous error and the integral term of every controller.
+   */
+  public void reset() {
+    for (int i = 0; i < m_channels.length; i++) {
+      reset(i);
+    }
+  }
+
+  @Override
+  public void initSendable(SendableBuilder builder) {
+    builder.setSmartDashboardType("PIDControllerBank");
+    builder.addDoubleArrayProperty("p", () -> m_Kp, values -> copyInto(values, m_Kp));
+    builder.addDoubleArrayProperty("i", () -> m_Ki, values -> copyInto(values, m_Ki));
+    builder.addDoubleArrayProperty("d", () -> m_Kd, values -> copyInto(values, m_Kd));
+    builder.addDoubleArrayProperty("setpoint", () -> m_setpoint, values -> {
+      for (int i = 0; i < Math.min(values.length, m_setpoint.length); i++) {
+        setSetpoint(i, values[i]);
+      }
+    });
+  }
+
+  /**
+   * Wraps error around for continuous inputs. The original error is returned if continuous mode is
+   * disabled.
+   */
+  private double getContinuousError(int channel, double error) {
+    final double inputRange = m_inputRange[channel];
+    if (m_continuous[channel] && inputRange > 0) {
+      error %= inputRange;
+      if (Math.abs(error) > inputRange / 2) {
+        if (error > 0) {
+          return error - inputRange;
+        } else {
+          return error + inputRange;
+        }
+      }
+    }
+    return error;
+  }
+
+  private static void copyInto(double[] values, double[] array) {
+    System.arraycopy(values, 0, array, 0, Math.min(values.length, array.length));
+  }
+
+  /**
+   * A view of one controller in a {@link PIDControllerBank}. Its methods mirror
+   * those of {@link PIDController}, but it does not share a type with it.
+   */
+  public final class Channel {
+    private final int m_channel;
+
+    private Channel(int channel) {
+      m_channel = channel;
+    }
+
+    /**
+     * Sets the PID Controller gain parameters.
+     *
+     * @param Kp The proportional coefficient.
+     * @param Ki The integral coefficient.
+     * @param Kd The derivative coefficient.
+     */
+    @SuppressWarnings("ParameterName")
+    public void setPID(double Kp, double Ki, double Kd) {
+      PIDControllerBank.this.setPID(m_channel, Kp, Ki, Kd);
+    }
+
+    /**
+     * Sets the Proportional coefficient of the PID controller gain.
+     *
+     * @param Kp proportional coefficient
+     */
+    @SuppressWarnings("ParameterName")
+    public void setP(double Kp) {
+      m_Kp[m_channel] = Kp;
+    }
+
+    /**
+     * Sets the Integral coefficient of the PID controller gain.
+     *
+     * @param Ki integral coefficient
+     */
+    @SuppressWarnings("ParameterName")
+    public void setI(double Ki) {
+      m_Ki[m_channel] = Ki;
+    }
+
+    /**
+     * Sets the Differential coefficient of the PID controller gain.
+     *
+     * @param Kd differential coefficient
+     */
+    @SuppressWarnings("ParameterName")
+    public void setD(double Kd) {
+      m_Kd[m_channel] = Kd;
+    }
+
+    /**
+     * Get the Proportional coefficient.
+     *
+     * @return proportional coefficient
+     */
+    public double getP() {
+      return m_Kp[m_channel];
+    }
+
+    /**
+     * Get the Integral coefficient.
+     *
+     * @return integral coefficient
+     */
+    public double getI() {
+      return m_Ki[m_channel];
+    }
+
+    /**
+     * Get the Differential coefficient.
+     *
+     * @return differential coefficient
+     */
+    public double getD() {
+      return m_Kd[m_channel];
+    }
+
+    /**
+     * Returns the period of this controller.
+     *
+     * @return the period of the controller.
+     */
+    public double getPeriod() {
+      return m_period;
+    }
+
+    /**
+     * Sets the setpoint for the PIDController.
+     *
+     * @param setpoint The desired setpoint.
+     */
+    public void setSetpoint(double setpoint) {
+      PIDControllerBank.this.setSetpoint(m_channel, setpoint);
+    }
+
+    /**
+     * Returns the current setpoint of the PIDController.
+     *
+     * @return The current setpoint.
+     */
+    public double getSetpoint() {
+      return PIDControllerBank.this.getSetpoint(m_channel);
+    }
+
+    /**
+     * Returns true if the error is within the tolerance of the setpoint.
+     *
+     * @return Whether the error is within the acceptable bounds.
+     */
+    public boolean atSetpoint() {
+      return PIDControllerBank.this.atSetpoint(m_channel);
+    }
+
+    /**
+     * Enables continuous input.
+     *
+     * @param minimumInput The minimum value expected from the input.
+     * @param maximumInput The maximum value expected from the input.
+     */
+    public void enableContinuousInput(double minimumInput, double maximumInput) {
+      PIDControllerBank.this.enableContinuousInput(m_channel, minimumInput, maximumInput);
+    }
+
+    /**
+     * Disables continuous input.
+     */
+    public void disableContinuousInput() {
+      PIDControllerBank.this.disableContinuousInput(m_channel);
+    }
+
+    /**
+     * Sets the minimum and maximum values for the integrator.
+     *
+     * @param minimumIntegral The minimum value of the integrator.
+     * @param maximumIntegral The maximum value of the integrator.
+     */
+    public void setIntegratorRange(double minimumIntegral, double maximumIntegral) {
+      PIDControllerBank.this.setIntegratorRange(m_channel, minimumIntegral, maximumIntegral);
+    }
+
+    /**
+     * Sets the error which is considered tolerable for use with atSetpoint().
+     *
+     * @param positionTolerance Position error which is tolerable.
+     */
+    public void setTolerance(double positionTolerance) {
+      setTolerance(positionTolerance, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Sets the error which is considered tolerable for use with atSetpoint().
+     *
+     * @param positionTolerance Position error which is tolerable.
+     * @param velocityTolerance Velocity error which is tolerable.
+     */
+    public void setTolerance(double positionTolerance, double velocityTolerance) {
+      PIDControllerBank.this.setTolerance(m_channel, positionTolerance, velocityTolerance);
+    }
+
+    /**
+     * Returns the difference between the setpoint and the measurement.
+     *
+     * @return The error.
+     */
+    public double getPositionError() {
+      return PIDControllerBank.this.getPositionError(m_channel);
+    }
+
+    /**
+     * Returns the velocity error.
+     *
+     * @return The velocity error.
+     */
+    public double getVelocityError() {
+      return PIDControllerBank.this.getVelocityError(m_channel);
+    }
+
+    /**
+     * Returns the next output of the PID controller.
+     *
+     * @param measurement The current measurement of the process variable.
+     * @param setpoint    The new setpoint of the controller.
+     * @return The output of the controller.
+     */
+    public double calculate(double measurement, double setpoint) {
+      setSetpoint(setpoint);
+      return calculate(measurement);
+    }
+
+    /**
+     * Returns the next output of the PID controller.
+     *
+     * @param measurement The current measurement of the process variable.
+     * @return The output of the controller.
+     */
+    public double calculate(double measurement) {
+      return PIDControllerBank.this.calculate(m_channel, measurement);
+    }
+
+    /**
+     * Resets the previous error and the integral term.
+     */
+    public void reset() {
+      PIDControllerBank.this.reset(m_channel);
+    }
+  }
+}
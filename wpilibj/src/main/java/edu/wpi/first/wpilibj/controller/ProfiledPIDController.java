@@ -7,8 +7,10 @@
 
 package edu.wpi.first.wpilibj.controller;
 
+import edu.wpi.first.wpilibj.Clock;
 import edu.wpi.first.wpilibj.Sendable;
 import edu.wpi.first.wpilibj.smartdashboard.SendableBuilder;
+import edu.wpi.first.wpilibj.trajectory.MutableTrapezoidProfile;
 import edu.wpi.first.wpilibj.trajectory.TrapezoidProfile;
 
 /**
@@ -21,6 +23,7 @@ public class ProfiledPIDController implements Sendable {
   private TrapezoidProfile.State m_goal = new TrapezoidProfile.State();
   private TrapezoidProfile.State m_setpoint = new TrapezoidProfile.State();
   private TrapezoidProfile.Constraints m_constraints;
+  private final MutableTrapezoidProfile m_profile;
 
   /**
    * Allocates a ProfiledPIDController with the given constants for Kp, Ki, and
@@ -52,8 +55,30 @@ public class ProfiledPIDController implements Sendable {
   public ProfiledPIDController(double Kp, double Ki, double Kd,
                         TrapezoidProfile.Constraints constraints,
                         double period) {
-    m_controller = new PIDController(Kp, Ki, Kd, period);
+    this(Kp, Ki, Kd, constraints, period, null);
+  }
+
+  /**
+   * Allocates a ProfiledPIDController with the given constants for Kp, Ki, and
+   * Kd that measures the time between updates. The measured time is used both
+   * to advance the profile and for the PID controller. See
+   * {@link PIDController#PIDController(double, double, double, double, Clock)}.
+   *
+   * @param Kp          The proportional coefficient.
+   * @param Ki          The integral coefficient.
+   * @param Kd          The derivative coefficient.
+   * @param constraints Velocity and acceleration constraints for goal.
+   * @param period      The nominal period between controller updates in seconds.
+   * @param clock       The clock to measure the period with, or null to always
+   *                    use the nominal period.
+   */
+  @SuppressWarnings("ParameterName")
+  public ProfiledPIDController(double Kp, double Ki, double Kd,
+                        TrapezoidProfile.Constraints constraints,
+                        double period, Clock clock) {
+    m_controller = new PIDController(Kp, Ki, Kd, period, clock);
     m_constraints = constraints;
+    m_profile = new MutableTrapezoidProfile(constraints);
   }
 
   /**
@@ -180,7 +205,8 @@ public class ProfiledPIDController implements Sendable {
   }
 
   /**
-   * Returns the current setpoint of the ProfiledPIDController.
+   * Returns the current setpoint of the ProfiledPIDController. The setpoint is
+   * updated in place by each call to calculate().
    *
    * @return The current setpoint.
    */
@@ -272,9 +298,14 @@ public class ProfiledPIDController implements Sendable {
    * @param measurement The current measurement of the process variable.
    */
   public double calculate(double measurement) {
-    var profile = new TrapezoidProfile(m_constraints, m_goal, m_setpoint);
-    m_setpoint = profile.calculate(getPeriod());
-    return m_controller.calculate(measurement, m_setpoint.position);
+    double period = m_controller.nextPeriod();
+    // The constraints have public fields, so they are read every update in case
+    // they were changed in place. This only recomputes the profile if they were.
+    m_profile.setConstraints(m_constraints);
+    m_profile.setTarget(m_goal, m_setpoint);
+    m_profile.calculate(period, m_setpoint);
+    m_controller.setSetpoint(m_setpoint.position);
+    return m_controller.calculateWithPeriod(measurement, period);
   }
 
   /**
@@ -9,6 +9,7 @@ package edu.wpi.first.wpilibj.controller;
 
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.trajectory.PackedTrajectory;
 import edu.wpi.first.wpilibj.trajectory.Trajectory;
 
 /**
@@ -46,7 +47,11 @@ public class RamseteController {
   @SuppressWarnings("MemberName")
   private final double m_zeta;
 
-  private Pose2d m_poseError = new Pose2d();
+  // The most recent pose error, in the frame of the current pose
+  private double m_errorXMeters;
+  private double m_errorYMeters;
+  private double m_errorThetaRadians;
+
   private Pose2d m_poseTolerance = new Pose2d();
 
   /**
@@ -67,13 +72,11 @@ public class RamseteController {
    * Returns true if the pose error is within tolerance of the reference.
    */
   public boolean atReference() {
-    final var eTranslate = m_poseError.getTranslation();
-    final var eRotate = m_poseError.getRotation();
     final var tolTranslate = m_poseTolerance.getTranslation();
     final var tolRotate = m_poseTolerance.getRotation();
-    return Math.abs(eTranslate.getX()) < tolTranslate.getX()
-           && Math.abs(eTranslate.getY()) < tolTranslate.getY()
-           && Math.abs(eRotate.getRadians()) < tolRotate.getRadians();
+    return Math.abs(m_errorXMeters) < tolTranslate.getX()
+           && Math.abs(m_errorYMeters) < tolTranslate.getY()
+           && Math.abs(m_errorThetaRadians) < tolRotate.getRadians();
   }
 
   /**
@@ -97,25 +100,15 @@ public class RamseteController {
    * @param linearVelocityRefMeters            The desired linear velocity in meters.
    * @param angularVelocityRefRadiansPerSecond The desired angular velocity in meters.
    */
-  @SuppressWarnings("LocalVariableName")
   public ChassisSpeeds calculate(Pose2d currentPose,
                                  Pose2d poseRef,
                                  double linearVelocityRefMeters,
                                  double angularVelocityRefRadiansPerSecond) {
-    m_poseError = poseRef.relativeTo(currentPose);
-
-    // Aliases for equation readability
-    final double eX = m_poseError.getTranslation().getX();
-    final double eY = m_poseError.getTranslation().getY();
-    final double eTheta = m_poseError.getRotation().getRadians();
-    final double vRef = linearVelocityRefMeters;
-    final double omegaRef = angularVelocityRefRadiansPerSecond;
-
-    double k = 2.0 * m_zeta * Math.sqrt(Math.pow(omegaRef, 2) + m_b * Math.pow(vRef, 2));
-
-    return new ChassisSpeeds(vRef * m_poseError.getRotation().getCos() + k * eX,
-                             0.0,
-                             omegaRef + k * eTheta + m_b * vRef * sinc(eTheta) * eY);
+    return calculate(currentPose.getTranslation().getX(), currentPose.getTranslation().getY(),
+        currentPose.getRotation().getCos(), currentPose.getRotation().getSin(),
+        poseRef.getTranslation().getX(), poseRef.getTranslation().getY(),
+        poseRef.getRotation().getCos(), poseRef.getRotation().getSin(),
+        linearVelocityRefMeters, angularVelocityRefRadiansPerSecond, new ChassisSpeeds());
   }
 
   /**
@@ -134,6 +127,88 @@ public class RamseteController {
         desiredState.velocityMetersPerSecond * desiredState.curvatureRadPerMeter);
   }
 
+  /**
+   * Returns the next output of the Ramsete controller, with the poses given as
+   * their components. This stores the output in a caller-owned object instead
+   * of allocating a new one.
+   *
+   * @param currentXMeters                     The x position of the current pose.
+   * @param currentYMeters                     The y position of the current pose.
+   * @param currentHeadingRadians              The heading of the current pose.
+   * @param xRefMeters                         The x position of the desired pose.
+   * @param yRefMeters                         The y position of the desired pose.
+   * @param headingRefRadians                  The heading of the desired pose.
+   * @param linearVelocityRefMeters            The desired linear velocity in meters.
+   * @param angularVelocityRefRadiansPerSecond The desired angular velocity in meters.
+   * @param result                             The chassis speeds to store the output in.
+   * @return The result chassis speeds.
+   */
+  @SuppressWarnings({"ParameterName", "PMD.ExcessiveParameterList"})
+  public ChassisSpeeds calculate(double currentXMeters, double currentYMeters,
+                                 double currentHeadingRadians,
+                                 double xRefMeters, double yRefMeters, double headingRefRadians,
+                                 double linearVelocityRefMeters,
+                                 double angularVelocityRefRadiansPerSecond,
+                                 ChassisSpeeds result) {
+    return calculate(currentXMeters, currentYMeters,
+        Math.cos(currentHeadingRadians), Math.sin(currentHeadingRadians),
+        xRefMeters, yRefMeters, Math.cos(headingRefRadians), Math.sin(headingRefRadians),
+        linearVelocityRefMeters, angularVelocityRefRadiansPerSecond, result);
+  }
+
+  /**
+   * Returns the next output of the Ramsete controller for a state sampled from
+   * a packed trajectory. This stores the output in a caller-owned object
+   * instead of allocating a new one.
+   *
+   * @param currentPose  The current pose.
+   * @param desiredState The desired pose, linear velocity, and angular velocity
+   *                     from a trajectory.
+   * @param result       The chassis speeds to store the output in.
+   * @return The result chassis speeds.
+   */
+  public ChassisSpeeds calculate(Pose2d currentPose, PackedTrajectory.MutableState desiredState,
+                                 ChassisSpeeds result) {
+    return calculate(currentPose.getTranslation().getX(), currentPose.getTranslation().getY(),
+        currentPose.getRotation().getCos(), currentPose.getRotation().getSin(),
+        desiredState.xMeters, desiredState.yMeters,
+        Math.cos(desiredState.headingRadians), Math.sin(desiredState.headingRadians),
+        desiredState.velocityMetersPerSecond,
+        desiredState.velocityMetersPerSecond * desiredState.curvatureRadPerMeter, result);
+  }
+
+  @SuppressWarnings({"LocalVariableName", "ParameterName", "PMD.ExcessiveParameterList"})
+  private ChassisSpeeds calculate(double currentXMeters, double currentYMeters,
+                                  double currentCos, double currentSin,
+                                  double xRefMeters, double yRefMeters,
+                                  double cosRef, double sinRef,
+                                  double linearVelocityRefMeters,
+                                  double angularVelocityRefRadiansPerSecond,
+                                  ChassisSpeeds result) {
+    // Find the desired pose relative to the current pose.
+    final double dx = xRefMeters - currentXMeters;
+    final double dy = yRefMeters - currentYMeters;
+    final double cosError = cosRef * currentCos + sinRef * currentSin;
+    final double sinError = sinRef * currentCos - cosRef * currentSin;
+    m_errorXMeters = dx * currentCos + dy * currentSin;
+    m_errorYMeters = -dx * currentSin + dy * currentCos;
+    m_errorThetaRadians = Math.atan2(sinError, cosError);
+
+    // Aliases for equation readability
+    final double eX = m_errorXMeters;
+    final double eY = m_errorYMeters;
+    final double eTheta = m_errorThetaRadians;
+    final double vRef = linearVelocityRefMeters;
+    final double omegaRef = angularVelocityRefRadiansPerSecond;
+
+    double k = 2.0 * m_zeta * Math.sqrt(omegaRef * omegaRef + m_b * vRef * vRef);
+
+    result.vxMetersPerSecond = vRef * cosError + k * eX;
+    result.vyMetersPerSecond = 0.0;
+    result.omegaRadiansPerSecond = omegaRef + k * eTheta + m_b * vRef * sinc(eTheta) * eY;
+    return result;
+  }
+
   /**
    * Returns sin(x) / x.
    *
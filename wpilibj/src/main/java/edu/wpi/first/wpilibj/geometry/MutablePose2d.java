@@ -0,0 +1,327 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+/**
+ * A mutable 2d pose that is updated in place.
+ *
+ * <p>This provides the same operations as {@link Pose2d}, but each operation
+ * modifies this pose (or a caller-owned {@link Twist2d}) instead of returning
+ * a new object, so it can be used in loops that run every robot period without
+ * allocating. The rotation is stored as its cosine and sine, so composing
+ * rotations does not need any trigonometric functions; the angle itself is
+ * only computed when {@link #getRadians()} is called.
+ *
+ * <p>Use {@link Pose2d} everywhere else; it is safer to share between objects.
+ */
+@SuppressWarnings("MemberName")
+public class MutablePose2d {
+  private double m_x;
+  private double m_y;
+  private double m_cos = 1.0;
+  private double m_sin;
+
+  /**
+   * Constructs a pose at the origin facing toward the positive X axis.
+   */
+  public MutablePose2d() {
+  }
+
+  /**
+   * Constructs a pose with the given position and heading.
+   *
+   * @param x       The x component of the pose.
+   * @param y       The y component of the pose.
+   * @param radians The heading of the pose.
+   */
+  @SuppressWarnings("ParameterName")
+  public MutablePose2d(double x, double y, double radians) {
+    set(x, y, radians);
+  }
+
+  /**
+   * Constructs a pose that is a copy of an immutable pose.
+   *
+   * @param pose The pose to copy.
+   */
+  public MutablePose2d(Pose2d pose) {
+    set(pose);
+  }
+
+  /**
+   * Sets the position and heading of this pose.
+   *
+   * @param x       The x component of the pose.
+   * @param y       The y component of the pose.
+   * @param radians The heading of the pose.
+   * @return This pose.
+   */
+  @SuppressWarnings("ParameterName")
+  public MutablePose2d set(double x, double y, double radians) {
+    m_x = x;
+    m_y = y;
+    return setRotation(radians);
+  }
+
+  /**
+   * Sets this pose to a copy of an immutable pose.
+   *
+   * @param pose The pose to copy.
+   * @return This pose.
+   */
+  public MutablePose2d set(Pose2d pose) {
+    m_x = pose.getTranslation().getX();
+    m_y = pose.getTranslation().getY();
+    m_cos = pose.getRotation().getCos();
+    m_sin = pose.getRotation().getSin();
+    return this;
+  }
+
+  /**
+   * Sets this pose to a copy of another pose.
+   *
+   * @param pose The pose to copy.
+   * @return This pose.
+   */
+  public MutablePose2d set(MutablePose2d pose) {
+    m_x = pose.m_x;
+    m_y = pose.m_y;
+    m_cos = pose.m_cos;
+    m_sin = pose.m_sin;
+    return this;
+  }
+
+  /**
+   * Sets the position of this pose without changing its heading.
+   *
+   * @param x The x component of the pose.
+   * @param y The y component of the pose.
+   * @return This pose.
+   */
+  @SuppressWarnings("ParameterName")
+  public MutablePose2d setTranslation(double x, double y) {
+    m_x = x;
+    m_y = y;
+    return this;
+  }
+
+  /**
+   * Sets the heading of this pose without changing its position.
+   *
+   * @param radians The heading of the pose.
+   * @return This pose.
+   */
+  public MutablePose2d setRotation(double radians) {
+    m_cos = Math.cos(radians);
+    m_sin = Math.sin(radians);
+    return this;
+  }
+
+  /**
+   * Sets the heading of this pose without changing its position.
+   *
+   * @param rotation The heading of the pose.
+   * @return This pose.
+   */
+  public MutablePose2d setRotation(Rotation2d rotation) {
+    m_cos = rotation.getCos();
+    m_sin = rotation.getSin();
+    return this;
+  }
+
+  /**
+   * Returns the x component of the pose.
+   *
+   * @return The x component of the pose.
+   */
+  public double getX() {
+    return m_x;
+  }
+
+  /**
+   * Returns the y component of the pose.
+   *
+   * @return The y component of the pose.
+   */
+  public double getY() {
+    return m_y;
+  }
+
+  /**
+   * Returns the cosine of the heading of the pose.
+   *
+   * @return The cosine of the heading of the pose.
+   */
+  public double getCos() {
+    return m_cos;
+  }
+
+  /**
+   * Returns the sine of the heading of the pose.
+   *
+   * @return The sine of the heading of the pose.
+   */
+  public double getSin() {
+    return m_sin;
+  }
+
+  /**
+   * Returns the heading of the pose in radians, in the range [-pi, pi].
+   *
+   * @return The heading of the pose.
+   */
+  public double getRadians() {
+    return Math.atan2(m_sin, m_cos);
+  }
+
+  /**
+   * Transforms this pose by the given transformation. This is the same as
+   * {@link Pose2d#transformBy(Transform2d)}.
+   *
+   * @param transform The transform to transform the pose by.
+   * @return This pose.
+   */
+  public MutablePose2d transformBy(Transform2d transform) {
+    return transformBy(transform.getTranslation().getX(), transform.getTranslation().getY(),
+        transform.getRotation().getCos(), transform.getRotation().getSin());
+  }
+
+  /**
+   * Transforms this pose by a transformation given as its components.
+   *
+   * @param x   The x component of the transform, in this pose's frame.
+   * @param y   The y component of the transform, in this pose's frame.
+   * @param cos The cosine of the rotation of the transform.
+   * @param sin The sine of the rotation of the transform.
+   * @return This pose.
+   */
+  @SuppressWarnings("ParameterName")
+  public MutablePose2d transformBy(double x, double y, double cos, double sin) {
+    m_x += x * m_cos - y * m_sin;
+    m_y += x * m_sin + y * m_cos;
+    return setNormalizedRotation(m_cos * cos - m_sin * sin, m_cos * sin + m_sin * cos);
+  }
+
+  /**
+   * Changes this pose to be relative to another pose. This is the same as
+   * {@link Pose2d#relativeTo(Pose2d)}.
+   *
+   * @param other The pose that is the origin of the new coordinate frame that
+   *              this pose will be converted into.
+   * @return This pose.
+   */
+  public MutablePose2d relativeTo(MutablePose2d other) {
+    final double dx = m_x - other.m_x;
+    final double dy = m_y - other.m_y;
+    final double cos = m_cos * other.m_cos + m_sin * other.m_sin;
+    final double sin = m_sin * other.m_cos - m_cos * other.m_sin;
+    m_x = dx * other.m_cos + dy * other.m_sin;
+    m_y = -dx * other.m_sin + dy * other.m_cos;
+    return setNormalizedRotation(cos, sin);
+  }
+
+  /**
+   * Moves this pose along a (constant curvature) twist. This is the same as
+   * {@link Pose2d#exp(Twist2d)}.
+   *
+   * @param twist The change in pose in the robot's coordinate frame since the
+   *              previous pose update.
+   * @return This pose.
+   */
+  public MutablePose2d exp(Twist2d twist) {
+    return exp(twist.dx, twist.dy, twist.dtheta);
+  }
+
+  /**
+   * Moves this pose along a (constant curvature) twist given as its
+   * components. This is the same as {@link Pose2d#exp(Twist2d)}.
+   *
+   * @param dx     The change in x in the robot's coordinate frame.
+   * @param dy     The change in y in the robot's coordinate frame.
+   * @param dtheta The change in heading.
+   * @return This pose.
+   */
+  @SuppressWarnings("LocalVariableName")
+  public MutablePose2d exp(double dx, double dy, double dtheta) {
+    double sinTheta = Math.sin(dtheta);
+    double cosTheta = Math.cos(dtheta);
+
+    double s;
+    double c;
+    if (Math.abs(dtheta) < 1E-9) {
+      s = 1.0 - 1.0 / 6.0 * dtheta * dtheta;
+      c = 0.5 * dtheta;
+    } else {
+      s = sinTheta / dtheta;
+      c = (1 - cosTheta) / dtheta;
+    }
+    return transformBy(dx * s - dy * c, dx * c + dy * s, cosTheta, sinTheta);
+  }
+
+  /**
+   * Computes the twist that maps this pose to the end pose. This is the same as
+   * {@link Pose2d#log(Pose2d)}.
+   *
+   * @param end    The end pose for the transformation.
+   * @param result The twist to store the result in.
+   * @return The result twist.
+   */
+  public Twist2d log(MutablePose2d end, Twist2d result) {
+    // Find the end pose relative to this pose.
+    final double dx = end.m_x - m_x;
+    final double dy = end.m_y - m_y;
+    final double x = dx * m_cos + dy * m_sin;
+    final double y = -dx * m_sin + dy * m_cos;
+    final double cos = end.m_cos * m_cos + end.m_sin * m_sin;
+    final double sin = end.m_sin * m_cos - end.m_cos * m_sin;
+
+    final double dtheta = Math.atan2(sin, cos);
+    final double halfDtheta = dtheta / 2.0;
+
+    final double cosMinusOne = cos - 1;
+
+    double halfThetaByTanOfHalfDtheta;
+    if (Math.abs(cosMinusOne) < 1E-9) {
+      halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
+    } else {
+      halfThetaByTanOfHalfDtheta = -(halfDtheta * sin) / cosMinusOne;
+    }
+
+    // Rotating by the normalized (halfThetaByTanOfHalfDtheta, -halfDtheta) and
+    // then scaling by its magnitude is the same as multiplying by it directly.
+    result.dx = x * halfThetaByTanOfHalfDtheta + y * halfDtheta;
+    result.dy = -x * halfDtheta + y * halfThetaByTanOfHalfDtheta;
+    result.dtheta = dtheta;
+    return result;
+  }
+
+  /**
+   * Returns an immutable copy of this pose.
+   *
+   * @return An immutable copy of this pose.
+   */
+  public Pose2d toPose2d() {
+    return new Pose2d(m_x, m_y, new Rotation2d(m_cos, m_sin));
+  }
+
+  /**
+   * Sets the rotation from a cosine and sine that are approximately normalized,
+   * correcting the rounding error that builds up as rotations are composed.
+   */
+  private MutablePose2d setNormalizedRotation(double cos, double sin) {
+    final double magnitude = Math.sqrt(cos * cos + sin * sin);
+    if (magnitude > 1E-6) {
+      m_cos = cos / magnitude;
+      m_sin = sin / magnitude;
+    } else {
+      m_cos = 1.0;
+      m_sin = 0.0;
+    }
+    return this;
+  }
+}
@@ -0,0 +1,220 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.kinematics;
+
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+/**
+ * Differential drive odometry for many pose hypotheses at once, such as
+ * simulation rollouts with different wheel slip or gyro drift models.
+ *
+ * <p>Each hypothesis is integrated exactly like {@link DifferentialDriveOdometry},
+ * but the poses are stored in primitive arrays and every update advances all of
+ * them without allocating. All of the hypotheses share the same timestamps, and
+ * each has its own wheel speeds and gyro angle. As in
+ * {@link DifferentialDriveOdometry}, the heading comes from the gyro angle, so
+ * only the average of the wheel speeds is used and the track width isn't
+ * needed. For large numbers of hypotheses, the updates can be split across a
+ * fork-join pool with {@link #setPool(ForkJoinPool)}.
+ */
+@SuppressWarnings("MemberName")
+public class BatchDifferentialDriveOdometry {
+  // The number of hypotheses updated by each parallel task
+  private static final int kChunkSize = 4096;
+
+  private final double[] m_xMeters;
+  private final double[] m_yMeters;
+
+  // The heading of each pose, which is also the gyro angle of the previous update
+  private final double[] m_headingRadians;
+
+  private double m_prevTimeSeconds = -1;
+  private ForkJoinPool m_pool;
+
+  /**
+   * Constructs a BatchDifferentialDriveOdometry object with every hypothesis at
+   * the origin.
+   *
+   * @param count The number of pose hypotheses.
+   */
+  public BatchDifferentialDriveOdometry(int count) {
+    if (count < 1) {
+      throw new IllegalArgumentException("The number of hypotheses must be positive");
+    }
+    m_xMeters = new double[count];
+    m_yMeters = new double[count];
+    m_headingRadians = new double[count];
+  }
+
+  /**
+   * Returns the number of pose hypotheses.
+   *
+   * @return The number of pose hypotheses.
+   */
+  public int size() {
+    return m_xMeters.length;
+  }
+
+  /**
+   * Sets the pool used to update the hypotheses in parallel. Hypotheses are
+   * updated serially by default. Each hypothesis is integrated independently,
+   * so the results are identical either way.
+   *
+   * @param pool The pool to update the hypotheses on, or null to update them
+   *             serially.
+   */
+  public void setPool(ForkJoinPool pool) {
+    m_pool = pool;
+  }
+
+  /**
+   * Resets the position of every hypothesis on the field.
+   *
+   * @param poseMeters The position on the field that your robot is at.
+   */
+  public void resetPositions(Pose2d poseMeters) {
+    for (int i = 0; i < m_xMeters.length; i++) {
+      resetPosition(i, poseMeters);
+    }
+  }
+
+  /**
+   * Resets the position of one hypothesis on the field.
+   *
+   * @param hypothesis The index of the hypothesis.
+   * @param poseMeters The position on the field that your robot is at.
+   */
+  public void resetPosition(int hypothesis, Pose2d poseMeters) {
+    m_xMeters[hypothesis] = poseMeters.getTranslation().getX();
+    m_yMeters[hypothesis] = poseMeters.getTranslation().getY();
+    m_headingRadians[hypothesis] = poseMeters.getRotation().getRadians();
+  }
+
+  /**
+   * Returns the x position of a hypothesis.
+   *
+   * @param hypothesis The index of the hypothesis.
+   * @return The x position of the hypothesis.
+   */
+  public double getXMeters(int hypothesis) {
+    return m_xMeters[hypothesis];
+  }
+
+  /**
+   * Returns the y position of a hypothesis.
+   *
+   * @param hypothesis The index of the hypothesis.
+   * @return The y position of the hypothesis.
+   */
+  public double getYMeters(int hypothesis) {
+    return m_yMeters[hypothesis];
+  }
+
+  /**
+   * Returns the heading of a hypothesis.
+   *
+   * @param hypothesis The index of the hypothesis.
+   * @return The heading of the hypothesis.
+   */
+  public double getHeadingRadians(int hypothesis) {
+    return m_headingRadians[hypothesis];
+  }
+
+  /**
+   * Returns the pose of a hypothesis.
+   *
+   * @param hypothesis The index of the hypothesis.
+   * @return The pose of the hypothesis.
+   */
+  public Pose2d getPoseMeters(int hypothesis) {
+    return new Pose2d(m_xMeters[hypothesis], m_yMeters[hypothesis],
+        new Rotation2d(m_headingRadians[hypothesis]));
+  }
+
+  /**
+   * Updates every hypothesis using forward kinematics and integration of the
+   * pose over time. See
+   * {@link DifferentialDriveOdometry#updateWithTime DifferentialDriveOdometry.updateWithTime}.
+   *
+   * @param currentTimeSeconds   The current time in seconds.
+   * @param anglesRadians        The current robot angle of each hypothesis.
+   * @param leftMetersPerSecond  The current left wheel speed of each hypothesis.
+   * @param rightMetersPerSecond The current right wheel speed of each hypothesis.
+   */
+  public void updateWithTime(double currentTimeSeconds, double[] anglesRadians,
+                             double[] leftMetersPerSecond, double[] rightMetersPerSecond) {
+    final int count = m_xMeters.length;
+    if (anglesRadians.length != count || leftMetersPerSecond.length != count
+        || rightMetersPerSecond.length != count) {
+      throw new IllegalArgumentException(
+          "Number of inputs is not consistent with number of hypotheses");
+    }
+
+    final double period =
+        m_prevTimeSeconds >= 0 ? currentTimeSeconds - m_prevTimeSeconds : 0.0;
+    m_prevTimeSeconds = currentTimeSeconds;
+
+    final var pool = m_pool;
+    if (pool == null || count <= kChunkSize) {
+      update(period, anglesRadians, leftMetersPerSecond, rightMetersPerSecond, 0, count);
+      return;
+    }
+
+    var tasks = new ArrayList<ForkJoinTask<?>>(count / kChunkSize + 1);
+    for (int start = 0; start < count; start += kChunkSize) {
+      final int chunkStart = start;
+      final int chunkEnd = Math.min(start + kChunkSize, count);
+      tasks.add(pool.submit(() -> update(period, anglesRadians, leftMetersPerSecond,
+          rightMetersPerSecond, chunkStart, chunkEnd)));
+    }
+    for (final var task : tasks) {
+      task.join();
+    }
+  }
+
+  /**
+   * Integrates the hypotheses from start (inclusive) to end (exclusive) along
+   * the twist given by their wheel speeds and change in angle. This is
+   * {@link Pose2d#exp Pose2d.exp} with dy = 0, since a differential drive
+   * can't move sideways.
+   */
+  @SuppressWarnings("LocalVariableName")
+  private void update(double period, double[] anglesRadians, double[] leftMetersPerSecond,
+                      double[] rightMetersPerSecond, int start, int end) {
+    for (int i = start; i < end; i++) {
+      final double dx = (leftMetersPerSecond[i] + rightMetersPerSecond[i]) / 2 * period;
+      final double dtheta =
+          Math.IEEEremainder(anglesRadians[i] - m_headingRadians[i], 2.0 * Math.PI);
+
+      final double sinTheta = Math.sin(dtheta);
+      final double cosTheta = Math.cos(dtheta);
+
+      double s;
+      double c;
+      if (Math.abs(dtheta) < 1E-9) {
+        s = 1.0 - 1.0 / 6.0 * dtheta * dtheta;
+        c = 0.5 * dtheta;
+      } else {
+        s = sinTheta / dtheta;
+        c = (1 - cosTheta) / dtheta;
+      }
+
+      // Rotate the twist's translation (dx * s, dx * c) into the field frame.
+      final double cos = Math.cos(m_headingRadians[i]);
+      final double sin = Math.sin(m_headingRadians[i]);
+      m_xMeters[i] += dx * (s * cos - c * sin);
+      m_yMeters[i] += dx * (s * sin + c * cos);
+      m_headingRadians[i] = anglesRadians[i];
+    }
+  }
+}
@@ -30,6 +30,15 @@ public class DifferentialDriveKinematics {
     m_trackWidthMeters = trackWidthMeters;
   }
 
+  /**
+   * Returns the track width of the drivetrain.
+   *
+   * @return The track width of the drivetrain.
+   */
+  public double getTrackWidthMeters() {
+    return m_trackWidthMeters;
+  }
+
   /**
    * Returns a chassis speed from left and right component velocities using
    * forward kinematics.
@@ -54,11 +63,25 @@ public class DifferentialDriveKinematics {
    * @return The left and right velocities.
    */
   public DifferentialDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds) {
-    return new DifferentialDriveWheelSpeeds(
-        chassisSpeeds.vxMetersPerSecond - m_trackWidthMeters / 2
-          * chassisSpeeds.omegaRadiansPerSecond,
-        chassisSpeeds.vxMetersPerSecond + m_trackWidthMeters / 2
-          * chassisSpeeds.omegaRadiansPerSecond
-    );
+    return toWheelSpeeds(chassisSpeeds, new DifferentialDriveWheelSpeeds());
+  }
+
+  /**
+   * Returns left and right component velocities from a chassis speed using
+   * inverse kinematics. This stores the velocities in a caller-owned object
+   * instead of allocating a new one.
+   *
+   * @param chassisSpeeds The linear and angular (dx and dtheta) components that
+   *                      represent the chassis' speed.
+   * @param result        The wheel speeds to store the left and right velocities in.
+   * @return The result wheel speeds.
+   */
+  public DifferentialDriveWheelSpeeds toWheelSpeeds(ChassisSpeeds chassisSpeeds,
+                                                    DifferentialDriveWheelSpeeds result) {
+    result.leftMetersPerSecond = chassisSpeeds.vxMetersPerSecond - m_trackWidthMeters / 2
+        * chassisSpeeds.omegaRadiansPerSecond;
+    result.rightMetersPerSecond = chassisSpeeds.vxMetersPerSecond + m_trackWidthMeters / 2
+        * chassisSpeeds.omegaRadiansPerSecond;
+    return result;
   }
 }
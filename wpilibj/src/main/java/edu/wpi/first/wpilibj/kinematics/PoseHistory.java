@@ -0,0 +1,327 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.kinematics;
+
+import edu.wpi.first.wpilibj.geometry.MutablePose2d;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Twist2d;
+
+/**
+ * A fixed-capacity history of timestamped robot poses, used for latency
+ * compensation.
+ *
+ * <p>Measurements such as vision targets are often received some time after
+ * they were captured. The history lets you look up where the robot was when the
+ * measurement was captured, and apply a correction at that time. Applying a
+ * correction replays the motion recorded after it, so the latest pose includes
+ * both the correction and everything the robot has done since.
+ *
+ * <p>The samples are stored in a ring buffer of primitive arrays, so adding a
+ * sample never allocates, and the oldest sample is dropped once the history is
+ * full. Samples must be added in order of increasing time; lookups use a binary
+ * search and interpolate between the two nearest samples along a constant
+ * curvature arc, like odometry does.
+ *
+ * <p>This class is not thread safe.
+ */
+@SuppressWarnings({"MemberName", "ParameterName"})
+public class PoseHistory {
+  /**
+   * The default number of samples kept, which is a little over 2.5 seconds at
+   * the default robot loop rate.
+   */
+  public static final int kDefaultCapacity = 128;
+
+  private final double[] m_timestampsSeconds;
+  private final double[] m_xMeters;
+  private final double[] m_yMeters;
+  private final double[] m_headingRadians;
+
+  // Index of the oldest sample
+  private int m_first;
+
+  // Number of samples in the history
+  private int m_size;
+
+  private final MutablePose2d m_scratchPose = new MutablePose2d();
+  private final Twist2d m_scratchTwist = new Twist2d();
+
+  // The pose being corrected. This can't be m_scratchPose, which sample()
+  // uses internally.
+  private final MutablePose2d m_correctedPose = new MutablePose2d();
+
+  /**
+   * Constructs a pose history with the default capacity.
+   */
+  public PoseHistory() {
+    this(kDefaultCapacity);
+  }
+
+  /**
+   * Constructs a pose history.
+   *
+   * @param capacity The maximum number of samples to keep.
+   */
+  public PoseHistory(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    m_timestampsSeconds = new double[capacity];
+    m_xMeters = new double[capacity];
+    m_yMeters = new double[capacity];
+    m_headingRadians = new double[capacity];
+  }
+
+  /**
+   * Returns the maximum number of samples kept.
+   *
+   * @return The maximum number of samples kept.
+   */
+  public int getCapacity() {
+    return m_timestampsSeconds.length;
+  }
+
+  /**
+   * Returns the number of samples in the history.
+   *
+   * @return The number of samples in the history.
+   */
+  public int size() {
+    return m_size;
+  }
+
+  /**
+   * Removes all samples from the history.
+   */
+  public void clear() {
+    m_first = 0;
+    m_size = 0;
+  }
+
+  /**
+   * Adds a sample to the history, dropping the oldest sample if the history is
+   * full. A sample with the same timestamp as the latest sample replaces it. A
+   * sample older than the latest sample means that time went backwards, so the
+   * history is cleared before adding it.
+   *
+   * @param timestampSeconds The time of the sample.
+   * @param xMeters          The x position of the robot.
+   * @param yMeters          The y position of the robot.
+   * @param headingRadians   The heading of the robot.
+   */
+  public void add(double timestampSeconds, double xMeters, double yMeters,
+                  double headingRadians) {
+    if (m_size > 0) {
+      double latestTimeSeconds = m_timestampsSeconds[index(m_size - 1)];
+      if (timestampSeconds == latestTimeSeconds) {
+        m_size--;
+      } else if (timestampSeconds < latestTimeSeconds) {
+        clear();
+      }
+    }
+
+    int index;
+    if (m_size < m_timestampsSeconds.length) {
+      index = index(m_size);
+      m_size++;
+    } else {
+      index = m_first;
+      m_first = index(1);
+    }
+
+    m_timestampsSeconds[index] = timestampSeconds;
+    m_xMeters[index] = xMeters;
+    m_yMeters[index] = yMeters;
+    m_headingRadians[index] = headingRadians;
+  }
+
+  /**
+   * Adds a sample to the history. See {@link #add(double, double, double, double)}.
+   *
+   * @param timestampSeconds The time of the sample.
+   * @param poseMeters       The pose of the robot.
+   */
+  public void add(double timestampSeconds, Pose2d poseMeters) {
+    add(timestampSeconds, poseMeters.getTranslation().getX(),
+        poseMeters.getTranslation().getY(), poseMeters.getRotation().getRadians());
+  }
+
+  /**
+   * Returns the time of a sample.
+   *
+   * @param sample The index of the sample, where 0 is the oldest sample.
+   * @return The time of the sample.
+   */
+  public double getTimestampSeconds(int sample) {
+    return m_timestampsSeconds[checkedIndex(sample)];
+  }
+
+  /**
+   * Returns the x position of a sample.
+   *
+   * @param sample The index of the sample, where 0 is the oldest sample.
+   * @return The x position of the sample.
+   */
+  public double getXMeters(int sample) {
+    return m_xMeters[checkedIndex(sample)];
+  }
+
+  /**
+   * Returns the y position of a sample.
+   *
+   * @param sample The index of the sample, where 0 is the oldest sample.
+   * @return The y position of the sample.
+   */
+  public double getYMeters(int sample) {
+    return m_yMeters[checkedIndex(sample)];
+  }
+
+  /**
+   * Returns the heading of a sample.
+   *
+   * @param sample The index of the sample, where 0 is the oldest sample.
+   * @return The heading of the sample.
+   */
+  public double getHeadingRadians(int sample) {
+    return m_headingRadians[checkedIndex(sample)];
+  }
+
+  /**
+   * Finds the pose of the robot at the given time, interpolating between the
+   * two samples around it. Times after the latest sample return the latest
+   * sample.
+   *
+   * @param timestampSeconds The time to look up.
+   * @param result           The pose to store the result in.
+   * @return False if the history is empty or the time is before the oldest
+   *         sample, in which case the result is not changed.
+   */
+  public boolean sample(double timestampSeconds, MutablePose2d result) {
+    int next = findNext(timestampSeconds);
+    if (next < 0) {
+      return false;
+    }
+
+    int nextIndex = index(next);
+    result.set(m_xMeters[nextIndex], m_yMeters[nextIndex], m_headingRadians[nextIndex]);
+    if (next == 0 || m_timestampsSeconds[nextIndex] <= timestampSeconds) {
+      return true;
+    }
+
+    int prevIndex = index(next - 1);
+    final double fraction = (timestampSeconds - m_timestampsSeconds[prevIndex])
+        / (m_timestampsSeconds[nextIndex] - m_timestampsSeconds[prevIndex]);
+
+    m_scratchPose.set(result);
+    result.set(m_xMeters[prevIndex], m_yMeters[prevIndex], m_headingRadians[prevIndex]);
+    result.log(m_scratchPose, m_scratchTwist);
+    result.exp(m_scratchTwist.dx * fraction, m_scratchTwist.dy * fraction,
+        m_scratchTwist.dtheta * fraction);
+    return true;
+  }
+
+  /**
+   * Corrects the pose of the robot at a past time, and replays the motion
+   * recorded since then from the corrected pose. Every sample at or after the
+   * given time is moved by the rigid transform that takes the interpolated pose
+   * at that time to the corrected pose. Times after the latest sample correct
+   * the latest sample.
+   *
+   * @param timestampSeconds The time the corrected pose was measured at.
+   * @param xMeters          The corrected x position of the robot.
+   * @param yMeters          The corrected y position of the robot.
+   * @param headingRadians   The corrected heading of the robot.
+   * @return False if the history is empty or the time is before the oldest
+   *         sample, in which case nothing is corrected.
+   */
+  public boolean correct(double timestampSeconds, double xMeters, double yMeters,
+                         double headingRadians) {
+    if (!sample(timestampSeconds, m_correctedPose)) {
+      return false;
+    }
+
+    double rotationRadians = headingRadians - m_correctedPose.getRadians();
+    double cos = Math.cos(rotationRadians);
+    double sin = Math.sin(rotationRadians);
+    double oldXMeters = m_correctedPose.getX();
+    double oldYMeters = m_correctedPose.getY();
+
+    for (int i = findNext(timestampSeconds); i < m_size; i++) {
+      int index = index(i);
+      double dx = m_xMeters[index] - oldXMeters;
+      double dy = m_yMeters[index] - oldYMeters;
+      m_xMeters[index] = xMeters + dx * cos - dy * sin;
+      m_yMeters[index] = yMeters + dx * sin + dy * cos;
+      m_headingRadians[index] += rotationRadians;
+    }
+    return true;
+  }
+
+  /**
+   * Corrects the position of the robot at a past time without changing its
+   * heading, and replays the motion recorded since then. See
+   * {@link #correct(double, double, double, double)}.
+   *
+   * @param timestampSeconds The time the corrected position was measured at.
+   * @param xMeters          The corrected x position of the robot.
+   * @param yMeters          The corrected y position of the robot.
+   * @return False if the history is empty or the time is before the oldest
+   *         sample, in which case nothing is corrected.
+   */
+  public boolean correctTranslation(double timestampSeconds, double xMeters, double yMeters) {
+    if (!sample(timestampSeconds, m_correctedPose)) {
+      return false;
+    }
+
+    double dx = xMeters - m_correctedPose.getX();
+    double dy = yMeters - m_correctedPose.getY();
+
+    for (int i = findNext(timestampSeconds); i < m_size; i++) {
+      int index = index(i);
+      m_xMeters[index] += dx;
+      m_yMeters[index] += dy;
+    }
+    return true;
+  }
+
+  /**
+   * Returns the index of the first sample at or after the given time, the
+   * latest sample if the time is after it, or -1 if the history is empty or the
+   * time is before the oldest sample.
+   */
+  private int findNext(double timestampSeconds) {
+    if (m_size == 0 || timestampSeconds < m_timestampsSeconds[m_first]) {
+      return -1;
+    }
+
+    int low = 0;
+    int high = m_size - 1;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (m_timestampsSeconds[index(mid)] < timestampSeconds) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private int index(int sample) {
+    int index = m_first + sample;
+    return index < m_timestampsSeconds.length ? index : index - m_timestampsSeconds.length;
+  }
+
+  private int checkedIndex(int sample) {
+    if (sample < 0 || sample >= m_size) {
+      throw new IndexOutOfBoundsException("Sample " + sample + " out of range for size "
+          + m_size);
+    }
+    return index(sample);
+  }
+}
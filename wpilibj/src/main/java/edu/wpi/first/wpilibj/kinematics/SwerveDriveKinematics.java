@@ -38,12 +38,17 @@ import edu.wpi.first.wpilibj.geometry.Translation2d;
  * the robot on the field using encoders and a gyro.
  */
 public class SwerveDriveKinematics {
-  private final SimpleMatrix m_inverseKinematics;
-  private final SimpleMatrix m_forwardKinematics;
+  private static final Translation2d kOrigin = new Translation2d();
+
+  // The inverse kinematics rows of module i are [1, 0, -y_i] and [0, 1, x_i],
+  // so only the module locations need to be stored for them. The forward
+  // kinematics are the pseudoinverse of those rows, stored row-major as a
+  // 3 x (2 * numModules) matrix.
+  private final double[] m_moduleXMeters;
+  private final double[] m_moduleYMeters;
+  private final double[] m_forwardKinematics;
 
   private final int m_numModules;
-  private final Translation2d[] m_modules;
-  private Translation2d m_prevCoR = new Translation2d();
 
   /**
    * Constructs a swerve drive kinematics object. This takes in a variable
@@ -61,14 +66,33 @@ public class SwerveDriveKinematics {
       throw new IllegalArgumentException("A swerve drive requires at least two modules");
     }
     m_numModules = wheelsMeters.length;
-    m_modules = Arrays.copyOf(wheelsMeters, m_numModules);
-    m_inverseKinematics = new SimpleMatrix(m_numModules * 2, 3);
+    m_moduleXMeters = new double[m_numModules];
+    m_moduleYMeters = new double[m_numModules];
+    var inverseKinematics = new SimpleMatrix(m_numModules * 2, 3);
 
     for (int i = 0; i < m_numModules; i++) {
-      m_inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0, -m_modules[i].getY());
-      m_inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1, +m_modules[i].getX());
+      m_moduleXMeters[i] = wheelsMeters[i].getX();
+      m_moduleYMeters[i] = wheelsMeters[i].getY();
+      inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0, -m_moduleYMeters[i]);
+      inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1, +m_moduleXMeters[i]);
     }
-    m_forwardKinematics = m_inverseKinematics.pseudoInverse();
+
+    var forwardKinematics = inverseKinematics.pseudoInverse();
+    m_forwardKinematics = new double[3 * m_numModules * 2];
+    for (int row = 0; row < 3; row++) {
+      for (int col = 0; col < m_numModules * 2; col++) {
+        m_forwardKinematics[row * m_numModules * 2 + col] = forwardKinematics.get(row, col);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of modules.
+   *
+   * @return The number of modules.
+   */
+  public int getNumModules() {
+    return m_numModules;
   }
 
   /**
@@ -96,27 +120,11 @@ public class SwerveDriveKinematics {
   @SuppressWarnings({"LocalVariableName", "PMD.AvoidInstantiatingObjectsInLoops"})
   public SwerveModuleState[] toSwerveModuleStates(ChassisSpeeds chassisSpeeds,
                                                   Translation2d centerOfRotationMeters) {
-    if (!centerOfRotationMeters.equals(m_prevCoR)) {
-      for (int i = 0; i < m_numModules; i++) {
-        m_inverseKinematics.setRow(i * 2 + 0, 0, /* Start Data */ 1, 0,
-            -m_modules[i].getY() + centerOfRotationMeters.getY());
-        m_inverseKinematics.setRow(i * 2 + 1, 0, /* Start Data */ 0, 1,
-            +m_modules[i].getX() - centerOfRotationMeters.getX());
-      }
-      m_prevCoR = centerOfRotationMeters;
-    }
-
-    var chassisSpeedsVector = new SimpleMatrix(3, 1);
-    chassisSpeedsVector.setColumn(0, 0,
-        chassisSpeeds.vxMetersPerSecond, chassisSpeeds.vyMetersPerSecond,
-        chassisSpeeds.omegaRadiansPerSecond);
-
-    var moduleStatesMatrix = m_inverseKinematics.mult(chassisSpeedsVector);
     SwerveModuleState[] moduleStates = new SwerveModuleState[m_numModules];
 
     for (int i = 0; i < m_numModules; i++) {
-      double x = moduleStatesMatrix.get(i * 2, 0);
-      double y = moduleStatesMatrix.get(i * 2 + 1, 0);
+      double x = getModuleVelocityX(i, chassisSpeeds, centerOfRotationMeters.getY());
+      double y = getModuleVelocityY(i, chassisSpeeds, centerOfRotationMeters.getX());
 
       double speed = Math.hypot(x, y);
       Rotation2d angle = new Rotation2d(x, y);
@@ -135,7 +143,52 @@ public class SwerveDriveKinematics {
    * @return An array containing the module states.
    */
   public SwerveModuleState[] toSwerveModuleStates(ChassisSpeeds chassisSpeeds) {
-    return toSwerveModuleStates(chassisSpeeds, new Translation2d());
+    return toSwerveModuleStates(chassisSpeeds, kOrigin);
+  }
+
+  /**
+   * Performs inverse kinematics, storing the module states in caller-owned
+   * arrays instead of allocating new objects. See
+   * {@link #toSwerveModuleStates(ChassisSpeeds, Translation2d)} for more information.
+   *
+   * @param chassisSpeeds          The desired chassis speed.
+   * @param centerOfRotationMeters The center of rotation.
+   * @param speedsMetersPerSecond  The array to store the speed of each module in. Its
+   *                               length must be the number of modules.
+   * @param anglesRadians          The array to store the angle of each module in, in the
+   *                               range [-pi, pi]. Its length must be the number of modules.
+   */
+  @SuppressWarnings("LocalVariableName")
+  public void toSwerveModuleStates(ChassisSpeeds chassisSpeeds,
+                                   Translation2d centerOfRotationMeters,
+                                   double[] speedsMetersPerSecond, double[] anglesRadians) {
+    checkModuleCount(speedsMetersPerSecond.length);
+    checkModuleCount(anglesRadians.length);
+
+    for (int i = 0; i < m_numModules; i++) {
+      double x = getModuleVelocityX(i, chassisSpeeds, centerOfRotationMeters.getY());
+      double y = getModuleVelocityY(i, chassisSpeeds, centerOfRotationMeters.getX());
+
+      // Match Rotation2d, which points modules with almost no speed forward
+      // instead of in whichever direction the noise in the speed points.
+      speedsMetersPerSecond[i] = Math.hypot(x, y);
+      anglesRadians[i] = speedsMetersPerSecond[i] > 1e-6 ? Math.atan2(y, x) : 0.0;
+    }
+  }
+
+  /**
+   * Performs inverse kinematics about the center of the robot, storing the
+   * module states in caller-owned arrays. See
+   * {@link #toSwerveModuleStates(ChassisSpeeds, Translation2d, double[], double[])}
+   * for more information.
+   *
+   * @param chassisSpeeds         The desired chassis speed.
+   * @param speedsMetersPerSecond The array to store the speed of each module in.
+   * @param anglesRadians         The array to store the angle of each module in.
+   */
+  public void toSwerveModuleStates(ChassisSpeeds chassisSpeeds,
+                                   double[] speedsMetersPerSecond, double[] anglesRadians) {
+    toSwerveModuleStates(chassisSpeeds, kOrigin, speedsMetersPerSecond, anglesRadians);
   }
 
   /**
@@ -150,24 +203,41 @@ public class SwerveDriveKinematics {
    * @return The resulting chassis speed.
    */
   public ChassisSpeeds toChassisSpeeds(SwerveModuleState... wheelStates) {
-    if (wheelStates.length != m_numModules) {
-      throw new IllegalArgumentException(
-          "Number of modules is not consistent with number of wheel locations provided in "
-              + "constructor"
-      );
-    }
-    var moduleStatesMatrix = new SimpleMatrix(m_numModules * 2, 1);
+    checkModuleCount(wheelStates.length);
 
+    var chassisSpeeds = new ChassisSpeeds();
     for (int i = 0; i < m_numModules; i++) {
       var module = wheelStates[i];
-      moduleStatesMatrix.set(i * 2, 0, module.speedMetersPerSecond * module.angle.getCos());
-      moduleStatesMatrix.set(i * 2 + 1, module.speedMetersPerSecond * module.angle.getSin());
+      addModuleVelocity(i, module.speedMetersPerSecond * module.angle.getCos(),
+          module.speedMetersPerSecond * module.angle.getSin(), chassisSpeeds);
     }
+    return chassisSpeeds;
+  }
 
-    var chassisSpeedsVector = m_forwardKinematics.mult(moduleStatesMatrix);
-    return new ChassisSpeeds(chassisSpeedsVector.get(0, 0), chassisSpeedsVector.get(1, 0),
-        chassisSpeedsVector.get(2, 0));
+  /**
+   * Performs forward kinematics from module states given as primitive arrays,
+   * storing the chassis speed in a caller-owned object instead of allocating a
+   * new one. See {@link #toChassisSpeeds(SwerveModuleState...)} for more
+   * information.
+   *
+   * @param speedsMetersPerSecond The speed of each module.
+   * @param anglesRadians         The angle of each module.
+   * @param result                The chassis speed to store the result in.
+   * @return The result chassis speed.
+   */
+  public ChassisSpeeds toChassisSpeeds(double[] speedsMetersPerSecond, double[] anglesRadians,
+                                       ChassisSpeeds result) {
+    checkModuleCount(speedsMetersPerSecond.length);
+    checkModuleCount(anglesRadians.length);
 
+    result.vxMetersPerSecond = 0.0;
+    result.vyMetersPerSecond = 0.0;
+    result.omegaRadiansPerSecond = 0.0;
+    for (int i = 0; i < m_numModules; i++) {
+      addModuleVelocity(i, speedsMetersPerSecond[i] * Math.cos(anglesRadians[i]),
+          speedsMetersPerSecond[i] * Math.sin(anglesRadians[i]), result);
+    }
+    return result;
   }
 
   /**
@@ -192,4 +262,66 @@ public class SwerveDriveKinematics {
       }
     }
   }
+
+  /**
+   * Normalizes wheel speeds given as a primitive array. See
+   * {@link #normalizeWheelSpeeds(SwerveModuleState[], double)} for more
+   * information.
+   *
+   * @param speedsMetersPerSecond             The speed of each module. The array will be
+   *                                          mutated with the normalized speeds!
+   * @param attainableMaxSpeedMetersPerSecond The absolute max speed that a module can reach.
+   */
+  public static void normalizeWheelSpeeds(double[] speedsMetersPerSecond,
+                                          double attainableMaxSpeedMetersPerSecond) {
+    double realMaxSpeed = Double.NEGATIVE_INFINITY;
+    for (double speed : speedsMetersPerSecond) {
+      realMaxSpeed = Math.max(realMaxSpeed, speed);
+    }
+    if (realMaxSpeed > attainableMaxSpeedMetersPerSecond) {
+      for (int i = 0; i < speedsMetersPerSecond.length; i++) {
+        speedsMetersPerSecond[i] = speedsMetersPerSecond[i] / realMaxSpeed
+            * attainableMaxSpeedMetersPerSecond;
+      }
+    }
+  }
+
+  private void checkModuleCount(int length) {
+    if (length != m_numModules) {
+      throw new IllegalArgumentException(
+          "Number of modules is not consistent with number of wheel locations provided in "
+              + "constructor"
+      );
+    }
+  }
+
+  private double getModuleVelocityX(int module, ChassisSpeeds chassisSpeeds,
+                                    double centerOfRotationYMeters) {
+    return chassisSpeeds.vxMetersPerSecond
+        - (m_moduleYMeters[module] - centerOfRotationYMeters)
+        * chassisSpeeds.omegaRadiansPerSecond;
+  }
+
+  private double getModuleVelocityY(int module, ChassisSpeeds chassisSpeeds,
+                                    double centerOfRotationXMeters) {
+    return chassisSpeeds.vyMetersPerSecond
+        + (m_moduleXMeters[module] - centerOfRotationXMeters)
+        * chassisSpeeds.omegaRadiansPerSecond;
+  }
+
+  /**
+   * Adds the contribution of one module's velocity to the chassis speed, which
+   * is the module's two columns of the forward kinematics times the velocity.
+   */
+  @SuppressWarnings("ParameterName")
+  private void addModuleVelocity(int module, double vx, double vy, ChassisSpeeds chassisSpeeds) {
+    final int columns = m_numModules * 2;
+    final int col = module * 2;
+    chassisSpeeds.vxMetersPerSecond += m_forwardKinematics[col] * vx
+        + m_forwardKinematics[col + 1] * vy;
+    chassisSpeeds.vyMetersPerSecond += m_forwardKinematics[columns + col] * vx
+        + m_forwardKinematics[columns + col + 1] * vy;
+    chassisSpeeds.omegaRadiansPerSecond += m_forwardKinematics[2 * columns + col] * vx
+        + m_forwardKinematics[2 * columns + col + 1] * vy;
+  }
 }
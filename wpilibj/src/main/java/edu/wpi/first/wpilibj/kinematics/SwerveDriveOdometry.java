@@ -7,8 +7,10 @@
 
 package edu.wpi.first.wpilibj.kinematics;
 
+import edu.wpi.first.wpilibj.Clock;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
 import edu.wpi.first.wpilibj.geometry.Twist2d;
 
 /**
@@ -27,6 +29,8 @@ public class SwerveDriveOdometry {
 
   private Rotation2d m_previousAngle;
 
+  private final PoseHistory m_poseHistory = new PoseHistory();
+
   /**
    * Constructs a SwerveDriveOdometry object.
    *
@@ -56,6 +60,7 @@ public class SwerveDriveOdometry {
   public void resetPosition(Pose2d pose) {
     m_poseMeters = pose;
     m_previousAngle = pose.getRotation();
+    m_poseHistory.clear();
   }
 
   /**
@@ -66,6 +71,41 @@ public class SwerveDriveOdometry {
     return m_poseMeters;
   }
 
+  /**
+   * Returns the history of poses recorded by each update, indexed by the
+   * timestamps passed to {@link #updateWithTime updateWithTime}. The history is
+   * cleared when the position is reset.
+   *
+   * @return The pose history.
+   */
+  public PoseHistory getPoseHistory() {
+    return m_poseHistory;
+  }
+
+  /**
+   * Corrects the position of the robot at a past time, such as when a vision
+   * measurement is received some time after it was captured, and replays the
+   * motion recorded since then from the corrected position. The timestamp must
+   * use the same time base as {@link #updateWithTime updateWithTime}.
+   *
+   * <p>Only the translation is corrected, because the heading of the robot
+   * always comes from the gyro angle passed to the update methods.
+   *
+   * @param timestampSeconds  The time the position was measured at.
+   * @param translationMeters The position of the robot at that time.
+   * @return The new pose of the robot. This is unchanged if the time is older
+   *         than the pose history.
+   */
+  public Pose2d correctTranslation(double timestampSeconds, Translation2d translationMeters) {
+    if (m_poseHistory.correctTranslation(timestampSeconds, translationMeters.getX(),
+        translationMeters.getY())) {
+      int latest = m_poseHistory.size() - 1;
+      m_poseMeters = new Pose2d(m_poseHistory.getXMeters(latest),
+          m_poseHistory.getYMeters(latest), m_poseMeters.getRotation());
+    }
+    return m_poseMeters;
+  }
+
   /**
    * Updates the robot's position on the field using forward kinematics and
    * integration of the pose over time. This method takes in the current time as
@@ -94,14 +134,15 @@ public class SwerveDriveOdometry {
 
     m_previousAngle = angle;
     m_poseMeters = new Pose2d(newPose.getTranslation(), angle);
+    m_poseHistory.add(currentTimeSeconds, m_poseMeters);
 
     return m_poseMeters;
   }
 
   /**
    * Updates the robot's position on the field using forward kinematics and
-   * integration of the pose over time. This method automatically calculates the
-   * current time to calculate period (difference between two timestamps). The
+   * integration of the pose over time. This method reads the current time from
+   * the default {@link Clock} to calculate period (difference between two timestamps). The
    * period is used to calculate the change in distance from a velocity. This
    * also takes in an angle parameter which is used instead of the angular
    * rate that is calculated from forward kinematics.
@@ -113,6 +154,6 @@ public class SwerveDriveOdometry {
    * @return The new pose of the robot.
    */
   public Pose2d update(Rotation2d angle, SwerveModuleState... moduleStates) {
-    return updateWithTime(System.currentTimeMillis() / 1000.0, angle, moduleStates);
+    return updateWithTime(Clock.getDefault().getSeconds(), angle, moduleStates);
   }
 }
@@ -13,6 +13,9 @@ public class CubicHermiteSpline extends Spline {
   private static SimpleMatrix hermiteBasis;
   private final SimpleMatrix m_coefficients;
 
+  // Row-major copy of the coefficients matrix used for fast evaluation.
+  private final double[] m_coefficientArray;
+
   /**
    * Constructs a cubic hermite spline with the specified control vectors. Each
    * control vector contains info about the location of the point and its first
@@ -52,10 +55,34 @@ public class CubicHermiteSpline extends Spline {
       // Then populate row 4 and 5 with the second derivatives.
       m_coefficients.set(2, i, m_coefficients.get(0, i) * (3 - i));
       m_coefficients.set(3, i, m_coefficients.get(1, i) * (3 - i));
-      m_coefficients.set(4, i, m_coefficients.get(2, i) * (3 - i));
-      m_coefficients.set(5, i, m_coefficients.get(3, i) * (3 - i));
+      m_coefficients.set(4, i, m_coefficients.get(2, i) * (2 - i));
+      m_coefficients.set(5, i, m_coefficients.get(3, i) * (2 - i));
     }
 
+    m_coefficientArray = m_coefficients.getDDRM().getData().clone();
+  }
+
+  /**
+   * Gets the pose and curvature at some point t on the spline and writes them
+   * into the given sample. This evaluates the polynomials with an unrolled
+   * form of Horner's method.
+   *
+   * @param t      The point t
+   * @param sample The sample to write the pose and curvature into.
+   */
+  @Override
+  @SuppressWarnings({"ParameterName", "LocalVariableName"})
+  public void getPoint(double t, SplineSample sample) {
+    final double[] c = m_coefficientArray;
+
+    final double x = ((c[0] * t + c[1]) * t + c[2]) * t + c[3];
+    final double y = ((c[4] * t + c[5]) * t + c[6]) * t + c[7];
+    final double dx = (c[8] * t + c[9]) * t + c[10];
+    final double dy = (c[12] * t + c[13]) * t + c[14];
+    final double ddx = c[16] * t + c[17];
+    final double ddy = c[20] * t + c[21];
+
+    setSample(sample, x, y, dx, dy, ddx, ddy);
   }
 
   /**
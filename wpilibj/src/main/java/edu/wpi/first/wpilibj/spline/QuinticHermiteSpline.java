@@ -13,6 +13,9 @@ public class QuinticHermiteSpline extends Spline {
   private static SimpleMatrix hermiteBasis;
   private final SimpleMatrix m_coefficients;
 
+  // Row-major copy of the coefficients matrix used for fast evaluation.
+  private final double[] m_coefficientArray;
+
   /**
    * Constructs a quintic hermite spline with the specified control vectors.
    * Each control vector contains into about the location of the point, its
@@ -52,9 +55,34 @@ public class QuinticHermiteSpline extends Spline {
       // Then populate row 4 and 5 with the second derivatives.
       m_coefficients.set(2, i, m_coefficients.get(0, i) * (5 - i));
       m_coefficients.set(3, i, m_coefficients.get(1, i) * (5 - i));
-      m_coefficients.set(4, i, m_coefficients.get(2, i) * (5 - i));
-      m_coefficients.set(5, i, m_coefficients.get(3, i) * (5 - i));
+      m_coefficients.set(4, i, m_coefficients.get(2, i) * (4 - i));
+      m_coefficients.set(5, i, m_coefficients.get(3, i) * (4 - i));
     }
+
+    m_coefficientArray = m_coefficients.getDDRM().getData().clone();
+  }
+
+  /**
+   * Gets the pose and curvature at some point t on the spline and writes them
+   * into the given sample. This evaluates the polynomials with an unrolled
+   * form of Horner's method.
+   *
+   * @param t      The point t
+   * @param sample The sample to write the pose and curvature into.
+   */
+  @Override
+  @SuppressWarnings({"ParameterName", "LocalVariableName"})
+  public void getPoint(double t, SplineSample sample) {
+    final double[] c = m_coefficientArray;
+
+    final double x = ((((c[0] * t + c[1]) * t + c[2]) * t + c[3]) * t + c[4]) * t + c[5];
+    final double y = ((((c[6] * t + c[7]) * t + c[8]) * t + c[9]) * t + c[10]) * t + c[11];
+    final double dx = (((c[12] * t + c[13]) * t + c[14]) * t + c[15]) * t + c[16];
+    final double dy = (((c[18] * t + c[19]) * t + c[20]) * t + c[21]) * t + c[22];
+    final double ddx = ((c[24] * t + c[25]) * t + c[26]) * t + c[27];
+    final double ddy = ((c[30] * t + c[31]) * t + c[32]) * t + c[33];
+
+    setSample(sample, x, y, dx, dy, ddx, ddy);
   }
 
   /**
@@ -9,9 +9,6 @@ package edu.wpi.first.wpilibj.spline;
 
 import org.ejml.simple.SimpleMatrix;
 
-import edu.wpi.first.wpilibj.geometry.Pose2d;
-import edu.wpi.first.wpilibj.geometry.Rotation2d;
-
 /**
  * Represents a two-dimensional parametric spline that interpolates between two
  * points.
@@ -43,49 +40,81 @@ public abstract class Spline {
    */
   @SuppressWarnings("ParameterName")
   public PoseWithCurvature getPoint(double t) {
-    SimpleMatrix polynomialBases = new SimpleMatrix(m_degree + 1, 1);
-    final var coefficients = getCoefficients();
+    final var sample = new SplineSample();
+    getPoint(t, sample);
+    return sample.toPoseWithCurvature();
+  }
+
+  /**
+   * Gets the pose and curvature at some point t on the spline and writes them
+   * into the given sample. Unlike {@link #getPoint(double)}, this does not
+   * allocate any objects.
+   *
+   * @param t      The point t
+   * @param sample The sample to write the pose and curvature into.
+   */
+  @SuppressWarnings({"ParameterName", "LocalVariableName"})
+  public void getPoint(double t, SplineSample sample) {
+    // Each row of the coefficients matrix is a polynomial in t with the highest
+    // power first. Rows 2 through 5 are the derivatives with t already divided
+    // out, so they have one or two fewer terms respectively.
+    final double[] coefficients = getCoefficients().getDDRM().getData();
+    final int columns = m_degree + 1;
 
-    // Populate the polynomial bases.
-    for (int i = 0; i <= m_degree; i++) {
-      polynomialBases.set(i, 0, Math.pow(t, m_degree - i));
+    double x = 0.0;
+    double y = 0.0;
+    double dx = 0.0;
+    double dy = 0.0;
+    double ddx = 0.0;
+    double ddy = 0.0;
+
+    // Evaluate each polynomial with Horner's method.
+    for (int i = 0; i < columns; i++) {
+      x = x * t + coefficients[i];
+      y = y * t + coefficients[columns + i];
+    }
+    for (int i = 0; i < columns - 1; i++) {
+      dx = dx * t + coefficients[2 * columns + i];
+      dy = dy * t + coefficients[3 * columns + i];
+    }
+    for (int i = 0; i < columns - 2; i++) {
+      ddx = ddx * t + coefficients[4 * columns + i];
+      ddy = ddy * t + coefficients[5 * columns + i];
     }
 
-    // This simply multiplies by the coefficients. We need to divide out t some
-    // n number of times where n is the derivative we want to take.
-    SimpleMatrix combined = coefficients.mult(polynomialBases);
+    setSample(sample, x, y, dx, dy, ddx, ddy);
+  }
 
-    // Get x and y
-    final double x = combined.get(0, 0);
-    final double y = combined.get(1, 0);
+  /**
+   * Writes the pose and curvature described by the given position and
+   * derivatives into a sample.
+   *
+   * @param sample The sample to write into.
+   * @param x      The x position.
+   * @param y      The y position.
+   * @param dx     The first derivative of x.
+   * @param dy     The first derivative of y.
+   * @param ddx    The second derivative of x.
+   * @param ddy    The second derivative of y.
+   */
+  @SuppressWarnings("ParameterName")
+  static void setSample(SplineSample sample, double x, double y, double dx, double dy,
+                        double ddx, double ddy) {
+    final double magnitude = Math.hypot(dx, dy);
 
-    double dx;
-    double dy;
-    double ddx;
-    double ddy;
+    sample.xMeters = x;
+    sample.yMeters = y;
 
-    if (t == 0) {
-      dx = coefficients.get(2, m_degree - 1);
-      dy = coefficients.get(3, m_degree - 1);
-      ddx = coefficients.get(4, m_degree - 2);
-      ddy = coefficients.get(5, m_degree - 2);
+    // Match the normalization done by the Rotation2d constructor.
+    if (magnitude > 1e-6) {
+      sample.cos = dx / magnitude;
+      sample.sin = dy / magnitude;
     } else {
-      // Divide out t once for first derivative.
-      dx = combined.get(2, 0) / t;
-      dy = combined.get(3, 0) / t;
-
-      // Divide out t twice for second derivative.
-      ddx = combined.get(4, 0) / t / t;
-      ddy = combined.get(5, 0) / t / t;
+      sample.cos = 1.0;
+      sample.sin = 0.0;
     }
 
     // Find the curvature.
-    final double curvature =
-        (dx * ddy - ddx * dy) / ((dx * dx + dy * dy) * Math.hypot(dx, dy));
-
-    return new PoseWithCurvature(
-        new Pose2d(x, y, new Rotation2d(dx, dy)),
-        curvature
-    );
+    sample.curvatureRadPerMeter = (dx * ddy - ddx * dy) / ((dx * dx + dy * dy) * magnitude);
   }
 }
@@ -31,7 +31,7 @@
 
 package edu.wpi.first.wpilibj.spline;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -42,6 +42,60 @@ public final class SplineParameterizer {
   private static final double kMaxDy = 0.00127;
   private static final double kMaxDtheta = 0.0872;
 
+  // The number of times an arc can be halved before the spline is considered
+  // malformed. An arc this deep is less than a billionth of the spline.
+  private static final int kMaxDepth = 32;
+
+  /**
+   * The tolerances used by {@link #parameterize(Spline)}.
+   */
+  public static final Tolerances kDefaultTolerances =
+      new Tolerances(kMaxDx, kMaxDy, kMaxDtheta);
+
+  /**
+   * The maximum allowed change between consecutive points of a parameterized
+   * spline. Each arc between points is subdivided until the twist between its
+   * endpoints is within these tolerances, so larger tolerances produce fewer
+   * points and are faster to generate.
+   */
+  @SuppressWarnings("MemberName")
+  public static class Tolerances {
+    public final double maxDx;
+    public final double maxDy;
+    public final double maxDtheta;
+
+    /**
+     * Constructs a set of parameterization tolerances.
+     *
+     * @param maxDx     The maximum forward distance between points in meters.
+     * @param maxDy     The maximum sideways distance between points in meters.
+     * @param maxDtheta The maximum heading change between points in radians.
+     */
+    public Tolerances(double maxDx, double maxDy, double maxDtheta) {
+      if (!(maxDx > 0.0 && maxDy > 0.0 && maxDtheta > 0.0)) {
+        throw new IllegalArgumentException("Tolerances must be positive");
+      }
+      this.maxDx = maxDx;
+      this.maxDy = maxDy;
+      this.maxDtheta = maxDtheta;
+    }
+  }
+
+  /**
+   * Thrown when a spline can't be parameterized within the tolerances, such as
+   * one with a cusp where the heading reverses.
+   */
+  public static class MalformedSplineException extends RuntimeException {
+    /**
+     * Create a new exception with the given message.
+     *
+     * @param message the message to pass with the exception
+     */
+    public MalformedSplineException(String message) {
+      super(message);
+    }
+  }
+
   /**
    * Private constructor because this is a utility class.
    */
@@ -69,38 +123,143 @@ public final class SplineParameterizer {
    * @return A vector of poses and curvatures that represents various points on the spline.
    */
   public static List<PoseWithCurvature> parameterize(Spline spline, double t0, double t1) {
-    var arr = new ArrayList<PoseWithCurvature>();
+    return parameterize(spline, t0, t1, kDefaultTolerances);
+  }
+
+  /**
+   * Parameterizes the spline. This method breaks up the spline into various
+   * arcs until their dx, dy, and dtheta are within the given tolerances.
+   *
+   * @param spline     The spline to parameterize.
+   * @param t0         Starting internal spline parameter. It is recommended to use 0.0.
+   * @param t1         Ending internal spline parameter. It is recommended to use 1.0.
+   * @param tolerances The tolerances that each arc must be within.
+   * @return A vector of poses and curvatures that represents various points on the spline.
+   * @throws MalformedSplineException When the spline can't be parameterized within the
+   *                                  tolerances.
+   */
+  public static List<PoseWithCurvature> parameterize(Spline spline, double t0, double t1,
+                                                     Tolerances tolerances) {
+    var points = new SplineSampleBuffer();
 
     // The parameterization does not add the first initial point. Let's add
     // that.
-    arr.add(spline.getPoint(t0));
+    var start = new SplineSample();
+    spline.getPoint(t0, start);
+    points.add(start);
 
-    getSegmentArc(spline, arr, t0, t1);
-    return arr;
+    appendPoints(spline, t0, t1, tolerances, points);
+    return points.toList();
   }
 
   /**
-   * Breaks up the spline into arcs until the dx, dy, and theta of each arc is
-   * within tolerance.
+   * Parameterizes the spline and appends the resulting points to the given
+   * buffer. Unlike {@link #parameterize(Spline, double, double, Tolerances)},
+   * the point at t0 is not added, so consecutive splines can be appended to the
+   * same buffer without duplicating the points where they meet.
    *
-   * @param spline The spline to parameterize.
-   * @param vector Pointer to vector of poses.
-   * @param t0     Starting point for arc.
-   * @param t1     Ending point for arc.
+   * <p>The spline is subdivided depth-first with an explicit stack. The start
+   * of the arc being checked is always the last point that was appended and the
+   * end of the arc is cached on the stack, so every point on the spline is only
+   * evaluated once.
+   *
+   * @param spline     The spline to parameterize.
+   * @param t0         Starting internal spline parameter.
+   * @param t1         Ending internal spline parameter.
+   * @param tolerances The tolerances that each arc must be within.
+   * @param points     The buffer to append the points to.
+   * @throws MalformedSplineException When the spline can't be parameterized within the
+   *                                  tolerances.
    */
-  private static void getSegmentArc(Spline spline, List<PoseWithCurvature> vector,
-                                    double t0, double t1) {
-    final var start = spline.getPoint(t0);
-    final var end = spline.getPoint(t1);
+  public static void appendPoints(Spline spline, double t0, double t1, Tolerances tolerances,
+                                  SplineSampleBuffer points) {
+    var start = new SplineSample();
+    var end = new SplineSample();
+
+    spline.getPoint(t0, start);
+    double startParameter = t0;
 
-    final var twist = start.poseMeters.log(end.poseMeters);
+    // The stack holds the end parameter and end sample of each pending arc.
+    // The arc on top of the stack always begins at the last appended point.
+    var endSamples = new SplineSampleBuffer(16);
+    double[] endParameters = new double[16];
+    spline.getPoint(t1, end);
+    endSamples.add(end);
+    endParameters[0] = t1;
+
+    while (!endSamples.isEmpty()) {
+      final int top = endSamples.size() - 1;
+      final double endParameter = endParameters[top];
+      endSamples.get(top, end);
+
+      if (isWithinTolerance(start, end, tolerances)) {
+        endSamples.removeLast();
+        points.add(end);
+        start.set(end);
+        startParameter = endParameter;
+      } else {
+        // Check the first half of the arc next. The second half stays on the
+        // stack with its end sample already evaluated.
+        if (top + 1 == kMaxDepth) {
+          throw new MalformedSplineException(
+              "Could not parameterize a malformed spline. This means that you probably had two or"
+              + " more adjacent waypoints that were very close together with headings in"
+              + " opposing directions.");
+        }
+        final double midParameter = (startParameter + endParameter) / 2;
+        spline.getPoint(midParameter, end);
+
+        if (top + 1 == endParameters.length) {
+          endParameters = Arrays.copyOf(endParameters, endParameters.length * 2);
+        }
+        endSamples.add(end);
+        endParameters[top + 1] = midParameter;
+      }
+    }
+  }
 
-    if (Math.abs(twist.dy) > kMaxDy || Math.abs(twist.dx) > kMaxDx
-        || Math.abs(twist.dtheta) > kMaxDtheta) {
-      getSegmentArc(spline, vector, t0, (t0 + t1) / 2);
-      getSegmentArc(spline, vector, (t0 + t1) / 2, t1);
+  /**
+   * Returns whether the twist between two samples is within the dx, dy, and
+   * dtheta tolerances. This is equivalent to checking the result of
+   * {@link edu.wpi.first.wpilibj.geometry.Pose2d#log} without allocating.
+   *
+   * @param start      The start of the arc.
+   * @param end        The end of the arc.
+   * @param tolerances The tolerances to check against.
+   * @return Whether the arc is within tolerance.
+   */
+  private static boolean isWithinTolerance(SplineSample start, SplineSample end,
+                                           Tolerances tolerances) {
+    // Transform the end into the frame of the start.
+    final double deltaX = end.xMeters - start.xMeters;
+    final double deltaY = end.yMeters - start.yMeters;
+    final double transformX = deltaX * start.cos + deltaY * start.sin;
+    final double transformY = -deltaX * start.sin + deltaY * start.cos;
+    final double cos = end.cos * start.cos + end.sin * start.sin;
+    final double sin = end.sin * start.cos - end.cos * start.sin;
+
+    final double dtheta = Math.atan2(sin, cos);
+    if (Math.abs(dtheta) > tolerances.maxDtheta) {
+      return false;
+    }
+
+    final double halfDtheta = dtheta / 2.0;
+    final double cosMinusOne = cos - 1;
+
+    double halfThetaByTanOfHalfDtheta;
+    if (Math.abs(cosMinusOne) < 1E-9) {
+      halfThetaByTanOfHalfDtheta = 1.0 - 1.0 / 12.0 * dtheta * dtheta;
     } else {
-      vector.add(spline.getPoint(t1));
+      halfThetaByTanOfHalfDtheta = -(halfDtheta * sin) / cosMinusOne;
     }
+
+    // Rotate the translation by -halfDtheta after scaling, as in Pose2d.log.
+    final double scale = Math.hypot(halfThetaByTanOfHalfDtheta, halfDtheta);
+    final double rotCos = halfThetaByTanOfHalfDtheta / scale;
+    final double rotSin = -halfDtheta / scale;
+    final double dx = (transformX * rotCos - transformY * rotSin) * scale;
+    final double dy = (transformX * rotSin + transformY * rotCos) * scale;
+
+    return Math.abs(dx) <= tolerances.maxDx && Math.abs(dy) <= tolerances.maxDy;
   }
 }
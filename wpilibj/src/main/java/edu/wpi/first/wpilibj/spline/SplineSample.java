@@ -0,0 +1,71 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.spline;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+/**
+ * Mutable pose and curvature at a point on a spline. This is filled in by
+ * {@link Spline#getPoint(double, SplineSample)} so that a spline can be sampled
+ * repeatedly without allocating new geometry objects.
+ *
+ * <p>The heading is stored as its cosine and sine so that no trigonometric
+ * functions need to be evaluated when sampling.
+ */
+@SuppressWarnings("MemberName")
+public class SplineSample {
+  // Represents the x position of the sample.
+  public double xMeters;
+
+  // Represents the y position of the sample.
+  public double yMeters;
+
+  // Represents the cosine of the heading of the sample.
+  public double cos = 1.0;
+
+  // Represents the sine of the heading of the sample.
+  public double sin;
+
+  // Represents the curvature of the sample.
+  public double curvatureRadPerMeter;
+
+  /**
+   * Returns the heading of the sample in radians.
+   *
+   * @return The heading of the sample in radians.
+   */
+  public double getHeadingRadians() {
+    return Math.atan2(sin, cos);
+  }
+
+  /**
+   * Copies the contents of another sample into this one.
+   *
+   * @param other The sample to copy.
+   */
+  public void set(SplineSample other) {
+    xMeters = other.xMeters;
+    yMeters = other.yMeters;
+    cos = other.cos;
+    sin = other.sin;
+    curvatureRadPerMeter = other.curvatureRadPerMeter;
+  }
+
+  /**
+   * Converts this sample into an immutable pose and curvature.
+   *
+   * @return The pose and curvature represented by this sample.
+   */
+  public PoseWithCurvature toPoseWithCurvature() {
+    return new PoseWithCurvature(
+        new Pose2d(xMeters, yMeters, new Rotation2d(cos, sin)),
+        curvatureRadPerMeter
+    );
+  }
+}
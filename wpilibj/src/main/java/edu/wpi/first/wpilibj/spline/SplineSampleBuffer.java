@@ -0,0 +1,222 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.spline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A growable list of spline samples stored in parallel primitive arrays.
+ *
+ * <p>This is used by {@link SplineParameterizer} to collect the points of a
+ * parameterized spline without allocating an object per point. Use
+ * {@link #toList()} to convert the points into {@link PoseWithCurvature}
+ * objects when they are needed.
+ */
+@SuppressWarnings("MemberName")
+public class SplineSampleBuffer {
+  private static final int kDefaultCapacity = 64;
+
+  private double[] m_xMeters;
+  private double[] m_yMeters;
+  private double[] m_cos;
+  private double[] m_sin;
+  private double[] m_curvatureRadPerMeter;
+  private int m_size;
+
+  /**
+   * Constructs an empty buffer with a default initial capacity.
+   */
+  public SplineSampleBuffer() {
+    this(kDefaultCapacity);
+  }
+
+  /**
+   * Constructs an empty buffer.
+   *
+   * @param initialCapacity The number of samples the buffer can hold before it
+   *                        needs to grow.
+   */
+  public SplineSampleBuffer(int initialCapacity) {
+    if (initialCapacity < 1) {
+      throw new IllegalArgumentException("Initial capacity must be positive");
+    }
+    m_xMeters = new double[initialCapacity];
+    m_yMeters = new double[initialCapacity];
+    m_cos = new double[initialCapacity];
+    m_sin = new double[initialCapacity];
+    m_curvatureRadPerMeter = new double[initialCapacity];
+  }
+
+  /**
+   * Returns the number of samples in the buffer.
+   *
+   * @return The number of samples in the buffer.
+   */
+  public int size() {
+    return m_size;
+  }
+
+  /**
+   * Returns whether the buffer is empty.
+   *
+   * @return Whether the buffer is empty.
+   */
+  public boolean isEmpty() {
+    return m_size == 0;
+  }
+
+  /**
+   * Removes all samples from the buffer. The capacity is retained so the
+   * buffer can be reused without allocating.
+   */
+  public void clear() {
+    m_size = 0;
+  }
+
+  /**
+   * Appends a sample to the end of the buffer.
+   *
+   * @param sample The sample to append.
+   */
+  public void add(SplineSample sample) {
+    if (m_size == m_xMeters.length) {
+      grow(m_size * 2);
+    }
+    m_xMeters[m_size] = sample.xMeters;
+    m_yMeters[m_size] = sample.yMeters;
+    m_cos[m_size] = sample.cos;
+    m_sin[m_size] = sample.sin;
+    m_curvatureRadPerMeter[m_size] = sample.curvatureRadPerMeter;
+    m_size++;
+  }
+
+  /**
+   * Appends all samples from another buffer to the end of this buffer.
+   *
+   * @param other The buffer to append.
+   */
+  public void addAll(SplineSampleBuffer other) {
+    final int size = m_size + other.m_size;
+    if (size > m_xMeters.length) {
+      grow(Math.max(size, m_xMeters.length * 2));
+    }
+    System.arraycopy(other.m_xMeters, 0, m_xMeters, m_size, other.m_size);
+    System.arraycopy(other.m_yMeters, 0, m_yMeters, m_size, other.m_size);
+    System.arraycopy(other.m_cos, 0, m_cos, m_size, other.m_size);
+    System.arraycopy(other.m_sin, 0, m_sin, m_size, other.m_size);
+    System.arraycopy(other.m_curvatureRadPerMeter, 0, m_curvatureRadPerMeter, m_size,
+        other.m_size);
+    m_size = size;
+  }
+
+  /**
+   * Removes the last sample from the buffer.
+   */
+  public void removeLast() {
+    if (m_size == 0) {
+      throw new IllegalStateException("Buffer is empty");
+    }
+    m_size--;
+  }
+
+  /**
+   * Copies the sample at the given index into a mutable sample.
+   *
+   * @param index  The index of the sample.
+   * @param sample The sample to copy into.
+   */
+  public void get(int index, SplineSample sample) {
+    Objects.checkIndex(index, m_size);
+    sample.xMeters = m_xMeters[index];
+    sample.yMeters = m_yMeters[index];
+    sample.cos = m_cos[index];
+    sample.sin = m_sin[index];
+    sample.curvatureRadPerMeter = m_curvatureRadPerMeter[index];
+  }
+
+  /**
+   * Returns the x position of the sample at the given index.
+   *
+   * @param index The index of the sample.
+   * @return The x position of the sample.
+   */
+  public double getXMeters(int index) {
+    Objects.checkIndex(index, m_size);
+    return m_xMeters[index];
+  }
+
+  /**
+   * Returns the y position of the sample at the given index.
+   *
+   * @param index The index of the sample.
+   * @return The y position of the sample.
+   */
+  public double getYMeters(int index) {
+    Objects.checkIndex(index, m_size);
+    return m_yMeters[index];
+  }
+
+  /**
+   * Returns the cosine of the heading of the sample at the given index.
+   *
+   * @param index The index of the sample.
+   * @return The cosine of the heading of the sample.
+   */
+  public double getCos(int index) {
+    Objects.checkIndex(index, m_size);
+    return m_cos[index];
+  }
+
+  /**
+   * Returns the sine of the heading of the sample at the given index.
+   *
+   * @param index The index of the sample.
+   * @return The sine of the heading of the sample.
+   */
+  public double getSin(int index) {
+    Objects.checkIndex(index, m_size);
+    return m_sin[index];
+  }
+
+  /**
+   * Returns the curvature of the sample at the given index.
+   *
+   * @param index The index of the sample.
+   * @return The curvature of the sample.
+   */
+  public double getCurvatureRadPerMeter(int index) {
+    Objects.checkIndex(index, m_size);
+    return m_curvatureRadPerMeter[index];
+  }
+
+  /**
+   * Converts the samples in the buffer into a list of poses and curvatures.
+   *
+   * @return The samples in the buffer as poses and curvatures.
+   */
+  public List<PoseWithCurvature> toList() {
+    var list = new ArrayList<PoseWithCurvature>(m_size);
+    var sample = new SplineSample();
+    for (int i = 0; i < m_size; i++) {
+      get(i, sample);
+      list.add(sample.toPoseWithCurvature());
+    }
+    return list;
+  }
+
+  private void grow(int capacity) {
+    m_xMeters = Arrays.copyOf(m_xMeters, capacity);
+    m_yMeters = Arrays.copyOf(m_yMeters, capacity);
+    m_cos = Arrays.copyOf(m_cos, capacity);
+    m_sin = Arrays.copyOf(m_sin, capacity);
+    m_curvatureRadPerMeter = Arrays.copyOf(m_curvatureRadPerMeter, capacity);
+  }
+}
@@ -0,0 +1,611 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
+import edu.wpi.first.wpilibj.trajectory.constraint.BatchTrajectoryConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+/**
+ * Parameterizes trajectories by time, remembering the velocity profile of the
+ * last trajectory so that a path that has only changed in part can be
+ * re-parameterized without redoing the whole path.
+ *
+ * <p>This uses the same algorithm as
+ * {@link TrajectoryParameterizer#timeParameterizeTrajectory(List, List, double, double, double,
+ * double, boolean)}. After some points of a path change, for example because a
+ * waypoint was moved, {@link #reparameterize(List, int, int)} re-runs the
+ * forward pass from the first changed point and the backward pass from the
+ * last point that the forward pass changed, stopping each pass as soon as it
+ * reaches a point whose result is the same as before. Since the passes only
+ * spread changes a limited distance (until the robot is back at its velocity
+ * limit), the cost is proportional to the changed region rather than the
+ * length of the path.
+ *
+ * <p>Constraints that implement {@link BatchTrajectoryConstraint} have their
+ * max velocities evaluated for all of the new points at once before the passes
+ * start, instead of once per iteration of the passes.
+ */
+public class IncrementalTrajectoryParameterizer {
+  // Constraints that are evaluated one point at a time, and constraints that
+  // are evaluated for many points at once.
+  private final List<TrajectoryConstraint> m_constraints = new ArrayList<>();
+  private final List<BatchTrajectoryConstraint> m_batchConstraints = new ArrayList<>();
+  private final double m_startVelocityMetersPerSecond;
+  private final double m_endVelocityMetersPerSecond;
+  private final double m_maxVelocityMetersPerSecond;
+  private final double m_maxAccelerationMetersPerSecondSq;
+  private final boolean m_reversed;
+
+  // The profile of the last parameterized path, and a spare profile that the
+  // next result is written into before they are swapped.
+  private Profile m_profile = new Profile();
+  private Profile m_spareProfile = new Profile();
+  private boolean m_hasProfile;
+
+  // The acceleration limits of the current point, narrowed by
+  // enforceAccelerationLimits().
+  private double m_minAccelerationLimitMetersPerSecondSq;
+  private double m_maxAccelerationLimitMetersPerSecondSq;
+
+  // Arguments and results for batch constraints, indexed by point.
+  private double[] m_batchVelocitiesMetersPerSecond = new double[0];
+  private double[] m_batchMaxVelocitiesMetersPerSecond = new double[0];
+  private double[] m_batchMinAccelerationsMetersPerSecondSq = new double[0];
+  private double[] m_batchMaxAccelerationsMetersPerSecondSq = new double[0];
+
+  /**
+   * Constructs an IncrementalTrajectoryParameterizer.
+   *
+   * @param constraints                      A vector of various velocity and acceleration.
+   *                                         constraints.
+   * @param startVelocityMetersPerSecond     The start velocity for the trajectory.
+   * @param endVelocityMetersPerSecond       The end velocity for the trajectory.
+   * @param maxVelocityMetersPerSecond       The max velocity for the trajectory.
+   * @param maxAccelerationMetersPerSecondSq The max acceleration for the trajectory.
+   * @param reversed                         Whether the robot should move backwards.
+   *                                         Note that the robot will still move from
+   *                                         a -&gt; b -&gt; ... -&gt; z as defined in the
+   *                                         waypoints.
+   */
+  public IncrementalTrajectoryParameterizer(
+      List<TrajectoryConstraint> constraints,
+      double startVelocityMetersPerSecond,
+      double endVelocityMetersPerSecond,
+      double maxVelocityMetersPerSecond,
+      double maxAccelerationMetersPerSecondSq,
+      boolean reversed
+  ) {
+    for (final var constraint : constraints) {
+      if (constraint instanceof BatchTrajectoryConstraint) {
+        m_batchConstraints.add((BatchTrajectoryConstraint) constraint);
+      } else {
+        m_constraints.add(constraint);
+      }
+    }
+    m_startVelocityMetersPerSecond = startVelocityMetersPerSecond;
+    m_endVelocityMetersPerSecond = endVelocityMetersPerSecond;
+    m_maxVelocityMetersPerSecond = maxVelocityMetersPerSecond;
+    m_maxAccelerationMetersPerSecondSq = maxAccelerationMetersPerSecondSq;
+    m_reversed = reversed;
+  }
+
+  /**
+   * Parameterizes a path by time from scratch and remembers the result for
+   * later calls to {@link #reparameterize(List, int, int)}.
+   *
+   * @param points The points of the path.
+   * @return The trajectory.
+   */
+  public Trajectory parameterize(List<PoseWithCurvature> points) {
+    final int size = points.size();
+    var profile = m_spareProfile;
+    profile.ensureCapacity(size);
+    profile.m_size = size;
+    packPoints(points, profile, 0, size);
+
+    for (int i = 0; i < size; i++) {
+      forwardStep(points, profile, i);
+    }
+    for (int i = size - 1; i >= 0; i--) {
+      backwardStep(points, profile, i);
+    }
+
+    return finish(points, profile);
+  }
+
+  /**
+   * Re-parameterizes a path after some of its points have changed, reusing the
+   * result of the last call to {@link #parameterize(List)} or this method.
+   *
+   * <p>The points before {@code changedStart} must be the same as the first
+   * points of the previous path, and the points from {@code changedEnd} on must
+   * be the same as the last points of the previous path. The number of changed
+   * points does not need to match the number of points they replaced. If no
+   * path has been parameterized yet, the path is parameterized from scratch.
+   *
+   * @param points       The points of the new path.
+   * @param changedStart The index of the first point that changed.
+   * @param changedEnd   The index after the last point that changed.
+   * @return The trajectory.
+   */
+  @SuppressWarnings("PMD.CyclomaticComplexity")
+  public Trajectory reparameterize(List<PoseWithCurvature> points, int changedStart,
+                                   int changedEnd) {
+    if (!m_hasProfile) {
+      return parameterize(points);
+    }
+
+    final int size = points.size();
+    final var previous = m_profile;
+    final int suffixLength = size - changedEnd;
+    // The index in the previous profile of the first unchanged point after the
+    // changed region.
+    final int previousEnd = previous.m_size - suffixLength;
+    if (changedStart < 0 || changedStart > changedEnd || changedEnd > size
+        || previousEnd < changedStart) {
+      throw new IllegalArgumentException("Changed range [" + changedStart + ", " + changedEnd
+          + ") does not fit in a path of " + size + " points that replaced one of "
+          + previous.m_size + " points");
+    }
+    final int shift = previousEnd - changedEnd;
+
+    var profile = m_spareProfile;
+    profile.ensureCapacity(size);
+    profile.m_size = size;
+
+    // Only the changed points need to be packed, along with the segment that
+    // leads into the unchanged suffix.
+    profile.copyPoints(previous, 0, 0, changedStart);
+    profile.copyPoints(previous, previousEnd, changedEnd, suffixLength);
+    packPoints(points, profile, changedStart, changedEnd);
+    if (changedEnd < size) {
+      profile.m_segmentLengthMeters[changedEnd] = profile.getSegmentLengthMeters(changedEnd);
+    }
+
+    // The forward pass of the unchanged prefix is the same as before.
+    profile.copyForward(previous, 0, 0, changedStart);
+
+    // Redo the forward pass from the first changed point until it converges
+    // with the previous forward pass in the unchanged suffix. Once the
+    // predecessor of a point matches, every later point will too.
+    int forwardEnd = size;
+    for (int i = changedStart; i < size; i++) {
+      if (i - 1 >= changedEnd && profile.forwardMatches(i - 1, previous, i - 1 + shift)) {
+        forwardEnd = i - 1;
+        break;
+      }
+      forwardStep(points, profile, i);
+    }
+    if (forwardEnd < size) {
+      profile.copyForward(previous, forwardEnd + shift, forwardEnd, size - forwardEnd);
+
+      // Points whose forward pass did not change also have the same backward
+      // pass, since the backward pass starts from the end.
+      profile.copyBackward(previous, forwardEnd + shift, forwardEnd, size - forwardEnd);
+    }
+
+    // Redo the backward pass from the last point whose forward pass changed
+    // until it converges with the previous backward pass in the unchanged
+    // prefix.
+    for (int i = forwardEnd - 1; i >= 0; i--) {
+      if (i + 1 < changedStart && profile.backwardMatches(i + 1, previous, i + 1)) {
+        profile.copyBackward(previous, 0, 0, i + 1);
+        break;
+      }
+      backwardStep(points, profile, i);
+    }
+
+    return finish(points, profile);
+  }
+
+  /**
+   * Copies the positions and curvatures of a range of points into a profile,
+   * and computes their segment lengths and the max velocities allowed by the
+   * batch constraints.
+   */
+  private void packPoints(List<PoseWithCurvature> points, Profile profile, int start, int end) {
+    for (int i = start; i < end; i++) {
+      final var point = points.get(i);
+      profile.m_xMeters[i] = point.poseMeters.getTranslation().getX();
+      profile.m_yMeters[i] = point.poseMeters.getTranslation().getY();
+      profile.m_headingRadians[i] = point.poseMeters.getRotation().getRadians();
+      profile.m_curvatureRadPerMeter[i] = point.curvatureRadPerMeter;
+    }
+    for (int i = start; i < end; i++) {
+      profile.m_segmentLengthMeters[i] = profile.getSegmentLengthMeters(i);
+    }
+
+    Arrays.fill(profile.m_velocityLimitMetersPerSecond, start, end, m_maxVelocityMetersPerSecond);
+    if (m_batchConstraints.isEmpty()) {
+      return;
+    }
+    ensureBatchCapacity(profile.m_size);
+    for (final var constraint : m_batchConstraints) {
+      Arrays.fill(m_batchVelocitiesMetersPerSecond, start, end, m_maxVelocityMetersPerSecond);
+      constraint.getMaxVelocitiesMetersPerSecond(profile.m_xMeters, profile.m_yMeters,
+          profile.m_headingRadians, profile.m_curvatureRadPerMeter,
+          m_batchVelocitiesMetersPerSecond, m_batchMaxVelocitiesMetersPerSecond, start, end);
+      for (int i = start; i < end; i++) {
+        profile.m_velocityLimitMetersPerSecond[i] = Math.min(
+            profile.m_velocityLimitMetersPerSecond[i], m_batchMaxVelocitiesMetersPerSecond[i]);
+      }
+    }
+  }
+
+  private void ensureBatchCapacity(int capacity) {
+    if (m_batchVelocitiesMetersPerSecond.length < capacity) {
+      m_batchVelocitiesMetersPerSecond = new double[capacity];
+      m_batchMaxVelocitiesMetersPerSecond = new double[capacity];
+      m_batchMinAccelerationsMetersPerSecondSq = new double[capacity];
+      m_batchMaxAccelerationsMetersPerSecondSq = new double[capacity];
+    }
+  }
+
+  /**
+   * Swaps the profiles so that the newly computed one is remembered, and
+   * integrates it to get the trajectory.
+   */
+  private Trajectory finish(List<PoseWithCurvature> points, Profile profile) {
+    m_spareProfile = m_profile;
+    m_profile = profile;
+    m_hasProfile = true;
+    return integrate(points, profile);
+  }
+
+  /**
+   * Runs the forward pass for a point, which limits its velocity by the
+   * constraints and by how fast the robot can accelerate from the previous
+   * point.
+   */
+  private void forwardStep(List<PoseWithCurvature> points, Profile profile, int index) {
+    final double ds = profile.m_segmentLengthMeters[index];
+
+    final double predecessorVelocity;
+    final double predecessorMinAcceleration;
+    double predecessorMaxAcceleration;
+    if (index == 0) {
+      predecessorVelocity = m_startVelocityMetersPerSecond;
+      predecessorMinAcceleration = -m_maxAccelerationMetersPerSecondSq;
+      predecessorMaxAcceleration = m_maxAccelerationMetersPerSecondSq;
+    } else {
+      predecessorVelocity = profile.m_forwardVelocityMetersPerSecond[index - 1];
+      predecessorMinAcceleration = profile.m_forwardMinAccelerationMetersPerSecondSq[index - 1];
+      predecessorMaxAcceleration = profile.m_forwardMaxAccelerationMetersPerSecondSq[index - 1];
+    }
+
+    // We may need to iterate to find the maximum end velocity and common
+    // acceleration, since acceleration limits may be a function of velocity.
+    double velocity;
+    while (true) {
+      // Enforce global max velocity and max reachable velocity by global
+      // acceleration limit. vf = std::sqrt(vi^2 + 2*a*d).
+      velocity = Math.min(m_maxVelocityMetersPerSecond,
+          Math.sqrt(predecessorVelocity * predecessorVelocity
+              + predecessorMaxAcceleration * ds * 2.0));
+
+      // At this point, the constrained state is fully constructed apart from
+      // all the custom-defined user constraints. The batch constraints have
+      // already been evaluated.
+      velocity = Math.min(velocity, profile.m_velocityLimitMetersPerSecond[index]);
+      for (final var constraint : m_constraints) {
+        final var point = points.get(index);
+        velocity = Math.min(velocity, constraint.getMaxVelocityMetersPerSecond(
+            point.poseMeters, point.curvatureRadPerMeter, velocity));
+      }
+
+      // Now enforce all acceleration limits.
+      m_minAccelerationLimitMetersPerSecondSq = -m_maxAccelerationMetersPerSecondSq;
+      m_maxAccelerationLimitMetersPerSecondSq = m_maxAccelerationMetersPerSecondSq;
+      enforceAccelerationLimits(points, profile, index, velocity);
+
+      if (ds < 1E-6) {
+        break;
+      }
+
+      // If the actual acceleration for this state is higher than the max
+      // acceleration that we applied, then we need to reduce the max
+      // acceleration of the predecessor and try again.
+      double actualAcceleration = (velocity * velocity
+          - predecessorVelocity * predecessorVelocity) / (ds * 2.0);
+
+      // If we violate the max acceleration constraint, let's modify the
+      // predecessor.
+      if (m_maxAccelerationLimitMetersPerSecondSq < actualAcceleration - 1E-6) {
+        predecessorMaxAcceleration = m_maxAccelerationLimitMetersPerSecondSq;
+      } else {
+        // Constrain the predecessor's max acceleration to the current
+        // acceleration.
+        if (actualAcceleration > predecessorMinAcceleration) {
+          predecessorMaxAcceleration = actualAcceleration;
+        }
+        // If the actual acceleration is less than the predecessor's min
+        // acceleration, it will be repaired in the backward pass.
+        break;
+      }
+    }
+
+    if (index > 0) {
+      profile.m_finalMaxAccelerationMetersPerSecondSq[index - 1] = predecessorMaxAcceleration;
+    }
+    profile.m_forwardVelocityMetersPerSecond[index] = velocity;
+    profile.m_forwardMinAccelerationMetersPerSecondSq[index] =
+        m_minAccelerationLimitMetersPerSecondSq;
+    profile.m_forwardMaxAccelerationMetersPerSecondSq[index] =
+        m_maxAccelerationLimitMetersPerSecondSq;
+    profile.m_finalMaxAccelerationMetersPerSecondSq[index] =
+        m_maxAccelerationLimitMetersPerSecondSq;
+  }
+
+  /**
+   * Runs the backward pass for a point, which limits its velocity by how fast
+   * the robot can decelerate to the next point.
+   */
+  private void backwardStep(List<PoseWithCurvature> points, Profile profile, int index) {
+    final double successorVelocity;
+    double successorMinAcceleration;
+    final double ds;
+    if (index == profile.m_size - 1) {
+      successorVelocity = m_endVelocityMetersPerSecond;
+      successorMinAcceleration = -m_maxAccelerationMetersPerSecondSq;
+      ds = 0.0;
+    } else {
+      successorVelocity = profile.m_velocityMetersPerSecond[index + 1];
+      successorMinAcceleration = profile.m_minAccelerationMetersPerSecondSq[index + 1];
+      ds = -profile.m_segmentLengthMeters[index + 1]; // negative
+    }
+
+    double velocity = profile.m_forwardVelocityMetersPerSecond[index];
+    m_minAccelerationLimitMetersPerSecondSq =
+        profile.m_forwardMinAccelerationMetersPerSecondSq[index];
+    m_maxAccelerationLimitMetersPerSecondSq =
+        profile.m_finalMaxAccelerationMetersPerSecondSq[index];
+
+    while (true) {
+      // Enforce max velocity limit (reverse)
+      // vf = std::sqrt(vi^2 + 2*a*d), where vi = successor.
+      double newMaxVelocity = Math.sqrt(successorVelocity * successorVelocity
+          + successorMinAcceleration * ds * 2.0);
+
+      // No more limits to impose! This state can be finalized.
+      if (newMaxVelocity >= velocity) {
+        break;
+      }
+
+      velocity = newMaxVelocity;
+
+      // Check all acceleration constraints with the new max velocity.
+      enforceAccelerationLimits(points, profile, index, velocity);
+
+      if (ds > -1E-6) {
+        break;
+      }
+
+      // If the actual acceleration for this state is lower than the min
+      // acceleration, then we need to lower the min acceleration of the
+      // successor and try again.
+      double actualAcceleration = (velocity * velocity
+          - successorVelocity * successorVelocity) / (ds * 2.0);
+
+      if (m_minAccelerationLimitMetersPerSecondSq > actualAcceleration + 1E-6) {
+        successorMinAcceleration = m_minAccelerationLimitMetersPerSecondSq;
+      } else {
+        break;
+      }
+    }
+
+    profile.m_velocityMetersPerSecond[index] = velocity;
+    profile.m_minAccelerationMetersPerSecondSq[index] =
+        m_minAccelerationLimitMetersPerSecondSq;
+  }
+
+  /**
+   * Narrows the acceleration limits of the current point by the acceleration
+   * constraints at that point.
+   */
+  private void enforceAccelerationLimits(List<PoseWithCurvature> points, Profile profile,
+                                         int index, double velocity) {
+    double factor = m_reversed ? -1.0 : 1.0;
+
+    if (!m_batchConstraints.isEmpty()) {
+      m_batchVelocitiesMetersPerSecond[index] = velocity * factor;
+      for (final var constraint : m_batchConstraints) {
+        constraint.getMinMaxAccelerationsMetersPerSecondSq(profile.m_xMeters, profile.m_yMeters,
+            profile.m_headingRadians, profile.m_curvatureRadPerMeter,
+            m_batchVelocitiesMetersPerSecond, m_batchMinAccelerationsMetersPerSecondSq,
+            m_batchMaxAccelerationsMetersPerSecondSq, index, index + 1);
+        narrowAccelerationLimits(m_batchMinAccelerationsMetersPerSecondSq[index],
+            m_batchMaxAccelerationsMetersPerSecondSq[index]);
+      }
+    }
+
+    for (final var constraint : m_constraints) {
+      final var point = points.get(index);
+      final var minMaxAccel = constraint.getMinMaxAccelerationMetersPerSecondSq(
+          point.poseMeters, point.curvatureRadPerMeter, velocity * factor);
+      narrowAccelerationLimits(minMaxAccel.minAccelerationMetersPerSecondSq,
+          minMaxAccel.maxAccelerationMetersPerSecondSq);
+    }
+  }
+
+  private void narrowAccelerationLimits(double minAccelerationMetersPerSecondSq,
+                                        double maxAccelerationMetersPerSecondSq) {
+    m_minAccelerationLimitMetersPerSecondSq = Math.max(m_minAccelerationLimitMetersPerSecondSq,
+        m_reversed ? -maxAccelerationMetersPerSecondSq : minAccelerationMetersPerSecondSq);
+
+    m_maxAccelerationLimitMetersPerSecondSq = Math.min(m_maxAccelerationLimitMetersPerSecondSq,
+        m_reversed ? -minAccelerationMetersPerSecondSq : maxAccelerationMetersPerSecondSq);
+  }
+
+  /**
+   * Integrates the velocity profile forward in time to obtain the trajectory
+   * states.
+   */
+  @SuppressWarnings({"PMD.AvoidInstantiatingObjectsInLoops",
+      "PMD.AvoidThrowingRawExceptionTypes"})
+  private Trajectory integrate(List<PoseWithCurvature> points, Profile profile) {
+    final int size = profile.m_size;
+    var states = new ArrayList<Trajectory.State>(size);
+    double timeSeconds = 0.0;
+    double velocityMetersPerSecond = 0.0;
+
+    for (int i = 0; i < size; i++) {
+      final double maxVelocity = profile.m_velocityMetersPerSecond[i];
+
+      // Calculate the change in position between the current state and the previous
+      // state.
+      double ds = profile.m_segmentLengthMeters[i];
+
+      // Calculate the acceleration between the current state and the previous
+      // state.
+      double accel = (maxVelocity * maxVelocity
+          - velocityMetersPerSecond * velocityMetersPerSecond) / (ds * 2);
+
+      // Calculate dt
+      double dt = 0.0;
+      if (i > 0) {
+        states.get(i - 1).accelerationMetersPerSecondSq = m_reversed ? -accel : accel;
+        if (Math.abs(accel) > 1E-6) {
+          // v_f = v_0 + a * t
+          dt = (maxVelocity - velocityMetersPerSecond) / accel;
+        } else if (Math.abs(velocityMetersPerSecond) > 1E-6) {
+          // delta_x = v * t
+          dt = ds / velocityMetersPerSecond;
+        } else {
+          throw new RuntimeException("Something went wrong");
+        }
+      }
+
+      velocityMetersPerSecond = maxVelocity;
+
+      timeSeconds += dt;
+
+      final var point = points.get(i);
+      states.add(new Trajectory.State(
+          timeSeconds,
+          m_reversed ? -velocityMetersPerSecond : velocityMetersPerSecond,
+          m_reversed ? -accel : accel,
+          point.poseMeters, point.curvatureRadPerMeter
+      ));
+    }
+
+    return new Trajectory(states);
+  }
+
+  /**
+   * The results of the forward and backward passes for each point of a path.
+   */
+  @SuppressWarnings("MemberName")
+  private static final class Profile {
+    int m_size;
+
+    // The position and curvature of each point.
+    double[] m_xMeters = new double[0];
+    double[] m_yMeters = new double[0];
+    double[] m_headingRadians = new double[0];
+    double[] m_curvatureRadPerMeter = new double[0];
+
+    // The distance from the previous point.
+    double[] m_segmentLengthMeters = new double[0];
+
+    // The max velocity allowed by the global limit and the batch constraints.
+    double[] m_velocityLimitMetersPerSecond = new double[0];
+
+    // The results of each point's own step of the forward pass.
+    double[] m_forwardVelocityMetersPerSecond = new double[0];
+    double[] m_forwardMinAccelerationMetersPerSecondSq = new double[0];
+    double[] m_forwardMaxAccelerationMetersPerSecondSq = new double[0];
+
+    // The max acceleration after the next point's forward step lowered it.
+    double[] m_finalMaxAccelerationMetersPerSecondSq = new double[0];
+
+    // The results of each point's own step of the backward pass.
+    double[] m_velocityMetersPerSecond = new double[0];
+    double[] m_minAccelerationMetersPerSecondSq = new double[0];
+
+    void ensureCapacity(int capacity) {
+      if (m_segmentLengthMeters.length >= capacity) {
+        return;
+      }
+      m_xMeters = Arrays.copyOf(m_xMeters, capacity);
+      m_yMeters = Arrays.copyOf(m_yMeters, capacity);
+      m_headingRadians = Arrays.copyOf(m_headingRadians, capacity);
+      m_curvatureRadPerMeter = Arrays.copyOf(m_curvatureRadPerMeter, capacity);
+      m_segmentLengthMeters = Arrays.copyOf(m_segmentLengthMeters, capacity);
+      m_velocityLimitMetersPerSecond = Arrays.copyOf(m_velocityLimitMetersPerSecond, capacity);
+      m_forwardVelocityMetersPerSecond = Arrays.copyOf(m_forwardVelocityMetersPerSecond,
+          capacity);
+      m_forwardMinAccelerationMetersPerSecondSq =
+          Arrays.copyOf(m_forwardMinAccelerationMetersPerSecondSq, capacity);
+      m_forwardMaxAccelerationMetersPerSecondSq =
+          Arrays.copyOf(m_forwardMaxAccelerationMetersPerSecondSq, capacity);
+      m_finalMaxAccelerationMetersPerSecondSq =
+          Arrays.copyOf(m_finalMaxAccelerationMetersPerSecondSq, capacity);
+      m_velocityMetersPerSecond = Arrays.copyOf(m_velocityMetersPerSecond, capacity);
+      m_minAccelerationMetersPerSecondSq = Arrays.copyOf(m_minAccelerationMetersPerSecondSq,
+          capacity);
+    }
+
+    double getSegmentLengthMeters(int index) {
+      if (index == 0) {
+        return 0.0;
+      }
+      return Math.hypot(m_xMeters[index - 1] - m_xMeters[index],
+          m_yMeters[index - 1] - m_yMeters[index]);
+    }
+
+    void copyPoints(Profile source, int sourceIndex, int index, int length) {
+      System.arraycopy(source.m_xMeters, sourceIndex, m_xMeters, index, length);
+      System.arraycopy(source.m_yMeters, sourceIndex, m_yMeters, index, length);
+      System.arraycopy(source.m_headingRadians, sourceIndex, m_headingRadians, index, length);
+      System.arraycopy(source.m_curvatureRadPerMeter, sourceIndex, m_curvatureRadPerMeter, index,
+          length);
+      System.arraycopy(source.m_segmentLengthMeters, sourceIndex, m_segmentLengthMeters, index,
+          length);
+      System.arraycopy(source.m_velocityLimitMetersPerSecond, sourceIndex,
+          m_velocityLimitMetersPerSecond, index, length);
+    }
+
+    void copyForward(Profile source, int sourceIndex, int index, int length) {
+      System.arraycopy(source.m_forwardVelocityMetersPerSecond, sourceIndex,
+          m_forwardVelocityMetersPerSecond, index, length);
+      System.arraycopy(source.m_forwardMinAccelerationMetersPerSecondSq, sourceIndex,
+          m_forwardMinAccelerationMetersPerSecondSq, index, length);
+      System.arraycopy(source.m_forwardMaxAccelerationMetersPerSecondSq, sourceIndex,
+          m_forwardMaxAccelerationMetersPerSecondSq, index, length);
+      System.arraycopy(source.m_finalMaxAccelerationMetersPerSecondSq, sourceIndex,
+          m_finalMaxAccelerationMetersPerSecondSq, index, length);
+    }
+
+    void copyBackward(Profile source, int sourceIndex, int index, int length) {
+      System.arraycopy(source.m_velocityMetersPerSecond, sourceIndex,
+          m_velocityMetersPerSecond, index, length);
+      System.arraycopy(source.m_minAccelerationMetersPerSecondSq, sourceIndex,
+          m_minAccelerationMetersPerSecondSq, index, length);
+    }
+
+    boolean forwardMatches(int index, Profile other, int otherIndex) {
+      return m_forwardVelocityMetersPerSecond[index]
+          == other.m_forwardVelocityMetersPerSecond[otherIndex]
+          && m_forwardMinAccelerationMetersPerSecondSq[index]
+          == other.m_forwardMinAccelerationMetersPerSecondSq[otherIndex]
+          && m_forwardMaxAccelerationMetersPerSecondSq[index]
+          == other.m_forwardMaxAccelerationMetersPerSecondSq[otherIndex];
+    }
+
+    boolean backwardMatches(int index, Profile other, int otherIndex) {
+      return m_velocityMetersPerSecond[index] == other.m_velocityMetersPerSecond[otherIndex]
+          && m_minAccelerationMetersPerSecondSq[index]
+          == other.m_minAccelerationMetersPerSecondSq[otherIndex];
+    }
+  }
+}
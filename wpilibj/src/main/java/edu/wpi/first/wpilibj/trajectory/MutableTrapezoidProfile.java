@@ -0,0 +1,272 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+/**
+ * A trapezoid-shaped velocity profile that can be re-targeted in place.
+ *
+ * <p>This computes the same profile as {@link TrapezoidProfile}, but the times
+ * at which the profile stops accelerating, stops cruising and reaches the goal
+ * are computed once when the target or constraints change instead of every
+ * time a {@link TrapezoidProfile} is constructed. After that, the position,
+ * velocity and acceleration at any time are found in constant time without
+ * allocating, and evaluating the profile does not change it, so it can be
+ * sampled any number of times.
+ *
+ * <p>Run on update:
+ * <pre><code>
+ * profile.setTarget(unprofiledReference, previousProfiledReference);
+ * profile.calculate(timeSincePreviousUpdate, previousProfiledReference);
+ * </code></pre>
+ */
+public class MutableTrapezoidProfile {
+  private double m_maxVelocity;
+  private double m_maxAcceleration;
+
+  // The target as it was given, so it can be recomputed when the constraints change
+  private double m_targetGoalPosition;
+  private double m_targetGoalVelocity;
+  private double m_targetInitialPosition;
+  private double m_targetInitialVelocity;
+
+  // The direction of the profile, either 1 for forwards or -1 for inverted
+  private int m_direction = 1;
+
+  // The target in the direction of the profile
+  private double m_initialPosition;
+  private double m_initialVelocity;
+  private double m_goalPosition;
+  private double m_goalVelocity;
+
+  private double m_endAccel;
+  private double m_endFullSpeed;
+  private double m_endDeccel;
+
+  // The distance covered while accelerating, in the direction of the profile
+  private double m_accelDistance;
+
+  /**
+   * Constructs a profile that starts and ends at zero.
+   *
+   * @param maxVelocity     The maximum velocity.
+   * @param maxAcceleration The maximum acceleration.
+   */
+  public MutableTrapezoidProfile(double maxVelocity, double maxAcceleration) {
+    m_maxVelocity = maxVelocity;
+    m_maxAcceleration = maxAcceleration;
+    update();
+  }
+
+  /**
+   * Constructs a profile that starts and ends at zero.
+   *
+   * @param constraints The constraints on the profile, like maximum velocity.
+   */
+  public MutableTrapezoidProfile(TrapezoidProfile.Constraints constraints) {
+    this(constraints.maxVelocity, constraints.maxAcceleration);
+  }
+
+  /**
+   * Sets the constraints on the profile. The profile is only recomputed if the
+   * constraints have changed.
+   *
+   * @param maxVelocity     The maximum velocity.
+   * @param maxAcceleration The maximum acceleration.
+   */
+  public void setConstraints(double maxVelocity, double maxAcceleration) {
+    if (maxVelocity != m_maxVelocity || maxAcceleration != m_maxAcceleration) {
+      m_maxVelocity = maxVelocity;
+      m_maxAcceleration = maxAcceleration;
+      update();
+    }
+  }
+
+  /**
+   * Sets the constraints on the profile. The profile is only recomputed if the
+   * constraints have changed.
+   *
+   * @param constraints The constraints on the profile, like maximum velocity.
+   */
+  public void setConstraints(TrapezoidProfile.Constraints constraints) {
+    setConstraints(constraints.maxVelocity, constraints.maxAcceleration);
+  }
+
+  /**
+   * Sets the goal and initial state of the profile.
+   *
+   * @param goalPosition    The desired position when the profile is complete.
+   * @param goalVelocity    The desired velocity when the profile is complete.
+   * @param initialPosition The initial position (usually the current position).
+   * @param initialVelocity The initial velocity (usually the current velocity).
+   */
+  public void setTarget(double goalPosition, double goalVelocity, double initialPosition,
+                        double initialVelocity) {
+    m_targetGoalPosition = goalPosition;
+    m_targetGoalVelocity = goalVelocity;
+    m_targetInitialPosition = initialPosition;
+    m_targetInitialVelocity = initialVelocity;
+    update();
+  }
+
+  /**
+   * Sets the goal and initial state of the profile. The states are copied, so
+   * they may be changed afterward.
+   *
+   * @param goal    The desired state when the profile is complete.
+   * @param initial The initial state (usually the current state).
+   */
+  public void setTarget(TrapezoidProfile.State goal, TrapezoidProfile.State initial) {
+    setTarget(goal.position, goal.velocity, initial.position, initial.velocity);
+  }
+
+  /**
+   * Calculates the position and velocity for the profile at a time t where the
+   * beginning of the profile was at time t = 0.
+   *
+   * @param t      The time since the beginning of the profile.
+   * @param result The state to store the result in. This may be the same
+   *               object as the initial state passed to
+   *               {@link #setTarget(TrapezoidProfile.State, TrapezoidProfile.State)}.
+   * @return The result state.
+   */
+  @SuppressWarnings("ParameterName")
+  public TrapezoidProfile.State calculate(double t, TrapezoidProfile.State result) {
+    result.position = getPosition(t);
+    result.velocity = getVelocity(t);
+    return result;
+  }
+
+  /**
+   * Returns the position of the profile at a time t where the beginning of the
+   * profile was at time t = 0.
+   *
+   * @param t The time since the beginning of the profile.
+   * @return The position at time t.
+   */
+  @SuppressWarnings("ParameterName")
+  public double getPosition(double t) {
+    double position;
+    if (t < m_endAccel) {
+      position = m_initialPosition + (m_initialVelocity + t * m_maxAcceleration / 2.0) * t;
+    } else if (t < m_endFullSpeed) {
+      position = m_initialPosition + (m_accelDistance + m_maxVelocity * (t - m_endAccel));
+    } else if (t <= m_endDeccel) {
+      double timeLeft = m_endDeccel - t;
+      position = m_goalPosition - (m_goalVelocity + timeLeft * m_maxAcceleration / 2.0)
+          * timeLeft;
+    } else {
+      position = m_goalPosition;
+    }
+    return position * m_direction;
+  }
+
+  /**
+   * Returns the velocity of the profile at a time t where the beginning of the
+   * profile was at time t = 0.
+   *
+   * @param t The time since the beginning of the profile.
+   * @return The velocity at time t.
+   */
+  @SuppressWarnings("ParameterName")
+  public double getVelocity(double t) {
+    double velocity;
+    if (t < m_endAccel) {
+      velocity = m_initialVelocity + t * m_maxAcceleration;
+    } else if (t < m_endFullSpeed) {
+      velocity = m_maxVelocity;
+    } else if (t <= m_endDeccel) {
+      velocity = m_goalVelocity + (m_endDeccel - t) * m_maxAcceleration;
+    } else {
+      velocity = m_goalVelocity;
+    }
+    return velocity * m_direction;
+  }
+
+  /**
+   * Returns the acceleration of the profile at a time t where the beginning of
+   * the profile was at time t = 0.
+   *
+   * @param t The time since the beginning of the profile.
+   * @return The acceleration at time t.
+   */
+  @SuppressWarnings("ParameterName")
+  public double getAcceleration(double t) {
+    if (t < m_endAccel) {
+      return m_maxAcceleration * m_direction;
+    } else if (t < m_endFullSpeed) {
+      return 0.0;
+    } else if (t <= m_endDeccel) {
+      return -m_maxAcceleration * m_direction;
+    } else {
+      return 0.0;
+    }
+  }
+
+  /**
+   * Returns the total time the profile takes to reach the goal.
+   *
+   * @return The total time the profile takes to reach the goal.
+   */
+  public double totalTime() {
+    return m_endDeccel;
+  }
+
+  /**
+   * Returns true if the profile has reached the goal.
+   *
+   * @param t The time since the beginning of the profile.
+   * @return True if the profile has reached the goal.
+   */
+  @SuppressWarnings("ParameterName")
+  public boolean isFinished(double t) {
+    return t >= totalTime();
+  }
+
+  /**
+   * Computes the times at which each segment of the profile ends. This is the
+   * same as the {@link TrapezoidProfile} constructor.
+   */
+  private void update() {
+    m_direction = m_targetInitialPosition > m_targetGoalPosition ? -1 : 1;
+    m_initialPosition = m_targetInitialPosition * m_direction;
+    m_initialVelocity = Math.min(m_targetInitialVelocity * m_direction, m_maxVelocity);
+    m_goalPosition = m_targetGoalPosition * m_direction;
+    m_goalVelocity = m_targetGoalVelocity * m_direction;
+
+    // Deal with a possibly truncated motion profile (with nonzero initial or
+    // final velocity) by calculating the parameters as if the profile began and
+    // ended at zero velocity
+    double cutoffBegin = m_initialVelocity / m_maxAcceleration;
+    double cutoffDistBegin = cutoffBegin * cutoffBegin * m_maxAcceleration / 2.0;
+
+    double cutoffEnd = m_goalVelocity / m_maxAcceleration;
+    double cutoffDistEnd = cutoffEnd * cutoffEnd * m_maxAcceleration / 2.0;
+
+    // Now we can calculate the parameters as if it was a full trapezoid instead
+    // of a truncated one
+
+    double fullTrapezoidDist = cutoffDistBegin + (m_goalPosition - m_initialPosition)
+        + cutoffDistEnd;
+    double accelerationTime = m_maxVelocity / m_maxAcceleration;
+
+    double fullSpeedDist = fullTrapezoidDist - accelerationTime * accelerationTime
+        * m_maxAcceleration;
+
+    // Handle the case where the profile never reaches full speed
+    if (fullSpeedDist < 0) {
+      accelerationTime = Math.sqrt(fullTrapezoidDist / m_maxAcceleration);
+      fullSpeedDist = 0;
+    }
+
+    m_endAccel = accelerationTime - cutoffBegin;
+    m_endFullSpeed = m_endAccel + fullSpeedDist / m_maxVelocity;
+    m_endDeccel = m_endFullSpeed + accelerationTime - cutoffEnd;
+
+    m_accelDistance = (m_initialVelocity + m_endAccel * m_maxAcceleration / 2.0) * m_endAccel;
+  }
+}
@@ -0,0 +1,429 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+/**
+ * A time-parameterized trajectory stored as parallel primitive arrays instead
+ * of a list of {@link Trajectory.State} objects.
+ *
+ * <p>Use a {@link Sampler} to sample the trajectory from a control loop. The
+ * sampler remembers where the previous sample was, so sampling at increasing
+ * times is O(1) amortized, and it writes into a caller-owned
+ * {@link MutableState} so that no objects are allocated per sample. Sampling
+ * gives the same results as {@link Trajectory#sample(double)}.
+ */
+@SuppressWarnings({"MemberName", "ParameterName"})
+public class PackedTrajectory {
+  private final double[] m_timeSeconds;
+  private final double[] m_velocityMetersPerSecond;
+  private final double[] m_accelerationMetersPerSecondSq;
+  private final double[] m_xMeters;
+  private final double[] m_yMeters;
+  private final double[] m_headingRadians;
+  private final double[] m_curvatureRadPerMeter;
+
+  /**
+   * Constructs a packed trajectory from the states of a trajectory.
+   *
+   * @param trajectory The trajectory to pack.
+   */
+  public PackedTrajectory(Trajectory trajectory) {
+    this(trajectory.getStates());
+  }
+
+  /**
+   * Constructs a packed trajectory from a list of states.
+   *
+   * @param states The states of the trajectory.
+   */
+  public PackedTrajectory(List<Trajectory.State> states) {
+    final int size = states.size();
+    if (size == 0) {
+      throw new IllegalArgumentException("Trajectory must have at least one state");
+    }
+
+    m_timeSeconds = new double[size];
+    m_velocityMetersPerSecond = new double[size];
+    m_accelerationMetersPerSecondSq = new double[size];
+    m_xMeters = new double[size];
+    m_yMeters = new double[size];
+    m_headingRadians = new double[size];
+    m_curvatureRadPerMeter = new double[size];
+
+    for (int i = 0; i < size; i++) {
+      final var state = states.get(i);
+      m_timeSeconds[i] = state.timeSeconds;
+      m_velocityMetersPerSecond[i] = state.velocityMetersPerSecond;
+      m_accelerationMetersPerSecondSq[i] = state.accelerationMetersPerSecondSq;
+      m_xMeters[i] = state.poseMeters.getTranslation().getX();
+      m_yMeters[i] = state.poseMeters.getTranslation().getY();
+      m_headingRadians[i] = state.poseMeters.getRotation().getRadians();
+      m_curvatureRadPerMeter[i] = state.curvatureRadPerMeter;
+    }
+  }
+
+  /**
+   * Constructs a packed trajectory that takes ownership of the given arrays.
+   * The arrays must all have the same nonzero length and must not be modified
+   * afterwards.
+   *
+   * @param timeSeconds                   The time of each state.
+   * @param velocityMetersPerSecond       The velocity of each state.
+   * @param accelerationMetersPerSecondSq The acceleration of each state.
+   * @param xMeters                       The x position of each state.
+   * @param yMeters                       The y position of each state.
+   * @param headingRadians                The heading of each state.
+   * @param curvatureRadPerMeter          The curvature of each state.
+   */
+  @SuppressWarnings("PMD.ArrayIsStoredDirectly")
+  public PackedTrajectory(double[] timeSeconds, double[] velocityMetersPerSecond,
+                          double[] accelerationMetersPerSecondSq, double[] xMeters,
+                          double[] yMeters, double[] headingRadians,
+                          double[] curvatureRadPerMeter) {
+    final int size = timeSeconds.length;
+    if (size == 0) {
+      throw new IllegalArgumentException("Trajectory must have at least one state");
+    }
+    if (velocityMetersPerSecond.length != size || accelerationMetersPerSecondSq.length != size
+        || xMeters.length != size || yMeters.length != size || headingRadians.length != size
+        || curvatureRadPerMeter.length != size) {
+      throw new IllegalArgumentException("All arrays must be the same length");
+    }
+
+    m_timeSeconds = timeSeconds;
+    m_velocityMetersPerSecond = velocityMetersPerSecond;
+    m_accelerationMetersPerSecondSq = accelerationMetersPerSecondSq;
+    m_xMeters = xMeters;
+    m_yMeters = yMeters;
+    m_headingRadians = headingRadians;
+    m_curvatureRadPerMeter = curvatureRadPerMeter;
+  }
+
+  /**
+   * Returns the number of states in the trajectory.
+   *
+   * @return The number of states in the trajectory.
+   */
+  public int size() {
+    return m_timeSeconds.length;
+  }
+
+  /**
+   * Returns the overall duration of the trajectory.
+   *
+   * @return The duration of the trajectory.
+   */
+  public double getTotalTimeSeconds() {
+    return m_timeSeconds[m_timeSeconds.length - 1];
+  }
+
+  /**
+   * Copies the state at the given index into a mutable state.
+   *
+   * @param index The index of the state.
+   * @param state The state to copy into.
+   */
+  public void getState(int index, MutableState state) {
+    Objects.checkIndex(index, m_timeSeconds.length);
+    state.timeSeconds = m_timeSeconds[index];
+    state.velocityMetersPerSecond = m_velocityMetersPerSecond[index];
+    state.accelerationMetersPerSecondSq = m_accelerationMetersPerSecondSq[index];
+    state.xMeters = m_xMeters[index];
+    state.yMeters = m_yMeters[index];
+    state.headingRadians = m_headingRadians[index];
+    state.curvatureRadPerMeter = m_curvatureRadPerMeter[index];
+  }
+
+  /**
+   * Converts this packed trajectory back into a trajectory of state objects.
+   *
+   * @return The trajectory.
+   */
+  public Trajectory toTrajectory() {
+    var states = new ArrayList<Trajectory.State>(m_timeSeconds.length);
+    var state = new MutableState();
+    for (int i = 0; i < m_timeSeconds.length; i++) {
+      getState(i, state);
+      states.add(state.toState());
+    }
+    return new Trajectory(states);
+  }
+
+  /**
+   * Returns a new sampler for this trajectory. Each follower should use its own
+   * sampler.
+   *
+   * @return A sampler for this trajectory.
+   */
+  public Sampler sampler() {
+    return new Sampler();
+  }
+
+  /**
+   * Returns the time of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The time of the state.
+   */
+  public double getTimeSeconds(int index) {
+    return m_timeSeconds[index];
+  }
+
+  /**
+   * Returns the velocity of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The velocity of the state.
+   */
+  public double getVelocityMetersPerSecond(int index) {
+    return m_velocityMetersPerSecond[index];
+  }
+
+  /**
+   * Returns the acceleration of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The acceleration of the state.
+   */
+  public double getAccelerationMetersPerSecondSq(int index) {
+    return m_accelerationMetersPerSecondSq[index];
+  }
+
+  /**
+   * Returns the x position of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The x position of the state.
+   */
+  public double getXMeters(int index) {
+    return m_xMeters[index];
+  }
+
+  /**
+   * Returns the y position of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The y position of the state.
+   */
+  public double getYMeters(int index) {
+    return m_yMeters[index];
+  }
+
+  /**
+   * Returns the heading of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The heading of the state.
+   */
+  public double getHeadingRadians(int index) {
+    return m_headingRadians[index];
+  }
+
+  /**
+   * Returns the curvature of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The curvature of the state.
+   */
+  public double getCurvatureRadPerMeter(int index) {
+    return m_curvatureRadPerMeter[index];
+  }
+
+  /**
+   * Wraps an angle to the range [-pi, pi].
+   *
+   * @param radians The angle to wrap.
+   * @return The wrapped angle.
+   */
+  private static double wrapRadians(double radians) {
+    if (radians > Math.PI || radians < -Math.PI) {
+      return Math.IEEEremainder(radians, 2.0 * Math.PI);
+    }
+    return radians;
+  }
+
+  /**
+   * Interpolates between the states at index - 1 and index. This matches the
+   * interpolation done by {@link Trajectory#sample(double)}.
+   *
+   * @param index       The index of the later state.
+   * @param timeSeconds The time to interpolate at.
+   * @param state       The state to write the result into.
+   */
+  private void interpolate(int index, double timeSeconds, MutableState state) {
+    final int prev = index - 1;
+    final double prevTime = m_timeSeconds[prev];
+    final double prevVelocity = m_velocityMetersPerSecond[prev];
+    final double prevAcceleration = m_accelerationMetersPerSecondSq[prev];
+    final double prevX = m_xMeters[prev];
+    final double prevY = m_yMeters[prev];
+
+    // Find the new t value.
+    final double fraction = (timeSeconds - prevTime) / (m_timeSeconds[index] - prevTime);
+    final double newT = prevTime + (m_timeSeconds[index] - prevTime) * fraction;
+
+    // Find the delta time between the previous state and the interpolated state.
+    final double deltaT = newT - prevTime;
+
+    // Check whether the robot is reversing at this stage.
+    final boolean reversing = prevVelocity < 0
+        || Math.abs(prevVelocity) < 1E-9 && prevAcceleration < 0;
+
+    // Calculate the new velocity
+    // v_f = v_0 + at
+    final double newV = prevVelocity + prevAcceleration * deltaT;
+
+    // Calculate the change in position.
+    // delta_s = v_0 t + 0.5 at^2
+    final double newS = (prevVelocity * deltaT + 0.5 * prevAcceleration * deltaT * deltaT)
+        * (reversing ? -1.0 : 1.0);
+
+    // The fraction for interpolating the pose is the change in position divided
+    // by the total distance between the two endpoints.
+    final double deltaX = m_xMeters[index] - prevX;
+    final double deltaY = m_yMeters[index] - prevY;
+    final double interpolationFrac = newS / Math.hypot(deltaX, deltaY);
+
+    final double prevHeading = m_headingRadians[prev];
+    final double deltaHeading = wrapRadians(m_headingRadians[index] - prevHeading);
+
+    state.timeSeconds = newT;
+    state.velocityMetersPerSecond = newV;
+    state.accelerationMetersPerSecondSq = prevAcceleration;
+    state.xMeters = prevX + deltaX * interpolationFrac;
+    state.yMeters = prevY + deltaY * interpolationFrac;
+    state.headingRadians = wrapRadians(prevHeading + deltaHeading * interpolationFrac);
+    state.curvatureRadPerMeter = m_curvatureRadPerMeter[prev]
+        + (m_curvatureRadPerMeter[index] - m_curvatureRadPerMeter[prev]) * interpolationFrac;
+  }
+
+  /**
+   * Samples a packed trajectory while remembering the position of the last
+   * sample. Samples at increasing times walk forward from that position, so a
+   * follower that samples once per loop does a constant amount of work per
+   * sample. Sampling at an earlier time falls back to a binary search.
+   */
+  public final class Sampler {
+    // The index of the first state at or after the last sampled time.
+    private int m_index = 1;
+
+    private Sampler() {
+    }
+
+    /**
+     * Returns the trajectory that this sampler samples.
+     *
+     * @return The trajectory.
+     */
+    public PackedTrajectory getTrajectory() {
+      return PackedTrajectory.this;
+    }
+
+    /**
+     * Forgets the position of the last sample.
+     */
+    public void reset() {
+      m_index = 1;
+    }
+
+    /**
+     * Sample the trajectory at a point in time.
+     *
+     * @param timeSeconds The point in time since the beginning of the trajectory to sample.
+     * @param state       The state to write the sample into.
+     */
+    public void sample(double timeSeconds, MutableState state) {
+      final double[] times = m_timeSeconds;
+      final int last = times.length - 1;
+
+      if (timeSeconds <= times[0]) {
+        getState(0, state);
+        return;
+      }
+      if (timeSeconds >= times[last]) {
+        getState(last, state);
+        return;
+      }
+
+      // Find the first state at or after the requested time, starting from the
+      // last sample if the time has not gone backwards.
+      int index = m_index;
+      if (index > last || times[index - 1] >= timeSeconds) {
+        int low = 1;
+        int high = last;
+        while (low != high) {
+          int mid = (low + high) / 2;
+          if (times[mid] < timeSeconds) {
+            low = mid + 1;
+          } else {
+            high = mid;
+          }
+        }
+        index = low;
+      } else {
+        while (times[index] < timeSeconds) {
+          index++;
+        }
+      }
+      m_index = index;
+
+      // If the difference in states is negligible, then we are spot on!
+      if (Math.abs(times[index] - times[index - 1]) < 1E-9) {
+        getState(index, state);
+        return;
+      }
+
+      interpolate(index, timeSeconds, state);
+    }
+  }
+
+  /**
+   * A mutable trajectory state that can be reused between samples.
+   */
+  @SuppressWarnings("MemberName")
+  public static class MutableState {
+    // The time elapsed since the beginning of the trajectory.
+    public double timeSeconds;
+
+    // The speed at that point of the trajectory.
+    public double velocityMetersPerSecond;
+
+    // The acceleration at that point of the trajectory.
+    public double accelerationMetersPerSecondSq;
+
+    // The x position at that point of the trajectory.
+    public double xMeters;
+
+    // The y position at that point of the trajectory.
+    public double yMeters;
+
+    // The heading at that point of the trajectory.
+    public double headingRadians;
+
+    // The curvature at that point of the trajectory.
+    public double curvatureRadPerMeter;
+
+    /**
+     * Converts this state into an immutable trajectory state.
+     *
+     * @return The trajectory state.
+     */
+    public Trajectory.State toState() {
+      return new Trajectory.State(timeSeconds, velocityMetersPerSecond,
+          accelerationMetersPerSecondSq,
+          new Pose2d(xMeters, yMeters, new Rotation2d(headingRadians)), curvatureRadPerMeter);
+    }
+  }
+}
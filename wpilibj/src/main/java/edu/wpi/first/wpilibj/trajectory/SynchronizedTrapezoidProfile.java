@@ -0,0 +1,311 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+/**
+ * Trapezoid-shaped velocity profiles for several axes, such as the joints of an
+ * arm or an elevator and wrist, that all reach their goals at the same time.
+ *
+ * <p>Each axis follows the same profile as {@link TrapezoidProfile} with its own
+ * constraints, except that axes that would arrive early cruise at a lower
+ * velocity so that they finish together with the slowest axis. The cruise
+ * velocity that does this is found in closed form, so re-targeting costs about
+ * the same as constructing one {@link TrapezoidProfile} per axis. An axis whose
+ * initial or goal velocity is too high to slow it down enough follows its own
+ * profile and finishes early.
+ *
+ * <p>The profiles are stored in primitive arrays, and all of the axes are
+ * evaluated in one loop without allocating.
+ *
+ * <p>Run on update:
+ * <pre><code>
+ * profile.setTarget(goalPositions, goalVelocities, positions, velocities);
+ * profile.calculate(timeSincePreviousUpdate, positions, velocities);
+ * </code></pre>
+ */
+public class SynchronizedTrapezoidProfile {
+  private final double[] m_maxVelocity;
+  private final double[] m_maxAcceleration;
+
+  // The direction of each profile, either 1 for forwards or -1 for inverted
+  private final int[] m_direction;
+
+  // The target of each axis in the direction of its profile
+  private final double[] m_initialPosition;
+  private final double[] m_initialVelocity;
+  private final double[] m_goalPosition;
+  private final double[] m_goalVelocity;
+
+  // The velocity each axis cruises at, which may be less than its maximum
+  private final double[] m_cruiseVelocity;
+
+  private final double[] m_endAccel;
+  private final double[] m_endFullSpeed;
+  private final double[] m_endDeccel;
+
+  // The distance covered while accelerating, in the direction of the profile
+  private final double[] m_accelDistance;
+
+  // Zero velocities for targets that start and end at rest
+  private final double[] m_restVelocities;
+
+  private double m_totalTime;
+
+  /**
+   * Constructs synchronized profiles whose axes all start and end at zero.
+   *
+   * @param maxVelocities    The maximum velocity of each axis.
+   * @param maxAccelerations The maximum acceleration of each axis.
+   */
+  public SynchronizedTrapezoidProfile(double[] maxVelocities, double[] maxAccelerations) {
+    if (maxVelocities.length != maxAccelerations.length) {
+      throw new IllegalArgumentException(
+          "Number of maximum velocities and accelerations must be the same");
+    }
+    final int axes = maxVelocities.length;
+    m_maxVelocity = maxVelocities.clone();
+    m_maxAcceleration = maxAccelerations.clone();
+    m_direction = new int[axes];
+    m_initialPosition = new double[axes];
+    m_initialVelocity = new double[axes];
+    m_goalPosition = new double[axes];
+    m_goalVelocity = new double[axes];
+    m_cruiseVelocity = new double[axes];
+    m_endAccel = new double[axes];
+    m_endFullSpeed = new double[axes];
+    m_endDeccel = new double[axes];
+    m_accelDistance = new double[axes];
+    m_restVelocities = new double[axes];
+
+    for (int i = 0; i < axes; i++) {
+      m_direction[i] = 1;
+      updateAxis(i, m_maxVelocity[i]);
+    }
+  }
+
+  /**
+   * Returns the number of axes.
+   *
+   * @return The number of axes.
+   */
+  public int getNumAxes() {
+    return m_maxVelocity.length;
+  }
+
+  /**
+   * Sets the goal and initial state of every axis.
+   *
+   * @param goalPositions     The desired position of each axis when the profile
+   *                          is complete.
+   * @param goalVelocities    The desired velocity of each axis when the profile
+   *                          is complete.
+   * @param initialPositions  The initial position of each axis.
+   * @param initialVelocities The initial velocity of each axis.
+   */
+  public void setTarget(double[] goalPositions, double[] goalVelocities,
+                        double[] initialPositions, double[] initialVelocities) {
+    final int axes = m_maxVelocity.length;
+    if (goalPositions.length != axes || goalVelocities.length != axes
+        || initialPositions.length != axes || initialVelocities.length != axes) {
+      throw new IllegalArgumentException(
+          "Number of states is not consistent with number of axes");
+    }
+
+    m_totalTime = 0.0;
+    for (int i = 0; i < axes; i++) {
+      m_direction[i] = initialPositions[i] > goalPositions[i] ? -1 : 1;
+      m_initialPosition[i] = initialPositions[i] * m_direction[i];
+      m_initialVelocity[i] = Math.min(initialVelocities[i] * m_direction[i], m_maxVelocity[i]);
+      m_goalPosition[i] = goalPositions[i] * m_direction[i];
+      m_goalVelocity[i] = goalVelocities[i] * m_direction[i];
+
+      updateAxis(i, m_maxVelocity[i]);
+      m_totalTime = Math.max(m_totalTime, m_endDeccel[i]);
+    }
+
+    for (int i = 0; i < axes; i++) {
+      if (m_endDeccel[i] < m_totalTime) {
+        synchronizeAxis(i);
+      }
+    }
+  }
+
+  /**
+   * Sets the goal position of every axis, starting and ending at rest.
+   *
+   * @param goalPositions    The desired position of each axis when the profile
+   *                         is complete.
+   * @param initialPositions The initial position of each axis.
+   */
+  public void setTarget(double[] goalPositions, double[] initialPositions) {
+    setTarget(goalPositions, m_restVelocities, initialPositions, m_restVelocities);
+  }
+
+  /**
+   * Calculates the position and velocity of every axis at a time t where the
+   * beginning of the profile was at time t = 0.
+   *
+   * @param t          The time since the beginning of the profile.
+   * @param positions  The array to store the position of each axis in. This may
+   *                   be the same array as the initial positions passed to
+   *                   {@link #setTarget}.
+   * @param velocities The array to store the velocity of each axis in. This may
+   *                   be the same array as the initial velocities passed to
+   *                   {@link #setTarget}.
+   */
+  @SuppressWarnings("ParameterName")
+  public void calculate(double t, double[] positions, double[] velocities) {
+    for (int i = 0; i < m_maxVelocity.length; i++) {
+      final double acceleration = m_maxAcceleration[i];
+      double position;
+      double velocity;
+      if (t < m_endAccel[i]) {
+        position = m_initialPosition[i] + (m_initialVelocity[i] + t * acceleration / 2.0) * t;
+        velocity = m_initialVelocity[i] + t * acceleration;
+      } else if (t < m_endFullSpeed[i]) {
+        position = m_initialPosition[i]
+            + (m_accelDistance[i] + m_cruiseVelocity[i] * (t - m_endAccel[i]));
+        velocity = m_cruiseVelocity[i];
+      } else if (t <= m_endDeccel[i]) {
+        final double timeLeft = m_endDeccel[i] - t;
+        position = m_goalPosition[i] - (m_goalVelocity[i] + timeLeft * acceleration / 2.0)
+            * timeLeft;
+        velocity = m_goalVelocity[i] + timeLeft * acceleration;
+      } else {
+        position = m_goalPosition[i];
+        velocity = m_goalVelocity[i];
+      }
+      positions[i] = position * m_direction[i];
+      velocities[i] = velocity * m_direction[i];
+    }
+  }
+
+  /**
+   * Calculates the acceleration of every axis at a time t where the beginning
+   * of the profile was at time t = 0.
+   *
+   * @param t             The time since the beginning of the profile.
+   * @param accelerations The array to store the acceleration of each axis in.
+   */
+  @SuppressWarnings("ParameterName")
+  public void calculateAccelerations(double t, double[] accelerations) {
+    for (int i = 0; i < m_maxVelocity.length; i++) {
+      if (t < m_endAccel[i]) {
+        accelerations[i] = m_maxAcceleration[i] * m_direction[i];
+      } else if (t >= m_endFullSpeed[i] && t <= m_endDeccel[i]) {
+        accelerations[i] = -m_maxAcceleration[i] * m_direction[i];
+      } else {
+        accelerations[i] = 0.0;
+      }
+    }
+  }
+
+  /**
+   * Returns the time an axis takes to reach its goal. This is the same as
+   * {@link #totalTime()} unless the axis couldn't be slowed down enough.
+   *
+   * @param axis The index of the axis.
+   * @return The time the axis takes to reach its goal.
+   */
+  public double axisTime(int axis) {
+    return m_endDeccel[axis];
+  }
+
+  /**
+   * Returns the total time the profile takes to reach the goal.
+   *
+   * @return The total time the profile takes to reach the goal.
+   */
+  public double totalTime() {
+    return m_totalTime;
+  }
+
+  /**
+   * Returns true if every axis has reached its goal.
+   *
+   * @param t The time since the beginning of the profile.
+   * @return True if every axis has reached its goal.
+   */
+  @SuppressWarnings("ParameterName")
+  public boolean isFinished(double t) {
+    return t >= totalTime();
+  }
+
+  /**
+   * Slows an axis down so that it takes the total time to reach its goal.
+   *
+   * <p>With acceleration a, cruise velocity v, distance d, and initial and goal
+   * velocities v0 and vg, the profile takes (v - v0) / a + (v - vg) / a to
+   * accelerate and decelerate and covers (2v^2 - v0^2 - vg^2) / 2a doing so. It
+   * cruises the rest of the distance at v. Setting the total of those times to
+   * T gives v^2 - (v0 + vg + aT) v + ad + (v0^2 + vg^2) / 2 = 0, and the smaller
+   * root is the cruise velocity.
+   */
+  private void synchronizeAxis(int axis) {
+    final double acceleration = m_maxAcceleration[axis];
+    final double initialVelocity = m_initialVelocity[axis];
+    final double goalVelocity = m_goalVelocity[axis];
+    final double distance = m_goalPosition[axis] - m_initialPosition[axis];
+
+    final double b = initialVelocity + goalVelocity + acceleration * m_totalTime;
+    final double c = acceleration * distance
+        + (initialVelocity * initialVelocity + goalVelocity * goalVelocity) / 2.0;
+    final double discriminant = b * b - 4.0 * c;
+    if (discriminant < 0.0) {
+      return;
+    }
+
+    final double cruiseVelocity = (b - Math.sqrt(discriminant)) / 2.0;
+    if (cruiseVelocity > 0.0 && cruiseVelocity >= initialVelocity
+        && cruiseVelocity >= goalVelocity) {
+      updateAxis(axis, cruiseVelocity);
+    }
+  }
+
+  /**
+   * Computes the times at which each segment of an axis's profile ends. This is
+   * the same as the {@link TrapezoidProfile} constructor with the given maximum
+   * velocity.
+   */
+  private void updateAxis(int axis, double maxVelocity) {
+    final double acceleration = m_maxAcceleration[axis];
+    final double initialVelocity = m_initialVelocity[axis];
+
+    // Deal with a possibly truncated motion profile (with nonzero initial or
+    // final velocity) by calculating the parameters as if the profile began and
+    // ended at zero velocity
+    final double cutoffBegin = initialVelocity / acceleration;
+    final double cutoffDistBegin = cutoffBegin * cutoffBegin * acceleration / 2.0;
+
+    final double cutoffEnd = m_goalVelocity[axis] / acceleration;
+    final double cutoffDistEnd = cutoffEnd * cutoffEnd * acceleration / 2.0;
+
+    // Now we can calculate the parameters as if it was a full trapezoid instead
+    // of a truncated one
+
+    final double fullTrapezoidDist = cutoffDistBegin
+        + (m_goalPosition[axis] - m_initialPosition[axis]) + cutoffDistEnd;
+    double accelerationTime = maxVelocity / acceleration;
+
+    double fullSpeedDist = fullTrapezoidDist - accelerationTime * accelerationTime
+        * acceleration;
+
+    // Handle the case where the profile never reaches full speed
+    if (fullSpeedDist < 0) {
+      accelerationTime = Math.sqrt(fullTrapezoidDist / acceleration);
+      fullSpeedDist = 0;
+    }
+
+    m_cruiseVelocity[axis] = maxVelocity;
+    m_endAccel[axis] = accelerationTime - cutoffBegin;
+    m_endFullSpeed[axis] = m_endAccel[axis] + fullSpeedDist / maxVelocity;
+    m_endDeccel[axis] = m_endFullSpeed[axis] + accelerationTime - cutoffEnd;
+    m_accelDistance[axis] = (initialVelocity + m_endAccel[axis] * acceleration / 2.0)
+        * m_endAccel[axis];
+  }
+}
@@ -0,0 +1,440 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.wpi.first.wpilibj.Filesystem;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+/**
+ * Caches generated trajectories on disk so that they do not need to be
+ * regenerated every time the robot program starts.
+ *
+ * <p>Each trajectory is stored in a file named after a hash of everything that
+ * determines it: the waypoints, the velocity and acceleration limits, whether
+ * it is reversed, and the configuration of each constraint. If a file for the
+ * same inputs already exists, it is memory-mapped and loaded instead of
+ * generating the trajectory.
+ *
+ * <p>The constraints provided by WPILib are hashed by their class and the
+ * values of their fields. A hash of a constraint's fields does not change when
+ * the constraint's code does, so other constraints are only cached if they
+ * implement {@link CacheableConstraint} and provide their own key; trajectories
+ * with any other constraint are never cached and are always generated.
+ */
+public class TrajectoryCache {
+  // Bump this whenever trajectory generation changes so stale files are ignored.
+  private static final int kGeneratorVersion = 1;
+
+  private static final int kMaxHashDepth = 16;
+
+  private static final String kExtension = ".traj";
+
+  private final File m_directory;
+
+  /**
+   * A trajectory constraint that provides its own cache key.
+   *
+   * <p>The key must describe everything that affects the constraint's output.
+   * Change it whenever the constraint's code changes, or cached trajectories
+   * that were generated with the old code will still be loaded.
+   */
+  public interface CacheableConstraint extends TrajectoryConstraint {
+    /**
+     * Returns the key that identifies this constraint's behavior.
+     *
+     * @return The cache key.
+     */
+    String getCacheKey();
+  }
+
+  /**
+   * Constructs a cache that stores trajectories in the "trajectory-cache"
+   * folder of the deploy directory.
+   */
+  public TrajectoryCache() {
+    this(new File(Filesystem.getDeployDirectory(), "trajectory-cache"));
+  }
+
+  /**
+   * Constructs a cache that stores trajectories in the given directory.
+   *
+   * @param directory The directory to store trajectories in.
+   */
+  public TrajectoryCache(File directory) {
+    m_directory = directory;
+  }
+
+  /**
+   * Returns the directory that trajectories are stored in.
+   *
+   * @return The directory that trajectories are stored in.
+   */
+  public File getDirectory() {
+    return m_directory;
+  }
+
+  /**
+   * Loads the trajectory with the given waypoints and constraints from the
+   * cache, or generates and caches it if it has not been generated before. See
+   * {@link TrajectoryGenerator#generateTrajectory(List, List, double, double, double, double,
+   * boolean)} for a description of the parameters.
+   *
+   * <p>If the trajectory cannot be written to the cache, it is still returned.
+   *
+   * @param waypoints                        A vector of points that the trajectory must go through.
+   * @param constraints                      A vector of various velocity and acceleration
+   *                                         constraints.
+   * @param startVelocityMetersPerSecond     The start velocity for the trajectory.
+   * @param endVelocityMetersPerSecond       The end velocity for the trajectory.
+   * @param maxVelocityMetersPerSecond       The max velocity for the trajectory.
+   * @param maxAccelerationMetersPerSecondSq The max acceleration for the trajectory.
+   * @param reversed                         Whether the robot should move backwards.
+   * @return The trajectory.
+   */
+  public Trajectory generateTrajectory(
+      List<Pose2d> waypoints,
+      List<TrajectoryConstraint> constraints,
+      double startVelocityMetersPerSecond,
+      double endVelocityMetersPerSecond,
+      double maxVelocityMetersPerSecond,
+      double maxAccelerationMetersPerSecondSq,
+      boolean reversed
+  ) {
+    var key = new KeyBuilder("quintic");
+    key.putInt(waypoints.size());
+    for (final var waypoint : waypoints) {
+      key.putPose(waypoint);
+    }
+    final var file = getFile(key, constraints, startVelocityMetersPerSecond,
+        endVelocityMetersPerSecond, maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq,
+        reversed);
+
+    return loadOrGenerate(file, () -> TrajectoryGenerator.generateTrajectory(waypoints,
+        constraints, startVelocityMetersPerSecond, endVelocityMetersPerSecond,
+        maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq, reversed));
+  }
+
+  /**
+   * Loads the trajectory with the given waypoints and constraints from the
+   * cache, or generates and caches it if it has not been generated before. See
+   * {@link TrajectoryGenerator#generateTrajectory(Pose2d, List, Pose2d, List, double, double,
+   * double, double, boolean)} for a description of the parameters.
+   *
+   * <p>If the trajectory cannot be written to the cache, it is still returned.
+   *
+   * @param start                            The starting pose for the trajectory.
+   * @param waypoints                        The interior waypoints for the trajectory.
+   * @param end                              The ending pose for the trajectory.
+   * @param constraints                      A vector of various velocity and acceleration
+   *                                         constraints.
+   * @param startVelocityMetersPerSecond     The start velocity for the trajectory.
+   * @param endVelocityMetersPerSecond       The end velocity for the trajectory.
+   * @param maxVelocityMetersPerSecond       The max velocity for the trajectory.
+   * @param maxAccelerationMetersPerSecondSq The max acceleration for the trajectory.
+   * @param reversed                         Whether the robot should move backwards.
+   * @return The trajectory.
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  public Trajectory generateTrajectory(
+      Pose2d start,
+      List<Translation2d> waypoints,
+      Pose2d end,
+      List<TrajectoryConstraint> constraints,
+      double startVelocityMetersPerSecond,
+      double endVelocityMetersPerSecond,
+      double maxVelocityMetersPerSecond,
+      double maxAccelerationMetersPerSecondSq,
+      boolean reversed
+  ) {
+    var key = new KeyBuilder("cubic");
+    key.putPose(start);
+    key.putInt(waypoints.size());
+    for (final var waypoint : waypoints) {
+      key.putDouble(waypoint.getX());
+      key.putDouble(waypoint.getY());
+    }
+    key.putPose(end);
+    final var file = getFile(key, constraints, startVelocityMetersPerSecond,
+        endVelocityMetersPerSecond, maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq,
+        reversed);
+
+    return loadOrGenerate(file, () -> TrajectoryGenerator.generateTrajectory(start, waypoints,
+        end, constraints, startVelocityMetersPerSecond, endVelocityMetersPerSecond,
+        maxVelocityMetersPerSecond, maxAccelerationMetersPerSecondSq, reversed));
+  }
+
+  /**
+   * Deletes all cached trajectories.
+   *
+   * @throws IOException If a cached trajectory could not be deleted.
+   */
+  public void clear() throws IOException {
+    final var files = m_directory.listFiles((dir, name) -> name.endsWith(kExtension));
+    if (files == null) {
+      return;
+    }
+    for (final var file : files) {
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+
+  /**
+   * Finishes the cache key and returns the file for it, or null if the
+   * constraints cannot be hashed.
+   */
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  private Path getFile(KeyBuilder key, List<TrajectoryConstraint> constraints,
+                       double startVelocityMetersPerSecond,
+                       double endVelocityMetersPerSecond,
+                       double maxVelocityMetersPerSecond,
+                       double maxAccelerationMetersPerSecondSq,
+                       boolean reversed) {
+    key.putDouble(startVelocityMetersPerSecond);
+    key.putDouble(endVelocityMetersPerSecond);
+    key.putDouble(maxVelocityMetersPerSecond);
+    key.putDouble(maxAccelerationMetersPerSecondSq);
+    key.putInt(reversed ? 1 : 0);
+
+    key.putInt(constraints.size());
+    for (final var constraint : constraints) {
+      if (constraint instanceof CacheableConstraint) {
+        key.putString(constraint.getClass().getName());
+        key.putString(((CacheableConstraint) constraint).getCacheKey());
+      } else if (!key.putObject(constraint, 0)) {
+        return null;
+      }
+    }
+
+    return new File(m_directory, key.toHexString() + kExtension).toPath();
+  }
+
+  private static Trajectory loadOrGenerate(Path file, TrajectorySupplier generator) {
+    if (file == null) {
+      return generator.get();
+    }
+
+    if (Files.isRegularFile(file)) {
+      try {
+        return TrajectoryReader.map(file).toTrajectory();
+      } catch (IOException | RuntimeException ex) {
+        // The file is unreadable or corrupt, so regenerate it.
+      }
+    }
+
+    final var trajectory = generator.get();
+    try {
+      TrajectoryWriter.write(trajectory, file);
+    } catch (IOException ex) {
+      // The cache is only an optimization, so the trajectory can still be used
+      // if it could not be stored.
+    }
+    return trajectory;
+  }
+
+  @FunctionalInterface
+  private interface TrajectorySupplier {
+    Trajectory get();
+  }
+
+  /**
+   * Builds a SHA-256 hash of the inputs to trajectory generation.
+   */
+  private static final class KeyBuilder {
+    private final MessageDigest m_digest;
+    private final ByteBuffer m_scratch = ByteBuffer.allocate(Long.BYTES)
+        .order(ByteOrder.LITTLE_ENDIAN);
+    private final Map<Object, Integer> m_visited = new IdentityHashMap<>();
+
+    KeyBuilder(String splineType) {
+      try {
+        m_digest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+        // Every Java platform is required to support SHA-256.
+        throw new IllegalStateException(ex);
+      }
+      putInt(kGeneratorVersion);
+      putInt(TrajectoryWriter.kVersion);
+      putString(splineType);
+    }
+
+    void putInt(int value) {
+      m_scratch.clear();
+      m_scratch.putInt(value);
+      m_digest.update(m_scratch.array(), 0, Integer.BYTES);
+    }
+
+    void putLong(long value) {
+      m_scratch.clear();
+      m_scratch.putLong(value);
+      m_digest.update(m_scratch.array(), 0, Long.BYTES);
+    }
+
+    void putDouble(double value) {
+      putLong(Double.doubleToLongBits(value));
+    }
+
+    void putString(String value) {
+      final var bytes = value.getBytes(StandardCharsets.UTF_8);
+      putInt(bytes.length);
+      m_digest.update(bytes);
+    }
+
+    void putPose(Pose2d pose) {
+      putDouble(pose.getTranslation().getX());
+      putDouble(pose.getTranslation().getY());
+      putDouble(pose.getRotation().getRadians());
+    }
+
+    /**
+     * Hashes an object by its class and the values of its fields. Only WPILib
+     * classes are hashed this way, since their code changes are covered by
+     * {@link #kGeneratorVersion}.
+     *
+     * @return False if the object cannot be hashed reliably.
+     */
+    @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity"})
+    boolean putObject(Object object, int depth) {
+      if (object == null) {
+        putInt(0);
+        return true;
+      }
+      if (depth > kMaxHashDepth) {
+        return false;
+      }
+
+      final var type = object.getClass();
+      if (object instanceof Number || object instanceof Boolean
+          || object instanceof Character || object instanceof String) {
+        putString(type.getName());
+        putString(object.toString());
+        return true;
+      }
+      if (object instanceof Enum) {
+        putString(type.getName());
+        putString(((Enum<?>) object).name());
+        return true;
+      }
+
+      // Objects that are reachable more than once are only hashed once.
+      final var index = m_visited.get(object);
+      if (index != null) {
+        putInt(1);
+        putInt(index);
+        return true;
+      }
+      m_visited.put(object, m_visited.size());
+
+      if (type.isArray()) {
+        putString(type.getName());
+        if (type.getComponentType().isPrimitive()) {
+          putString(primitiveArrayToString(object));
+          return true;
+        }
+        final var elements = (Object[]) object;
+        putInt(elements.length);
+        for (final var element : elements) {
+          if (!putObject(element, depth + 1)) {
+            return false;
+          }
+        }
+        return true;
+      }
+      if (object instanceof List) {
+        final var elements = (List<?>) object;
+        putString(List.class.getName());
+        putInt(elements.size());
+        for (final var element : elements) {
+          if (!putObject(element, depth + 1)) {
+            return false;
+          }
+        }
+        return true;
+      }
+
+      // The fields of other types do not capture their code, and JDK types may
+      // not have a stable set of fields.
+      final var name = type.getName();
+      if (!name.startsWith("edu.wpi.first.wpilibj.") || type.isAnonymousClass()
+          || type.isLocalClass() || type.isSynthetic()) {
+        return false;
+      }
+
+      putString(name);
+      for (var current = type; current != null; current = current.getSuperclass()) {
+        var fields = new ArrayList<>(Arrays.asList(current.getDeclaredFields()));
+        fields.sort(Comparator.comparing(Field::getName));
+        for (final var field : fields) {
+          if (Modifier.isStatic(field.getModifiers())) {
+            continue;
+          }
+          final Object value;
+          try {
+            field.setAccessible(true);
+            value = field.get(object);
+          } catch (IllegalAccessException | RuntimeException ex) {
+            return false;
+          }
+          putString(field.getName());
+          if (!putObject(value, depth + 1)) {
+            return false;
+          }
+        }
+      }
+      return true;
+    }
+
+    private static String primitiveArrayToString(Object array) {
+      if (array instanceof double[]) {
+        return Arrays.toString((double[]) array);
+      } else if (array instanceof int[]) {
+        return Arrays.toString((int[]) array);
+      } else if (array instanceof long[]) {
+        return Arrays.toString((long[]) array);
+      } else if (array instanceof float[]) {
+        return Arrays.toString((float[]) array);
+      } else if (array instanceof boolean[]) {
+        return Arrays.toString((boolean[]) array);
+      } else if (array instanceof byte[]) {
+        return Arrays.toString((byte[]) array);
+      } else if (array instanceof short[]) {
+        return Arrays.toString((short[]) array);
+      } else {
+        return Arrays.toString((char[]) array);
+      }
+    }
+
+    String toHexString() {
+      final var hash = m_digest.digest();
+      var builder = new StringBuilder(hash.length * 2);
+      for (final var b : hash) {
+        builder.append(String.format("%02x", b));
+      }
+      return builder.toString();
+    }
+  }
+}
@@ -9,6 +9,9 @@ package edu.wpi.first.wpilibj.trajectory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
 
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
@@ -19,16 +22,77 @@ import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
 import edu.wpi.first.wpilibj.spline.Spline;
 import edu.wpi.first.wpilibj.spline.SplineHelper;
 import edu.wpi.first.wpilibj.spline.SplineParameterizer;
+import edu.wpi.first.wpilibj.spline.SplineSample;
+import edu.wpi.first.wpilibj.spline.SplineSampleBuffer;
 import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveKinematicsConstraint;
 import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
 
 public final class TrajectoryGenerator {
+  private static volatile ForkJoinPool splinePool;
+
   /**
    * Private constructor because this is a utility class.
    */
   private TrajectoryGenerator() {
   }
 
+  /**
+   * Sets the pool used to parameterize the splines of a trajectory in
+   * parallel. Each spline between two waypoints is parameterized as a separate
+   * task and the results are joined in order, so the generated trajectories
+   * are identical to those generated serially. Splines are parameterized
+   * serially by default.
+   *
+   * <p>This only helps for trajectories with several waypoints. Use
+   * {@link #generateTrajectories(List)} to generate many trajectories at once.
+   *
+   * @param pool The pool to parameterize splines on, or null to parameterize
+   *             them serially.
+   */
+  public static void setSplinePool(ForkJoinPool pool) {
+    splinePool = pool;
+  }
+
+  /**
+   * Generates many trajectories in parallel on the common fork-join pool. This
+   * is useful for generating all of the trajectories for a match at once, such
+   * as in robotInit().
+   *
+   * <pre><code>
+   * var trajectories = TrajectoryGenerator.generateTrajectories(List.of(
+   *     () -&gt; TrajectoryGenerator.generateTrajectory(waypointsA, constraints, ...),
+   *     () -&gt; TrajectoryGenerator.generateTrajectory(waypointsB, constraints, ...)));
+   * </code></pre>
+   *
+   * @param generators Functions that each generate one trajectory.
+   * @return The generated trajectories, in the same order as the generators.
+   */
+  public static List<Trajectory> generateTrajectories(
+      List<? extends Supplier<Trajectory>> generators) {
+    return generateTrajectories(generators, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Generates many trajectories in parallel on the given pool.
+   *
+   * @param generators Functions that each generate one trajectory.
+   * @param pool       The pool to generate the trajectories on.
+   * @return The generated trajectories, in the same order as the generators.
+   */
+  public static List<Trajectory> generateTrajectories(
+      List<? extends Supplier<Trajectory>> generators, ForkJoinPool pool) {
+    var tasks = new ArrayList<ForkJoinTask<Trajectory>>(generators.size());
+    for (final var generator : generators) {
+      tasks.add(pool.submit(generator::get));
+    }
+
+    var trajectories = new ArrayList<Trajectory>(tasks.size());
+    for (final var task : tasks) {
+      trajectories.add(task.join());
+    }
+    return trajectories;
+  }
+
   /**
    * Generates a trajectory with the given waypoints and constraints.
    *
@@ -345,22 +409,76 @@ public final class TrajectoryGenerator {
    */
   public static List<PoseWithCurvature> splinePointsFromSplines(
       Spline[] splines) {
-    // Create the vector of spline points.
-    var splinePoints = new ArrayList<PoseWithCurvature>();
+    return splinePointsFromSplines(splines, SplineParameterizer.kDefaultTolerances);
+  }
 
-    // Add the first point to the vector.
-    splinePoints.add(splines[0].getPoint(0.0));
+  /**
+   * Generate spline points from a vector of splines by parameterizing the
+   * splines with the given tolerances. Coarser tolerances produce fewer points,
+   * which is useful for quickly previewing a path.
+   *
+   * @param splines    The splines to parameterize.
+   * @param tolerances The tolerances used to parameterize each spline.
+   *
+   * @return The spline points for use in time parameterization of a trajectory.
+   */
+  public static List<PoseWithCurvature> splinePointsFromSplines(
+      Spline[] splines, SplineParameterizer.Tolerances tolerances) {
+    final var pool = splinePool;
+    if (pool != null && splines.length > 1) {
+      return splinePointsFromSplines(splines, tolerances, pool);
+    }
+
+    // Create the buffer of spline points.
+    var splinePoints = new SplineSampleBuffer();
+
+    // Add the first point to the buffer.
+    var start = new SplineSample();
+    splines[0].getPoint(0.0, start);
+    splinePoints.add(start);
 
     // Iterate through the vector and parameterize each spline, adding the
-    // parameterized points to the final vector.
+    // parameterized points to the final buffer. The first point of each spline
+    // is not added because it's a duplicate of the last point from the
+    // previous spline.
+    for (final var spline : splines) {
+      SplineParameterizer.appendPoints(spline, 0.0, 1.0, tolerances, splinePoints);
+    }
+    return splinePoints.toList();
+  }
+
+  /**
+   * Generate spline points from a vector of splines by parameterizing each
+   * spline as a separate task on the given pool. The points are joined in the
+   * same order as the splines, so the result is identical to parameterizing
+   * the splines serially.
+   *
+   * @param splines    The splines to parameterize.
+   * @param tolerances The tolerances used to parameterize each spline.
+   * @param pool       The pool to parameterize the splines on.
+   *
+   * @return The spline points for use in time parameterization of a trajectory.
+   */
+  public static List<PoseWithCurvature> splinePointsFromSplines(
+      Spline[] splines, SplineParameterizer.Tolerances tolerances, ForkJoinPool pool) {
+    var tasks = new ArrayList<ForkJoinTask<SplineSampleBuffer>>(splines.length);
     for (final var spline : splines) {
-      var points = SplineParameterizer.parameterize(spline);
+      tasks.add(pool.submit(() -> {
+        var points = new SplineSampleBuffer();
+        SplineParameterizer.appendPoints(spline, 0.0, 1.0, tolerances, points);
+        return points;
+      }));
+    }
+
+    // Add the first point, then each spline's points without its first point.
+    var splinePoints = new SplineSampleBuffer();
+    var start = new SplineSample();
+    splines[0].getPoint(0.0, start);
+    splinePoints.add(start);
 
-      // Append the array of poses to the vector. We are removing the first
-      // point because it's a duplicate of the last point from the previous
-      // spline.
-      splinePoints.addAll(points.subList(1, points.size()));
+    for (final var task : tasks) {
+      splinePoints.addAll(task.join());
     }
-    return splinePoints;
+    return splinePoints.toList();
   }
 }
@@ -0,0 +1,228 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Reads trajectories written by {@link TrajectoryWriter}.
+ *
+ * <p>The reader wraps a buffer without copying it, and each state is decoded
+ * from the buffer when it is accessed. This means that a trajectory that has
+ * been memory-mapped with {@link #map(Path)} is only paged in as it is used,
+ * and no {@link Trajectory.State} objects are created unless
+ * {@link #toTrajectory()} is called.
+ */
+public class TrajectoryReader {
+  private final ByteBuffer m_buffer;
+  private final int m_size;
+
+  /**
+   * Constructs a reader over a serialized trajectory that starts at the
+   * buffer's position. The buffer is not copied, so it must not be modified
+   * while the reader is in use. The buffer's position and byte order are left
+   * unchanged.
+   *
+   * @param buffer The buffer to read from. This may be a heap, direct or
+   *               memory-mapped buffer.
+   * @throws IllegalArgumentException If the buffer does not contain a
+   *                                  trajectory in a supported version of the
+   *                                  format.
+   */
+  public TrajectoryReader(ByteBuffer buffer) {
+    var data = buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
+    if (data.remaining() < TrajectoryWriter.kHeaderSize
+        || data.getInt(0) != TrajectoryWriter.kMagic) {
+      throw new IllegalArgumentException("Buffer does not contain a trajectory");
+    }
+    final int version = data.getInt(Integer.BYTES);
+    if (version != TrajectoryWriter.kVersion) {
+      throw new IllegalArgumentException("Unsupported trajectory format version " + version);
+    }
+    final int size = data.getInt(2 * Integer.BYTES);
+    if (size < 1 || (data.remaining() - TrajectoryWriter.kHeaderSize)
+        / TrajectoryWriter.kStateSize < size) {
+      throw new IllegalArgumentException("Trajectory is empty or truncated");
+    }
+
+    m_buffer = data;
+    m_size = size;
+  }
+
+  /**
+   * Memory-maps a trajectory file and constructs a reader over it.
+   *
+   * @param file The file to read from.
+   * @return A reader over the file.
+   * @throws IOException If the file could not be mapped.
+   * @throws IllegalArgumentException If the file does not contain a trajectory
+   *                                  in a supported version of the format.
+   */
+  public static TrajectoryReader map(Path file) throws IOException {
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      // The mapping stays valid after the channel is closed.
+      return new TrajectoryReader(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+  }
+
+  /**
+   * Returns the number of states in the trajectory.
+   *
+   * @return The number of states in the trajectory.
+   */
+  public int size() {
+    return m_size;
+  }
+
+  /**
+   * Returns the overall duration of the trajectory.
+   *
+   * @return The duration of the trajectory.
+   */
+  public double getTotalTimeSeconds() {
+    return getDouble(m_size - 1, 0);
+  }
+
+  /**
+   * Copies the state at the given index into a mutable state.
+   *
+   * @param index The index of the state.
+   * @param state The state to copy into.
+   */
+  public void getState(int index, PackedTrajectory.MutableState state) {
+    Objects.checkIndex(index, m_size);
+    final int offset = TrajectoryWriter.kHeaderSize + index * TrajectoryWriter.kStateSize;
+    state.timeSeconds = m_buffer.getDouble(offset);
+    state.velocityMetersPerSecond = m_buffer.getDouble(offset + Double.BYTES);
+    state.accelerationMetersPerSecondSq = m_buffer.getDouble(offset + 2 * Double.BYTES);
+    state.xMeters = m_buffer.getDouble(offset + 3 * Double.BYTES);
+    state.yMeters = m_buffer.getDouble(offset + 4 * Double.BYTES);
+    state.headingRadians = m_buffer.getDouble(offset + 5 * Double.BYTES);
+    state.curvatureRadPerMeter = m_buffer.getDouble(offset + 6 * Double.BYTES);
+  }
+
+  /**
+   * Returns the time of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The time of the state.
+   */
+  public double getTimeSeconds(int index) {
+    return getDouble(index, 0);
+  }
+
+  /**
+   * Returns the velocity of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The velocity of the state.
+   */
+  public double getVelocityMetersPerSecond(int index) {
+    return getDouble(index, 1);
+  }
+
+  /**
+   * Returns the acceleration of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The acceleration of the state.
+   */
+  public double getAccelerationMetersPerSecondSq(int index) {
+    return getDouble(index, 2);
+  }
+
+  /**
+   * Returns the x position of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The x position of the state.
+   */
+  public double getXMeters(int index) {
+    return getDouble(index, 3);
+  }
+
+  /**
+   * Returns the y position of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The y position of the state.
+   */
+  public double getYMeters(int index) {
+    return getDouble(index, 4);
+  }
+
+  /**
+   * Returns the heading of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The heading of the state.
+   */
+  public double getHeadingRadians(int index) {
+    return getDouble(index, 5);
+  }
+
+  /**
+   * Returns the curvature of the state at the given index.
+   *
+   * @param index The index of the state.
+   * @return The curvature of the state.
+   */
+  public double getCurvatureRadPerMeter(int index) {
+    return getDouble(index, 6);
+  }
+
+  /**
+   * Copies the trajectory into a packed trajectory, which can be sampled.
+   *
+   * @return The packed trajectory.
+   */
+  @SuppressWarnings("LocalVariableName")
+  public PackedTrajectory toPackedTrajectory() {
+    var time = new double[m_size];
+    var velocity = new double[m_size];
+    var acceleration = new double[m_size];
+    var x = new double[m_size];
+    var y = new double[m_size];
+    var heading = new double[m_size];
+    var curvature = new double[m_size];
+
+    var state = new PackedTrajectory.MutableState();
+    for (int i = 0; i < m_size; i++) {
+      getState(i, state);
+      time[i] = state.timeSeconds;
+      velocity[i] = state.velocityMetersPerSecond;
+      acceleration[i] = state.accelerationMetersPerSecondSq;
+      x[i] = state.xMeters;
+      y[i] = state.yMeters;
+      heading[i] = state.headingRadians;
+      curvature[i] = state.curvatureRadPerMeter;
+    }
+    return new PackedTrajectory(time, velocity, acceleration, x, y, heading, curvature);
+  }
+
+  /**
+   * Copies the trajectory into a {@link Trajectory}.
+   *
+   * @return The trajectory.
+   */
+  public Trajectory toTrajectory() {
+    return toPackedTrajectory().toTrajectory();
+  }
+
+  private double getDouble(int index, int field) {
+    Objects.checkIndex(index, m_size);
+    return m_buffer.getDouble(TrajectoryWriter.kHeaderSize + index * TrajectoryWriter.kStateSize
+        + field * Double.BYTES);
+  }
+}
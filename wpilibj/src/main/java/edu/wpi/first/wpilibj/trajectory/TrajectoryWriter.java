@@ -0,0 +1,136 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes trajectories in a compact binary format that can be read back with
+ * {@link TrajectoryReader}.
+ *
+ * <p>The format is little-endian. It starts with a 16 byte header made up of
+ * four ints: the magic number {@link #kMagic}, the format version
+ * {@link #kVersion}, the number of states, and a reserved int that is zero.
+ * The header is followed by one record per state made up of seven doubles:
+ * time, velocity, acceleration, x, y, heading in radians, and curvature.
+ */
+public final class TrajectoryWriter {
+  /**
+   * The magic number at the start of every trajectory file.
+   */
+  public static final int kMagic = 0x4A525457;
+
+  /**
+   * The current version of the format.
+   */
+  public static final int kVersion = 1;
+
+  /**
+   * The size of the header in bytes.
+   */
+  public static final int kHeaderSize = 4 * Integer.BYTES;
+
+  /**
+   * The size of each state in bytes.
+   */
+  public static final int kStateSize = 7 * Double.BYTES;
+
+  /**
+   * Private constructor because this is a utility class.
+   */
+  private TrajectoryWriter() {
+  }
+
+  /**
+   * Returns the number of bytes needed to store a trajectory.
+   *
+   * @param stateCount The number of states in the trajectory.
+   * @return The number of bytes needed to store the trajectory.
+   */
+  public static int getSerializedSize(int stateCount) {
+    return kHeaderSize + stateCount * kStateSize;
+  }
+
+  /**
+   * Writes a trajectory into a buffer, starting at the buffer's position. The
+   * position is advanced past the written trajectory, and the byte order of the
+   * buffer is left unchanged.
+   *
+   * @param trajectory The trajectory to write.
+   * @param buffer     The buffer to write into.
+   */
+  public static void write(Trajectory trajectory, ByteBuffer buffer) {
+    write(new PackedTrajectory(trajectory), buffer);
+  }
+
+  /**
+   * Writes a packed trajectory into a buffer, starting at the buffer's
+   * position. The position is advanced past the written trajectory, and the
+   * byte order of the buffer is left unchanged.
+   *
+   * @param trajectory The trajectory to write.
+   * @param buffer     The buffer to write into.
+   */
+  public static void write(PackedTrajectory trajectory, ByteBuffer buffer) {
+    final int size = trajectory.size();
+    var out = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    out.putInt(kMagic);
+    out.putInt(kVersion);
+    out.putInt(size);
+    out.putInt(0);
+    for (int i = 0; i < size; i++) {
+      out.putDouble(trajectory.getTimeSeconds(i));
+      out.putDouble(trajectory.getVelocityMetersPerSecond(i));
+      out.putDouble(trajectory.getAccelerationMetersPerSecondSq(i));
+      out.putDouble(trajectory.getXMeters(i));
+      out.putDouble(trajectory.getYMeters(i));
+      out.putDouble(trajectory.getHeadingRadians(i));
+      out.putDouble(trajectory.getCurvatureRadPerMeter(i));
+    }
+    buffer.position(out.position());
+  }
+
+  /**
+   * Writes a trajectory to a file, replacing the file if it exists. The
+   * trajectory is written to a temporary file in the same directory first and
+   * then moved into place, so a partially written file is never seen by a
+   * reader.
+   *
+   * @param trajectory The trajectory to write.
+   * @param file       The file to write to.
+   * @throws IOException If the file could not be written.
+   */
+  public static void write(Trajectory trajectory, Path file) throws IOException {
+    final var packed = new PackedTrajectory(trajectory);
+    var buffer = ByteBuffer.allocate(getSerializedSize(packed.size()));
+    write(packed, buffer);
+    buffer.flip();
+
+    final var directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    final var temp = Files.createTempFile(directory, "traj", ".tmp");
+    try {
+      try (var channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+}
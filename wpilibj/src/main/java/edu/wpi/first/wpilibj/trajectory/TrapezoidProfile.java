@@ -165,12 +165,12 @@ public class TrapezoidProfile {
     State result = m_initial;
 
     if (t < m_endAccel) {
-      result.velocity += t * m_constraints.maxAcceleration;
       result.position += (m_initial.velocity + t * m_constraints.maxAcceleration / 2.0) * t;
+      result.velocity += t * m_constraints.maxAcceleration;
     } else if (t < m_endFullSpeed) {
-      result.velocity = m_constraints.maxVelocity;
       result.position += (m_initial.velocity + m_endAccel * m_constraints.maxAcceleration
           / 2.0) * m_endAccel + m_constraints.maxVelocity * (t - m_endAccel);
+      result.velocity = m_constraints.maxVelocity;
     } else if (t <= m_endDeccel) {
       result.velocity = m_goal.velocity + (m_endDeccel - t) * m_constraints.maxAcceleration;
       double timeLeft = m_endDeccel - t;
@@ -0,0 +1,73 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory.constraint;
+
+/**
+ * A trajectory constraint that can be evaluated for many points of a
+ * trajectory at once.
+ *
+ * <p>The points are passed as parallel arrays, and the constraint is evaluated
+ * for every index from start (inclusive) to end (exclusive). Implementations
+ * should use simple loops over the arrays so that the JIT compiler can unroll
+ * and vectorize them, and must give the same results as the single-point
+ * methods of {@link TrajectoryConstraint}.
+ *
+ * <p>The trajectory parameterizer evaluates the max velocity of every point of
+ * a path once, before the velocity at that point is known. Because of this, the
+ * max velocity that a batch constraint allows at a point must not depend on the
+ * velocity before constraints are applied. Constraints whose max velocity does
+ * depend on it should only implement {@link TrajectoryConstraint}.
+ */
+public interface BatchTrajectoryConstraint extends TrajectoryConstraint {
+  /**
+   * Returns the max velocity at each of a range of points.
+   *
+   * @param xMeters                      The x position of each point.
+   * @param yMeters                      The y position of each point.
+   * @param headingRadians               The heading of each point.
+   * @param curvatureRadPerMeter         The curvature of each point.
+   * @param velocitiesMetersPerSecond    The velocity at each point before constraints are
+   *                                     applied.
+   * @param maxVelocitiesMetersPerSecond The array to store the absolute maximum velocity at
+   *                                     each point in. This may be the same array as
+   *                                     velocitiesMetersPerSecond.
+   * @param start                        The index of the first point.
+   * @param end                          The index after the last point.
+   */
+  @SuppressWarnings({"ParameterName", "PMD.ExcessiveParameterList"})
+  void getMaxVelocitiesMetersPerSecond(double[] xMeters, double[] yMeters,
+                                       double[] headingRadians, double[] curvatureRadPerMeter,
+                                       double[] velocitiesMetersPerSecond,
+                                       double[] maxVelocitiesMetersPerSecond,
+                                       int start, int end);
+
+  /**
+   * Returns the minimum and maximum allowable acceleration at each of a range
+   * of points.
+   *
+   * @param xMeters                           The x position of each point.
+   * @param yMeters                           The y position of each point.
+   * @param headingRadians                    The heading of each point.
+   * @param curvatureRadPerMeter              The curvature of each point.
+   * @param velocitiesMetersPerSecond         The speed at each point.
+   * @param minAccelerationsMetersPerSecondSq The array to store the minimum acceleration at
+   *                                          each point in.
+   * @param maxAccelerationsMetersPerSecondSq The array to store the maximum acceleration at
+   *                                          each point in.
+   * @param start                             The index of the first point.
+   * @param end                               The index after the last point.
+   */
+  @SuppressWarnings({"ParameterName", "PMD.ExcessiveParameterList"})
+  void getMinMaxAccelerationsMetersPerSecondSq(double[] xMeters, double[] yMeters,
+                                               double[] headingRadians,
+                                               double[] curvatureRadPerMeter,
+                                               double[] velocitiesMetersPerSecond,
+                                               double[] minAccelerationsMetersPerSecondSq,
+                                               double[] maxAccelerationsMetersPerSecondSq,
+                                               int start, int end);
+}
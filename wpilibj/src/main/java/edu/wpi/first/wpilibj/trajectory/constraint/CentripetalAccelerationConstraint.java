@@ -7,6 +7,8 @@
 
 package edu.wpi.first.wpilibj.trajectory.constraint;
 
+import java.util.Arrays;
+
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 
 /**
@@ -18,7 +20,7 @@ import edu.wpi.first.wpilibj.geometry.Pose2d;
  * robot to slow down around tight turns, making it easier to track trajectories
  * with sharp turns.
  */
-public class CentripetalAccelerationConstraint implements TrajectoryConstraint {
+public class CentripetalAccelerationConstraint implements BatchTrajectoryConstraint {
   private final double m_maxCentripetalAccelerationMetersPerSecondSq;
 
   /**
@@ -70,4 +72,62 @@ public class CentripetalAccelerationConstraint implements TrajectoryConstraint {
     // of the robot.
     return new MinMax();
   }
+
+  /**
+   * Returns the max velocity at each of a range of points.
+   *
+   * @param xMeters                      The x position of each point.
+   * @param yMeters                      The y position of each point.
+   * @param headingRadians               The heading of each point.
+   * @param curvatureRadPerMeter         The curvature of each point.
+   * @param velocitiesMetersPerSecond    The velocity at each point before constraints are
+   *                                     applied.
+   * @param maxVelocitiesMetersPerSecond The array to store the absolute maximum velocity at
+   *                                     each point in. This may be the same array as
+   *                                     velocitiesMetersPerSecond.
+   * @param start                        The index of the first point.
+   * @param end                          The index after the last point.
+   */
+  @Override
+  @SuppressWarnings({"ParameterName", "PMD.ExcessiveParameterList"})
+  public void getMaxVelocitiesMetersPerSecond(double[] xMeters, double[] yMeters,
+                                              double[] headingRadians,
+                                              double[] curvatureRadPerMeter,
+                                              double[] velocitiesMetersPerSecond,
+                                              double[] maxVelocitiesMetersPerSecond,
+                                              int start, int end) {
+    for (int i = start; i < end; i++) {
+      maxVelocitiesMetersPerSecond[i] = Math.sqrt(m_maxCentripetalAccelerationMetersPerSecondSq
+          / Math.abs(curvatureRadPerMeter[i]));
+    }
+  }
+
+  /**
+   * Returns the minimum and maximum allowable acceleration at each of a range
+   * of points.
+   *
+   * @param xMeters                           The x position of each point.
+   * @param yMeters                           The y position of each point.
+   * @param headingRadians                    The heading of each point.
+   * @param curvatureRadPerMeter              The curvature of each point.
+   * @param velocitiesMetersPerSecond         The speed at each point.
+   * @param minAccelerationsMetersPerSecondSq The array to store the minimum acceleration at
+   *                                          each point in.
+   * @param maxAccelerationsMetersPerSecondSq The array to store the maximum acceleration at
+   *                                          each point in.
+   * @param start                             The index of the first point.
+   * @param end                               The index after the last point.
+   */
+  @Override
+  @SuppressWarnings({"ParameterName", "PMD.ExcessiveParameterList"})
+  public void getMinMaxAccelerationsMetersPerSecondSq(double[] xMeters, double[] yMeters,
+                                                      double[] headingRadians,
+                                                      double[] curvatureRadPerMeter,
+                                                      double[] velocitiesMetersPerSecond,
+                                                      double[] minAccelerationsMetersPerSecondSq,
+                                                      double[] maxAccelerationsMetersPerSecondSq,
+                                                      int start, int end) {
+    Arrays.fill(minAccelerationsMetersPerSecondSq, start, end, -Double.MAX_VALUE);
+    Arrays.fill(maxAccelerationsMetersPerSecondSq, start, end, Double.MAX_VALUE);
+  }
 }
@@ -7,6 +7,8 @@
 
 package edu.wpi.first.wpilibj.trajectory.constraint;
 
+import java.util.Arrays;
+
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
@@ -17,7 +19,7 @@ import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
  * commanded velocities for both sides of the drivetrain stay below a certain
  * limit.
  */
-public class DifferentialDriveKinematicsConstraint implements TrajectoryConstraint {
+public class DifferentialDriveKinematicsConstraint implements BatchTrajectoryConstraint {
   private final double m_maxSpeedMetersPerSecond;
   private final DifferentialDriveKinematics m_kinematics;
 
@@ -72,4 +74,69 @@ public class DifferentialDriveKinematicsConstraint implements TrajectoryConstrai
                                                        double velocityMetersPerSecond) {
     return new MinMax();
   }
+
+  /**
+   * Returns the max velocity at each of a range of points.
+   *
+   * @param xMeters                      The x position of each point.
+   * @param yMeters                      The y position of each point.
+   * @param headingRadians               The heading of each point.
+   * @param curvatureRadPerMeter         The curvature of each point.
+   * @param velocitiesMetersPerSecond    The velocity at each point before constraints are
+   *                                     applied.
+   * @param maxVelocitiesMetersPerSecond The array to store the absolute maximum velocity at
+   *                                     each point in. This may be the same array as
+   *                                     velocitiesMetersPerSecond.
+   * @param start                        The index of the first point.
+   * @param end                          The index after the last point.
+   */
+  @Override
+  @SuppressWarnings({"ParameterName", "PMD.ExcessiveParameterList"})
+  public void getMaxVelocitiesMetersPerSecond(double[] xMeters, double[] yMeters,
+                                              double[] headingRadians,
+                                              double[] curvatureRadPerMeter,
+                                              double[] velocitiesMetersPerSecond,
+                                              double[] maxVelocitiesMetersPerSecond,
+                                              int start, int end) {
+    final double halfTrackWidth = m_kinematics.getTrackWidthMeters() / 2;
+    for (int i = start; i < end; i++) {
+      // The faster side moves at v * (1 + trackWidth / 2 * |k|), so this is the
+      // chassis speed at which that side reaches the max speed. Above it, the
+      // wheel speeds are normalized down to it.
+      final double limit = m_maxSpeedMetersPerSecond
+          / (1 + halfTrackWidth * Math.abs(curvatureRadPerMeter[i]));
+      final double velocity = velocitiesMetersPerSecond[i];
+      maxVelocitiesMetersPerSecond[i] = Math.abs(velocity) > limit
+          ? Math.copySign(limit, velocity) : velocity;
+    }
+  }
+
+  /**
+   * Returns the minimum and maximum allowable acceleration at each of a range
+   * of points.
+   *
+   * @param xMeters                           The x position of each point.
+   * @param yMeters                           The y position of each point.
+   * @param headingRadians                    The heading of each point.
+   * @param curvatureRadPerMeter              The curvature of each point.
+   * @param velocitiesMetersPerSecond         The speed at each point.
+   * @param minAccelerationsMetersPerSecondSq The array to store the minimum acceleration at
+   *                                          each point in.
+   * @param maxAccelerationsMetersPerSecondSq The array to store the maximum acceleration at
+   *                                          each point in.
+   * @param start                             The index of the first point.
+   * @param end                               The index after the last point.
+   */
+  @Override
+  @SuppressWarnings({"ParameterName", "PMD.ExcessiveParameterList"})
+  public void getMinMaxAccelerationsMetersPerSecondSq(double[] xMeters, double[] yMeters,
+                                                      double[] headingRadians,
+                                                      double[] curvatureRadPerMeter,
+                                                      double[] velocitiesMetersPerSecond,
+                                                      double[] minAccelerationsMetersPerSecondSq,
+                                                      double[] maxAccelerationsMetersPerSecondSq,
+                                                      int start, int end) {
+    Arrays.fill(minAccelerationsMetersPerSecondSq, start, end, -Double.MAX_VALUE);
+    Arrays.fill(maxAccelerationsMetersPerSecondSq, start, end, Double.MAX_VALUE);
+  }
 }
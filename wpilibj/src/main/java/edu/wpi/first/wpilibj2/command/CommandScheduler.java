@@ -8,20 +8,25 @@
 package edu.wpi.first.wpilibj2.command;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 
 import edu.wpi.first.hal.FRCNetComm.tInstances;
 import edu.wpi.first.hal.FRCNetComm.tResourceType;
 import edu.wpi.first.hal.HAL;
 import edu.wpi.first.networktables.NetworkTableEntry;
+import edu.wpi.first.wpilibj.DriverStation;
 import edu.wpi.first.wpilibj.RobotState;
 import edu.wpi.first.wpilibj.Sendable;
 import edu.wpi.first.wpilibj.smartdashboard.SendableBuilder;
@@ -57,16 +62,45 @@ public final class CommandScheduler implements Sendable {
   //commands.
   private final Map<Command, CommandState> m_scheduledCommands = new LinkedHashMap<>();
 
-  //A map from required subsystems to their requiring commands.  Also used as a set of the
-  //currently-required subsystems.
-  private final Map<Subsystem, Command> m_requirements = new LinkedHashMap<>();
+  //A map from every subsystem the scheduler has seen to a dense integer id, so that sets of
+  //subsystems can be stored as bitsets.  A subsystem keeps its id until it is unregistered while
+  //no command requires it, so subsystems that are never registered are held for good.  Freed ids
+  //are reused, and the generation changes whenever one is freed.
+  private final Map<Subsystem, Integer> m_subsystemIds = new HashMap<>();
+  private final List<Integer> m_freeSubsystemIds = new ArrayList<>();
+  private int m_subsystemIdGeneration;
+
+  //The requirements of each command that has been scheduled as a bitset of ids, so that they're
+  //only rebuilt when the command's requirements or the ids change.
+  private final Map<Command, RequirementMask> m_requirementMasks = new WeakHashMap<>();
+
+  //The currently-required subsystems as a bitset of ids, with one word per 64 subsystems, and the
+  //command requiring each subsystem indexed by id.
+  private long[] m_requiredMask = new long[1];
+  private Command[] m_requiringCommands = new Command[Long.SIZE];
 
   //A map from subsystems registered with the scheduler to their default commands.  Also used
   //as a list of currently-registered subsystems.
   private final Map<Subsystem, Command> m_subsystems = new LinkedHashMap<>();
 
-  //The set of currently-registered buttons that will be polled every iteration.
-  private final Collection<Runnable> m_buttons = new LinkedHashSet<>();
+  //The registered subsystems whose periodic methods may run on another thread, and the registered
+  //subsystems split by whether they may, rebuilt when the subsystems change.
+  private final Set<Subsystem> m_threadSafeSubsystems = new HashSet<>();
+  private Subsystem[] m_serialSubsystems = new Subsystem[0];
+  private Subsystem[] m_parallelSubsystems = new Subsystem[0];
+  private TimingHistogram[] m_parallelTimings = new TimingHistogram[0];
+  private boolean m_subsystemsChanged = true;
+
+  //The barrier that starts and finishes each round of parallel periodic methods, shared by the
+  //main thread and the worker threads.  Null unless parallel periodic methods are enabled.
+  private Phaser m_periodicPhaser;
+  private final AtomicInteger m_nextParallelSubsystem = new AtomicInteger();
+  private final AtomicReference<Throwable> m_periodicError = new AtomicReference<>();
+  private boolean m_parallelTiming;
+
+  //The currently-registered buttons, in the order they were registered.  Joystick buttons are
+  //only polled when their buttons change; the others are polled every iteration.
+  private final ButtonBindings m_buttons = new ButtonBindings();
 
   private boolean m_disabled;
 
@@ -87,19 +121,102 @@ public final class CommandScheduler implements Sendable {
   private final Map<Command, Boolean> m_toSchedule = new LinkedHashMap<>();
   private final List<Command> m_toCancel = new ArrayList<>();
 
+  //Timing of each phase of run(), indexed by phase, and of each subsystem and command.  Commands
+  //are often created on the fly, so their timings are only weakly referenced.
+  private boolean m_timingEnabled;
+  private final TimingHistogram[] m_phaseTimings = new TimingHistogram[Phase.values().length];
+  private final Map<Subsystem, TimingHistogram> m_subsystemTimings = new LinkedHashMap<>();
+  private final Map<Command, TimingHistogram> m_commandTimings = new WeakHashMap<>();
+
+  //NetworkTable entries for publishing the timings, and how often to publish them
+  private NetworkTableEntry m_timingNamesEntry;
+  private NetworkTableEntry m_timingMeansEntry;
+  private NetworkTableEntry m_timingMaxesEntry;
+  private long m_timingPublishPeriod = 1_000_000_000L; // ns
+  private long m_lastTimingPublishTime; // ns
+
+  /**
+   * The phases of {@link CommandScheduler#run()} that are timed when timing is enabled.
+   */
+  public enum Phase {
+    /**
+     * Calling the periodic method of every registered subsystem.
+     */
+    kSubsystemPeriodic("Subsystem periodic"),
+    /**
+     * Polling the button bindings.
+     */
+    kButtonPoll("Button poll"),
+    /**
+     * Executing the scheduled commands, including scheduling and canceling the commands queued
+     * while they ran.
+     */
+    kCommandExecute("Command execute"),
+    /**
+     * Scheduling the default commands of subsystems that aren't required.
+     */
+    kDefaultCommands("Default commands"),
+    /**
+     * The whole of run().
+     */
+    kTotal("Total");
+
+    private final String m_name;
+
+    Phase(String name) {
+      m_name = name;
+    }
+
+    @Override
+    public String toString() {
+      return m_name;
+    }
+  }
 
   CommandScheduler() {
     HAL.report(tResourceType.kResourceType_Command, tInstances.kCommand_Scheduler);
     SendableRegistry.addLW(this, "Scheduler");
+    for (int i = 0; i < m_phaseTimings.length; i++) {
+      m_phaseTimings[i] = new TimingHistogram();
+    }
   }
 
   /**
-   * Adds a button binding to the scheduler, which will be polled to schedule commands.
+   * Adds a button binding to the scheduler, which will be polled to schedule commands.  Button
+   * bindings are polled in the order they were added, including those added with
+   * {@link #addJoystickButton(Runnable, int, int, boolean)}.  Adding a binding that has already
+   * been added does nothing.
    *
    * @param button The button to add
    */
   public void addButton(Runnable button) {
-    m_buttons.add(button);
+    m_buttons.add(button, -1, 0, false);
+  }
+
+  /**
+   * Adds a button binding that depends only on one joystick button.  Rather than being polled
+   * every iteration, it is only polled when that button has changed since the last iteration, which
+   * saves checking every binding when most buttons aren't being pressed.  Bindings that act every
+   * iteration while the button is held can ask to also be polled while the button is pressed.
+   *
+   * <p>The button states are read from the {@link DriverStation} once per joystick per iteration.
+   * When bindings are polled, they are polled in the order they were added, together with the
+   * buttons added with {@link #addButton(Runnable)}.
+   *
+   * @param button       The button to add
+   * @param stick        The joystick port of the button
+   * @param buttonNumber The button number, starting at 1
+   * @param whilePressed Whether to also poll the button every iteration while it is pressed
+   */
+  public void addJoystickButton(Runnable button, int stick, int buttonNumber,
+                                boolean whilePressed) {
+    //Buttons that the driver station can't report are polled as usual
+    if (stick < 0 || stick >= DriverStation.kJoystickPorts || buttonNumber < 1
+        || buttonNumber > Integer.SIZE) {
+      addButton(button);
+      return;
+    }
+    m_buttons.add(button, stick, 1 << (buttonNumber - 1), whilePressed);
   }
 
   /**
@@ -109,22 +226,116 @@ public final class CommandScheduler implements Sendable {
     m_buttons.clear();
   }
 
+  /**
+   * Returns the id of a subsystem, assigning it the next free id if it doesn't have one yet.
+   *
+   * @param subsystem The subsystem
+   * @return The id of the subsystem
+   */
+  private int getSubsystemId(Subsystem subsystem) {
+    Integer id = m_subsystemIds.get(subsystem);
+    if (id == null) {
+      id = m_freeSubsystemIds.isEmpty() ? m_subsystemIds.size()
+          : m_freeSubsystemIds.remove(m_freeSubsystemIds.size() - 1);
+      m_subsystemIds.put(subsystem, id);
+      if (id >= m_requiringCommands.length) {
+        m_requiringCommands = Arrays.copyOf(m_requiringCommands, 2 * m_requiringCommands.length);
+        m_requiredMask = Arrays.copyOf(m_requiredMask, m_requiringCommands.length / Long.SIZE);
+      }
+    }
+    return id;
+  }
+
+  /**
+   * Frees the id of a subsystem that no command requires, so that it can be reused.
+   *
+   * @param subsystem The subsystem
+   */
+  private void releaseSubsystemId(Subsystem subsystem) {
+    Integer id = m_subsystemIds.get(subsystem);
+    if (id != null && !isRequired(id)) {
+      m_subsystemIds.remove(subsystem);
+      m_freeSubsystemIds.add(id);
+      m_subsystemIdGeneration++;
+    }
+  }
+
+  /**
+   * Returns the requirements of a command as a bitset of their ids.  The bitset is cached, and is
+   * only rebuilt if the command returns a different set of requirements, the set changes size, or
+   * a subsystem id has been freed since.
+   *
+   * @param command The command
+   * @return The bitset, which is no longer than the bitset of required subsystems
+   */
+  private long[] getRequirementMask(Command command) {
+    Set<Subsystem> requirements = command.getRequirements();
+    RequirementMask cached = m_requirementMasks.get(command);
+    if (cached != null && cached.m_requirements == requirements
+        && cached.m_size == requirements.size()
+        && cached.m_generation == m_subsystemIdGeneration) {
+      return cached.m_mask;
+    }
+
+    long[] mask = new long[(m_subsystemIds.size() + m_freeSubsystemIds.size()
+        + requirements.size() + Long.SIZE - 1) / Long.SIZE];
+    for (Subsystem requirement : requirements) {
+      int id = getSubsystemId(requirement);
+      mask[id / Long.SIZE] |= 1L << id;
+    }
+    //The size was an upper bound on the new ids, so trim any words past the last possible id
+    if (mask.length > m_requiredMask.length) {
+      mask = Arrays.copyOf(mask, m_requiredMask.length);
+    }
+    m_requirementMasks.put(command,
+        new RequirementMask(requirements, mask, m_subsystemIdGeneration));
+    return mask;
+  }
+
+  /**
+   * Returns whether the subsystem with the given id is required by a scheduled command.
+   *
+   * @param id The id of the subsystem
+   * @return Whether the subsystem is required
+   */
+  private boolean isRequired(int id) {
+    return (m_requiredMask[id / Long.SIZE] & (1L << id)) != 0;
+  }
+
   /**
    * Initializes a given command, adds its requirements to the list, and performs the init actions.
    *
-   * @param command       The command to initialize
-   * @param interruptible Whether the command is interruptible
-   * @param requirements  The command requirements
+   * @param command         The command to initialize
+   * @param interruptible   Whether the command is interruptible
+   * @param requirementMask The command requirements, as a bitset of subsystem ids
    */
-  private void initCommand(Command command, boolean interruptible, Set<Subsystem> requirements) {
+  private void initCommand(Command command, boolean interruptible, long[] requirementMask) {
     command.initialize();
-    CommandState scheduledCommand = new CommandState(interruptible);
+    CommandState scheduledCommand = new CommandState(interruptible, requirementMask);
     m_scheduledCommands.put(command, scheduledCommand);
     for (Consumer<Command> action : m_initActions) {
       action.accept(command);
     }
-    for (Subsystem requirement : requirements) {
-      m_requirements.put(requirement, command);
+    for (int word = 0; word < requirementMask.length; word++) {
+      m_requiredMask[word] |= requirementMask[word];
+      for (long bits = requirementMask[word]; bits != 0; bits &= bits - 1) {
+        m_requiringCommands[word * Long.SIZE + Long.numberOfTrailingZeros(bits)] = command;
+      }
+    }
+  }
+
+  /**
+   * Releases the requirements of a command that is no longer scheduled.
+   *
+   * @param commandState The scheduling state of the command
+   */
+  private void releaseRequirements(CommandState commandState) {
+    long[] requirementMask = commandState.getRequirementMask();
+    for (int word = 0; word < requirementMask.length; word++) {
+      m_requiredMask[word] &= ~requirementMask[word];
+      for (long bits = requirementMask[word]; bits != 0; bits &= bits - 1) {
+        m_requiringCommands[word * Long.SIZE + Long.numberOfTrailingZeros(bits)] = null;
+      }
     }
   }
 
@@ -156,27 +367,37 @@ public final class CommandScheduler implements Sendable {
       return;
     }
 
-    Set<Subsystem> requirements = command.getRequirements();
-
-    //Schedule the command if the requirements are not currently in-use.
-    if (Collections.disjoint(m_requirements.keySet(), requirements)) {
-      initCommand(command, interruptible, requirements);
-    } else {
-      //Else check if the requirements that are in use have all have interruptible commands,
-      //and if so, interrupt those commands and schedule the new command.
-      for (Subsystem requirement : requirements) {
-        if (m_requirements.containsKey(requirement)
-            && !m_scheduledCommands.get(m_requirements.get(requirement)).isInterruptible()) {
+    long[] requirementMask = getRequirementMask(command);
+
+    //Check if the requirements that are in use all have interruptible commands.
+    boolean disjoint = true;
+    for (int word = 0; word < requirementMask.length; word++) {
+      for (long bits = requirementMask[word] & m_requiredMask[word]; bits != 0;
+           bits &= bits - 1) {
+        disjoint = false;
+        Command requiring =
+            m_requiringCommands[word * Long.SIZE + Long.numberOfTrailingZeros(bits)];
+        if (!m_scheduledCommands.get(requiring).isInterruptible()) {
           return;
         }
       }
-      for (Subsystem requirement : requirements) {
-        if (m_requirements.containsKey(requirement)) {
-          cancel(m_requirements.get(requirement));
+    }
+
+    //If so, interrupt those commands and schedule the new command.  Canceling a command releases
+    //all of its requirements, so later bits of the same command are skipped.
+    if (!disjoint) {
+      for (int word = 0; word < requirementMask.length; word++) {
+        for (long bits = requirementMask[word] & m_requiredMask[word]; bits != 0;
+             bits &= bits - 1) {
+          Command requiring =
+              m_requiringCommands[word * Long.SIZE + Long.numberOfTrailingZeros(bits)];
+          if (requiring != null) {
+            cancel(requiring);
+          }
         }
       }
-      initCommand(command, interruptible, requirements);
     }
+    initCommand(command, interruptible, requirementMask);
   }
 
   /**
@@ -207,7 +428,8 @@ public final class CommandScheduler implements Sendable {
   /**
    * Runs a single iteration of the scheduler.  The execution occurs in the following order:
    *
-   * <p>Subsystem periodic methods are called.
+   * <p>Subsystem periodic methods are called, in parallel if enabled with {@link
+   * #enableParallelPeriodic(int)}.
    *
    * <p>Button bindings are polled, and new commands are scheduled from them.
    *
@@ -217,51 +439,69 @@ public final class CommandScheduler implements Sendable {
    * have their end methods called and are removed.
    *
    * <p>Any subsystems not being used as requirements have their default methods started.
+   *
+   * <p>If timing is enabled, the time taken by each phase, subsystem and command is recorded; see
+   * {@link #setTimingEnabled(boolean)}.
    */
-  @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity"})
+  @SuppressWarnings({"PMD.CyclomaticComplexity", "PMD.NPathComplexity", "PMD.NcssCount"})
   public void run() {
     if (m_disabled) {
       return;
     }
 
+    //Read the flag once so that a command toggling it can't leave a phase half-timed
+    final boolean timing = m_timingEnabled;
+    final long runStartTime = timing ? System.nanoTime() : 0;
+    long phaseStartTime = runStartTime;
+
     //Run the periodic method of all registered subsystems.
-    for (Subsystem subsystem : m_subsystems.keySet()) {
-      subsystem.periodic();
+    if (m_periodicPhaser != null) {
+      runParallelPeriodic(timing);
+    } else {
+      for (Subsystem subsystem : m_subsystems.keySet()) {
+        runPeriodic(subsystem, timing);
+      }
     }
+    phaseStartTime = recordPhase(timing, Phase.kSubsystemPeriodic, phaseStartTime);
 
     //Poll buttons for new commands to add.
-    for (Runnable button : m_buttons) {
-      button.run();
-    }
+    m_buttons.poll();
+    phaseStartTime = recordPhase(timing, Phase.kButtonPoll, phaseStartTime);
 
     m_inRunLoop = true;
     //Run scheduled commands, remove finished commands.
-    for (Iterator<Command> iterator = m_scheduledCommands.keySet().iterator();
-         iterator.hasNext(); ) {
-      Command command = iterator.next();
+    for (Iterator<Map.Entry<Command, CommandState>> iterator =
+         m_scheduledCommands.entrySet().iterator(); iterator.hasNext(); ) {
+      Map.Entry<Command, CommandState> scheduledCommand = iterator.next();
+      Command command = scheduledCommand.getKey();
 
       if (!command.runsWhenDisabled() && RobotState.isDisabled()) {
         command.end(true);
         for (Consumer<Command> action : m_interruptActions) {
           action.accept(command);
         }
-        m_requirements.keySet().removeAll(command.getRequirements());
+        releaseRequirements(scheduledCommand.getValue());
         iterator.remove();
         continue;
       }
 
+      long startTime = timing ? System.nanoTime() : 0;
       command.execute();
       for (Consumer<Command> action : m_executeActions) {
         action.accept(command);
       }
-      if (command.isFinished()) {
+      boolean finished = command.isFinished();
+      if (timing) {
+        m_commandTimings.computeIfAbsent(command, key -> new TimingHistogram())
+            .record(System.nanoTime() - startTime);
+      }
+      if (finished) {
         command.end(false);
         for (Consumer<Command> action : m_finishActions) {
           action.accept(command);
         }
+        releaseRequirements(scheduledCommand.getValue());
         iterator.remove();
-
-        m_requirements.keySet().removeAll(command.getRequirements());
       }
     }
     m_inRunLoop = false;
@@ -277,14 +517,282 @@ public final class CommandScheduler implements Sendable {
 
     m_toSchedule.clear();
     m_toCancel.clear();
+    phaseStartTime = recordPhase(timing, Phase.kCommandExecute, phaseStartTime);
 
     //Add default commands for un-required registered subsystems.
     for (Map.Entry<Subsystem, Command> subsystemCommand : m_subsystems.entrySet()) {
-      if (!m_requirements.containsKey(subsystemCommand.getKey())
-          && subsystemCommand.getValue() != null) {
+      if (subsystemCommand.getValue() != null
+          && !isRequired(getSubsystemId(subsystemCommand.getKey()))) {
         schedule(subsystemCommand.getValue());
       }
     }
+    recordPhase(timing, Phase.kDefaultCommands, phaseStartTime);
+    recordPhase(timing, Phase.kTotal, runStartTime);
+  }
+
+  /**
+   * Runs the periodic method of a subsystem on the main thread.
+   *
+   * @param subsystem The subsystem
+   * @param timing    Whether timing is enabled
+   */
+  private void runPeriodic(Subsystem subsystem, boolean timing) {
+    if (timing) {
+      long startTime = System.nanoTime();
+      subsystem.periodic();
+      m_subsystemTimings.computeIfAbsent(subsystem, key -> new TimingHistogram())
+          .record(System.nanoTime() - startTime);
+    } else {
+      subsystem.periodic();
+    }
+  }
+
+  /**
+   * Runs the periodic methods of all registered subsystems, with the thread-safe ones spread across
+   * the worker threads and the main thread.  The other subsystems run on the main thread first, in
+   * the order they were registered.  Returns once every periodic method has finished.
+   *
+   * @param timing Whether timing is enabled
+   */
+  private void runParallelPeriodic(boolean timing) {
+    if (m_subsystemsChanged) {
+      List<Subsystem> serialSubsystems = new ArrayList<>();
+      List<Subsystem> parallelSubsystems = new ArrayList<>();
+      for (Subsystem subsystem : m_subsystems.keySet()) {
+        if (m_threadSafeSubsystems.contains(subsystem)) {
+          parallelSubsystems.add(subsystem);
+        } else {
+          serialSubsystems.add(subsystem);
+        }
+      }
+      m_serialSubsystems = serialSubsystems.toArray(new Subsystem[0]);
+      m_parallelSubsystems = parallelSubsystems.toArray(new Subsystem[0]);
+      m_parallelTimings = new TimingHistogram[m_parallelSubsystems.length];
+      m_subsystemsChanged = false;
+    }
+
+    //The worker threads can't touch the timing map, so look up their histograms beforehand
+    if (timing) {
+      for (int i = 0; i < m_parallelSubsystems.length; i++) {
+        m_parallelTimings[i] = m_subsystemTimings.computeIfAbsent(m_parallelSubsystems[i],
+            key -> new TimingHistogram());
+      }
+    }
+    m_parallelTiming = timing;
+    m_nextParallelSubsystem.set(0);
+
+    //Start the workers, run the other subsystems, then help the workers until all are done.  The
+    //workers are waited for even if a periodic method on this thread throws, or the next round
+    //would start out of step with them.  The exception from this thread then takes precedence.
+    Throwable error;
+    m_periodicPhaser.arriveAndAwaitAdvance();
+    try {
+      for (Subsystem subsystem : m_serialSubsystems) {
+        runPeriodic(subsystem, timing);
+      }
+      runParallelPeriodicShare();
+    } finally {
+      m_periodicPhaser.arriveAndAwaitAdvance();
+      error = m_periodicError.getAndSet(null);
+    }
+
+    //Rethrow the first exception thrown on a worker thread, as if it had been thrown here
+    if (error instanceof RuntimeException) {
+      throw (RuntimeException) error;
+    } else if (error instanceof Error) {
+      throw (Error) error;
+    } else if (error != null) {
+      throw new IllegalStateException("Subsystem periodic method threw", error);
+    }
+  }
+
+  /**
+   * Runs thread-safe periodic methods that haven't been started yet until there are none left.
+   * Called by the main thread and every worker thread in each round.
+   */
+  @SuppressWarnings("PMD.AvoidCatchingThrowable")
+  private void runParallelPeriodicShare() {
+    for (int i = m_nextParallelSubsystem.getAndIncrement(); i < m_parallelSubsystems.length;
+         i = m_nextParallelSubsystem.getAndIncrement()) {
+      try {
+        if (m_parallelTiming) {
+          long startTime = System.nanoTime();
+          m_parallelSubsystems[i].periodic();
+          m_parallelTimings[i].record(System.nanoTime() - startTime);
+        } else {
+          m_parallelSubsystems[i].periodic();
+        }
+      } catch (Throwable throwable) {
+        m_periodicError.compareAndSet(null, throwable);
+      }
+    }
+  }
+
+  /**
+   * Runs subsystem periodic methods in parallel, on the main thread and a pool of worker threads
+   * sized to the number of processors.  See {@link #enableParallelPeriodic(int)}.
+   */
+  public void enableParallelPeriodic() {
+    enableParallelPeriodic(Math.max(Runtime.getRuntime().availableProcessors() - 1, 1));
+  }
+
+  /**
+   * Runs subsystem periodic methods in parallel, on the main thread and a pool of worker threads.
+   * Only the subsystems marked with {@link #setPeriodicThreadSafe(Subsystem, boolean)} run on the
+   * worker threads; the rest still run on the main thread in the order they were registered.
+   * {@link #run()} waits for every periodic method to finish before polling buttons, so commands
+   * still run on the main thread in the same order as before.
+   *
+   * <p>If a periodic method on a worker thread throws an exception, the other periodic methods
+   * still run, and then run() throws the exception on the main thread.
+   *
+   * @param workerThreads the number of worker threads, not counting the main thread
+   */
+  public void enableParallelPeriodic(int workerThreads) {
+    if (workerThreads < 1) {
+      throw new IllegalArgumentException("Parallel periodic needs at least one worker thread");
+    }
+    disableParallelPeriodic();
+
+    Phaser phaser = new Phaser(workerThreads + 1);
+    for (int i = 0; i < workerThreads; i++) {
+      Thread worker = new Thread(() -> {
+        //Each round is a start phase and a finish phase; the phaser is terminated on shutdown
+        while (phaser.arriveAndAwaitAdvance() >= 0) {
+          runParallelPeriodicShare();
+          phaser.arriveAndAwaitAdvance();
+        }
+      }, "CommandScheduler Periodic " + i);
+      worker.setDaemon(true);
+      worker.start();
+    }
+    m_periodicPhaser = phaser;
+  }
+
+  /**
+   * Runs all subsystem periodic methods on the main thread again, and stops the worker threads.
+   */
+  public void disableParallelPeriodic() {
+    if (m_periodicPhaser != null) {
+      m_periodicPhaser.forceTermination();
+      m_periodicPhaser = null;
+    }
+  }
+
+  /**
+   * Sets whether a subsystem's periodic method may run on a worker thread when parallel periodic
+   * methods are enabled.  A thread-safe subsystem's periodic method must not use other subsystems,
+   * commands or the scheduler, or anything else that another periodic method may use at the same
+   * time; reading its own sensors and publishing telemetry is fine.
+   *
+   * @param subsystem  the subsystem
+   * @param threadSafe whether the subsystem's periodic method is thread-safe
+   */
+  public void setPeriodicThreadSafe(Subsystem subsystem, boolean threadSafe) {
+    if (threadSafe) {
+      m_threadSafeSubsystems.add(subsystem);
+    } else {
+      m_threadSafeSubsystems.remove(subsystem);
+    }
+    m_subsystemsChanged = true;
+  }
+
+  /**
+   * Records the time taken by a phase of run(), if timing is enabled.
+   *
+   * @param timing    Whether timing is enabled
+   * @param phase     The phase that just finished
+   * @param startTime When the phase started, from {@link System#nanoTime()}
+   * @return When the phase finished, which is when the next phase starts
+   */
+  private long recordPhase(boolean timing, Phase phase, long startTime) {
+    if (!timing) {
+      return 0;
+    }
+    long endTime = System.nanoTime();
+    m_phaseTimings[phase.ordinal()].record(endTime - startTime);
+    return endTime;
+  }
+
+  /**
+   * Enables or disables timing of {@link #run()}.  While timing is enabled, the scheduler records
+   * how long each phase of run() takes, how long each registered subsystem's periodic method takes,
+   * and how long each scheduled command takes to execute and check whether it is finished.  The
+   * timings can be read with {@link #getPhaseTiming(Phase)}, {@link #getSubsystemTiming(Subsystem)}
+   * and {@link #getCommandTiming(Command)}, and are published with the scheduler's other
+   * NetworkTables data.
+   *
+   * <p>Timing uses {@link System#nanoTime()}, so it measures real time even if the robot code runs
+   * on a simulated clock.  Recording a time doesn't allocate memory, apart from once for each new
+   * subsystem and command.
+   *
+   * @param enabled whether to time the scheduler
+   */
+  public void setTimingEnabled(boolean enabled) {
+    m_timingEnabled = enabled;
+  }
+
+  /**
+   * Returns whether timing of {@link #run()} is enabled.
+   *
+   * @return whether timing is enabled
+   */
+  public boolean isTimingEnabled() {
+    return m_timingEnabled;
+  }
+
+  /**
+   * Returns the timing of a phase of {@link #run()}.
+   *
+   * @param phase the phase to inquire about
+   * @return the timing of the phase
+   */
+  public TimingHistogram getPhaseTiming(Phase phase) {
+    return m_phaseTimings[phase.ordinal()];
+  }
+
+  /**
+   * Returns the timing of a subsystem's periodic method.  Null if the subsystem hasn't been run
+   * while timing was enabled.
+   *
+   * @param subsystem the subsystem to inquire about
+   * @return the timing of the subsystem
+   */
+  public TimingHistogram getSubsystemTiming(Subsystem subsystem) {
+    return m_subsystemTimings.get(subsystem);
+  }
+
+  /**
+   * Returns the timing of a command's execute and isFinished methods, and of the execute actions
+   * run for it.  Null if the command hasn't been run while timing was enabled.  The timing is
+   * discarded once nothing else refers to the command.
+   *
+   * @param command the command to inquire about
+   * @return the timing of the command
+   */
+  public TimingHistogram getCommandTiming(Command command) {
+    return m_commandTimings.get(command);
+  }
+
+  /**
+   * Clears all timings, and forgets the subsystems and commands that have been timed.
+   */
+  public void resetTiming() {
+    for (TimingHistogram phaseTiming : m_phaseTimings) {
+      phaseTiming.reset();
+    }
+    m_subsystemTimings.clear();
+    m_commandTimings.clear();
+  }
+
+  /**
+   * Sets how often the timings are published to NetworkTables while timing is enabled.  Defaults
+   * to once per second.
+   *
+   * @param period the time between publishing the timings, in seconds
+   */
+  public void setTimingPublishPeriod(double period) {
+    m_timingPublishPeriod = (long) (period * 1e9);
   }
 
   /**
@@ -297,18 +805,25 @@ public final class CommandScheduler implements Sendable {
    */
   public void registerSubsystem(Subsystem... subsystems) {
     for (Subsystem subsystem : subsystems) {
+      getSubsystemId(subsystem);
       m_subsystems.put(subsystem, null);
     }
+    m_subsystemsChanged = true;
   }
 
   /**
    * Un-registers subsystems with the scheduler.  The subsystem will no longer have its periodic
-   * block called, and will not have its default command scheduled.
+   * block called, and will not have its default command scheduled.  If no command currently
+   * requires the subsystem, the scheduler also stops holding a reference to it.
    *
    * @param subsystems the subsystem to un-register
    */
   public void unregisterSubsystem(Subsystem... subsystems) {
     m_subsystems.keySet().removeAll(Set.of(subsystems));
+    for (Subsystem subsystem : subsystems) {
+      releaseSubsystemId(subsystem);
+    }
+    m_subsystemsChanged = true;
   }
 
   /**
@@ -331,6 +846,7 @@ public final class CommandScheduler implements Sendable {
     }
 
     m_subsystems.put(subsystem, defaultCommand);
+    m_subsystemsChanged = true;
   }
 
   /**
@@ -366,8 +882,7 @@ public final class CommandScheduler implements Sendable {
       for (Consumer<Command> action : m_interruptActions) {
         action.accept(command);
       }
-      m_scheduledCommands.remove(command);
-      m_requirements.keySet().removeAll(command.getRequirements());
+      releaseRequirements(m_scheduledCommands.remove(command));
     }
   }
 
@@ -417,7 +932,8 @@ public final class CommandScheduler implements Sendable {
    * @return the command currently requiring the subsystem
    */
   public Command requiring(Subsystem subsystem) {
-    return m_requirements.get(subsystem);
+    Integer id = m_subsystemIds.get(subsystem);
+    return id != null ? m_requiringCommands[id] : null;
   }
 
   /**
@@ -476,7 +992,11 @@ public final class CommandScheduler implements Sendable {
     m_namesEntry = builder.getEntry("Names");
     m_idsEntry = builder.getEntry("Ids");
     m_cancelEntry = builder.getEntry("Cancel");
+    m_timingNamesEntry = builder.getEntry("TimingNames");
+    m_timingMeansEntry = builder.getEntry("TimingMeans");
+    m_timingMaxesEntry = builder.getEntry("TimingMaxes");
     builder.setUpdateTable(() -> {
+      publishTiming();
 
       if (m_namesEntry == null || m_idsEntry == null || m_cancelEntry == null) {
         return;
@@ -506,4 +1026,167 @@ public final class CommandScheduler implements Sendable {
       m_idsEntry.setNumberArray(ids.keySet().toArray(new Double[0]));
     });
   }
+
+  /**
+   * Publishes the names, mean times and maximum times of every phase, subsystem and command that
+   * has been timed, if timing is enabled and they haven't been published for the publish period.
+   */
+  private void publishTiming() {
+    if (!m_timingEnabled || m_timingNamesEntry == null || m_timingMeansEntry == null
+        || m_timingMaxesEntry == null) {
+      return;
+    }
+    long now = System.nanoTime();
+    if (now - m_lastTimingPublishTime < m_timingPublishPeriod) {
+      return;
+    }
+    m_lastTimingPublishTime = now;
+
+    int count = m_phaseTimings.length + m_subsystemTimings.size() + m_commandTimings.size();
+    String[] names = new String[count];
+    double[] means = new double[count];
+    double[] maxes = new double[count];
+    int index = 0;
+    for (Phase phase : Phase.values()) {
+      names[index] = "Phase: " + phase;
+      means[index] = m_phaseTimings[phase.ordinal()].getMean();
+      maxes[index] = m_phaseTimings[phase.ordinal()].getMax();
+      index++;
+    }
+    for (Map.Entry<Subsystem, TimingHistogram> subsystemTiming : m_subsystemTimings.entrySet()) {
+      Subsystem subsystem = subsystemTiming.getKey();
+      String name = subsystem instanceof Sendable
+          ? SendableRegistry.getName((Sendable) subsystem) : "";
+      names[index] = "Subsystem: "
+          + (name.isEmpty() ? subsystem.getClass().getSimpleName() : name);
+      means[index] = subsystemTiming.getValue().getMean();
+      maxes[index] = subsystemTiming.getValue().getMax();
+      index++;
+    }
+    for (Map.Entry<Command, TimingHistogram> commandTiming : m_commandTimings.entrySet()) {
+      names[index] = "Command: " + commandTiming.getKey().getName();
+      means[index] = commandTiming.getValue().getMean();
+      maxes[index] = commandTiming.getValue().getMax();
+      index++;
+    }
+    //Commands can be collected after the map is sized, in which case the iteration skips them
+    if (index < count) {
+      names = Arrays.copyOf(names, index);
+      means = Arrays.copyOf(means, index);
+      maxes = Arrays.copyOf(maxes, index);
+    }
+
+    m_timingNamesEntry.setStringArray(names);
+    m_timingMeansEntry.setDoubleArray(means);
+    m_timingMaxesEntry.setDoubleArray(maxes);
+  }
+
+  /**
+   * The requirements of a command as a bitset of subsystem ids, along with the set of
+   * requirements and the subsystem id generation it was built from.
+   */
+  private static final class RequirementMask {
+    private final Set<Subsystem> m_requirements;
+    private final int m_size;
+    private final long[] m_mask;
+    private final int m_generation;
+
+    RequirementMask(Set<Subsystem> requirements, long[] mask, int generation) {
+      m_requirements = requirements;
+      m_size = requirements.size();
+      m_mask = mask;
+      m_generation = generation;
+    }
+  }
+
+  /**
+   * The registered button bindings, in the order they were registered.  Joystick button bindings
+   * keep the joystick and buttons they depend on, and the state of each joystick's buttons the
+   * last time they were checked.
+   */
+  private static final class ButtonBindings {
+    private Runnable[] m_bindings = new Runnable[8];
+    //The joystick port of each binding, or -1 for bindings that are polled every iteration
+    private int[] m_sticks = new int[8];
+    private int[] m_masks = new int[8];
+    private boolean[] m_whilePressed = new boolean[8];
+    private int m_count;
+    private int m_alwaysPolledCount;
+
+    //For each joystick, the buttons with any bindings, the buttons with bindings polled while
+    //they're pressed, and the buttons that were pressed and that changed in the last poll
+    private final int[] m_boundButtons = new int[DriverStation.kJoystickPorts];
+    private final int[] m_whilePressedButtons = new int[DriverStation.kJoystickPorts];
+    private final int[] m_lastButtons = new int[DriverStation.kJoystickPorts];
+    private final int[] m_changedButtons = new int[DriverStation.kJoystickPorts];
+
+    void add(Runnable binding, int stick, int mask, boolean whilePressed) {
+      if (stick < 0) {
+        for (int i = 0; i < m_count; i++) {
+          if (m_sticks[i] < 0 && m_bindings[i].equals(binding)) {
+            return;
+          }
+        }
+        m_alwaysPolledCount++;
+      } else if (m_boundButtons[stick] == 0) {
+        m_lastButtons[stick] = DriverStation.getInstance().getStickButtons(stick);
+      }
+
+      if (m_count == m_bindings.length) {
+        m_bindings = Arrays.copyOf(m_bindings, 2 * m_count);
+        m_sticks = Arrays.copyOf(m_sticks, 2 * m_count);
+        m_masks = Arrays.copyOf(m_masks, 2 * m_count);
+        m_whilePressed = Arrays.copyOf(m_whilePressed, 2 * m_count);
+      }
+      m_bindings[m_count] = binding;
+      m_sticks[m_count] = stick;
+      m_masks[m_count] = mask;
+      m_whilePressed[m_count] = whilePressed;
+      m_count++;
+      if (stick >= 0) {
+        m_boundButtons[stick] |= mask;
+        if (whilePressed) {
+          m_whilePressedButtons[stick] |= mask;
+        }
+      }
+    }
+
+    void clear() {
+      Arrays.fill(m_bindings, 0, m_count, null);
+      m_count = 0;
+      m_alwaysPolledCount = 0;
+      Arrays.fill(m_boundButtons, 0);
+      Arrays.fill(m_whilePressedButtons, 0);
+    }
+
+    void poll() {
+      //Read each joystick with bindings once, and skip the bindings entirely if none need polling
+      boolean anyPolled = m_alwaysPolledCount > 0;
+      for (int stick = 0; stick < m_boundButtons.length; stick++) {
+        if (m_boundButtons[stick] != 0) {
+          final int buttons = DriverStation.getInstance().getStickButtons(stick);
+          m_changedButtons[stick] = buttons ^ m_lastButtons[stick];
+          m_lastButtons[stick] = buttons;
+          anyPolled |= (m_changedButtons[stick] & m_boundButtons[stick]) != 0
+              || (buttons & m_whilePressedButtons[stick]) != 0;
+        }
+      }
+      if (!anyPolled) {
+        return;
+      }
+
+      for (int i = 0; i < m_count; i++) {
+        final int stick = m_sticks[i];
+        if (stick < 0) {
+          m_bindings[i].run();
+        } else {
+          final int polledButtons = m_whilePressed[i]
+              ? m_changedButtons[stick] | m_lastButtons[stick] : m_changedButtons[stick];
+          if ((m_masks[i] & polledButtons) != 0) {
+            m_bindings[i].run();
+          }
+        }
+      }
+    }
+  }
 }
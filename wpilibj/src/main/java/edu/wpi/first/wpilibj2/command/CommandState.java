@@ -20,8 +20,12 @@ class CommandState {
   //Whether or not it is interruptible.
   private final boolean m_interruptible;
 
-  CommandState(boolean interruptible) {
+  //The ids of the subsystems it required when it was scheduled, as a bitset.
+  private final long[] m_requirementMask;
+
+  CommandState(boolean interruptible, long[] requirementMask) {
     m_interruptible = interruptible;
+    m_requirementMask = requirementMask;
     startTiming();
     startRunning();
   }
@@ -38,6 +42,10 @@ class CommandState {
     return m_interruptible;
   }
 
+  long[] getRequirementMask() {
+    return m_requirementMask;
+  }
+
   double timeSinceInitialized() {
     return m_startTime != -1 ? Timer.getFPGATimestamp() - m_startTime : -1;
   }
@@ -0,0 +1,395 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static edu.wpi.first.wpilibj2.command.CommandGroupBase.registerGroupedCommands;
+import static edu.wpi.first.wpilibj2.command.CommandGroupBase.requireUngrouped;
+
+/**
+ * A command that runs a tree of nested command groups from a flat table, instead of having each
+ * group run its own commands.  Nested {@link SequentialCommandGroup}s, {@link
+ * ParallelCommandGroup}s, {@link ParallelRaceGroup}s and {@link ParallelDeadlineGroup}s, including
+ * the ones made by decorators such as {@link Command#andThen(Command...)} and {@link
+ * Command#withTimeout(double)}, are flattened into arrays when the compiled group is created.  Each
+ * iteration then runs only the commands that are currently active, and a group is only visited
+ * when one of its commands finishes, so the cost of an iteration doesn't grow with the size of the
+ * tree.
+ *
+ * <p>The commands run in the same order as they would in the original groups.  The active commands
+ * are executed in the order the groups would execute them, and a finished command or group is
+ * handled at the point its group would handle it, so the calls to all of the commands interleave
+ * as they would without compiling.  Commands that aren't one of these groups, or are a
+ * subclass of one that changes how it runs, are run as single commands.  Groups with no commands
+ * are also run as single commands.
+ *
+ * <p>The command tree must not change once it has been compiled.  As with other command groups,
+ * the command passed in cannot be added to any other group or scheduled individually, and the
+ * compiled group requires the union of the requirements of its commands.
+ *
+ * <p>There is one difference: a {@link ParallelDeadlineGroup} whose deadline is a {@link
+ * SequentialCommandGroup} never finishes on its own, as ending the sequence resets it and the
+ * deadline group then no longer sees it as finished.  The compiled group finishes such a deadline
+ * group once the sequence has finished.
+ */
+@SuppressWarnings("PMD.TooManyFields")
+public class CompiledCommandGroup extends CommandBase {
+  private static final int kCommand = 0;
+  private static final int kSequence = 1;
+  private static final int kParallel = 2;
+  private static final int kRace = 3;
+  private static final int kDeadline = 4;
+
+  //The tree, in depth-first order with the root first.  Each node is a group or a single command.
+  private final int[] m_types;
+  private final Command[] m_commands;
+  private final int[] m_parents;
+  //The node after the last one in the subtree of each node
+  private final int[] m_subtreeEnds;
+  //The children of node i are m_children[m_firstChildren[i]] onwards, m_childCounts[i] of them
+  private final int[] m_firstChildren;
+  private final int[] m_childCounts;
+  private final int[] m_children;
+  //The deadline child of each deadline group, and the index of each single command among the
+  //single commands, which is its bit in m_activeCommands
+  private final int[] m_deadlines;
+  private final int[] m_commandIndices;
+  private final int[] m_commandNodes;
+
+  //Whether each node has been initialized and not ended, and whether each group is finished
+  private final boolean[] m_running;
+  private final boolean[] m_finished;
+  //The index of the running child of each sequence, and the number of running children of each
+  //parallel group
+  private final int[] m_progress;
+
+  //The single commands that are running, as a bitset, and the ones that were running when this
+  //iteration started
+  private final long[] m_activeCommands;
+  private final long[] m_executingCommands;
+
+  //The groups that finished this iteration but haven't been handled by their parents yet, with
+  //the innermost one last
+  private final int[] m_pendingGroups;
+  private int m_pendingGroupCount;
+  private boolean m_done;
+
+  /**
+   * Creates a new CompiledCommandGroup that runs the given command, flattening any command groups
+   * in it.
+   *
+   * @param command the command to compile
+   */
+  public CompiledCommandGroup(Command command) {
+    requireUngrouped(command);
+    registerGroupedCommands(command);
+    m_requirements.addAll(command.getRequirements());
+    setName(command.getName());
+
+    List<Integer> types = new ArrayList<>();
+    List<Command> commands = new ArrayList<>();
+    List<Integer> parents = new ArrayList<>();
+    compile(command, -1, types, commands, parents);
+
+    final int size = types.size();
+    m_types = new int[size];
+    m_commands = commands.toArray(new Command[0]);
+    m_parents = new int[size];
+    m_subtreeEnds = new int[size];
+    m_firstChildren = new int[size];
+    m_childCounts = new int[size];
+    m_children = new int[size];
+    m_deadlines = new int[size];
+    m_commandIndices = new int[size];
+    int commandCount = 0;
+    for (int node = 0; node < size; node++) {
+      m_types[node] = types.get(node);
+      m_parents[node] = parents.get(node);
+      if (m_parents[node] >= 0) {
+        m_childCounts[m_parents[node]]++;
+      }
+      if (m_types[node] == kCommand) {
+        m_commandIndices[node] = commandCount++;
+      }
+    }
+
+    //Lay out the children of each node in order, after those of the nodes before it
+    int nextChild = 0;
+    for (int node = 0; node < size; node++) {
+      m_firstChildren[node] = nextChild;
+      nextChild += m_childCounts[node];
+    }
+    int[] childrenAdded = new int[size];
+    m_commandNodes = new int[commandCount];
+    for (int node = 0; node < size; node++) {
+      final int parent = m_parents[node];
+      if (parent >= 0) {
+        m_children[m_firstChildren[parent] + childrenAdded[parent]++] = node;
+        if (m_types[parent] == kDeadline
+            && ((ParallelDeadlineGroup) m_commands[parent]).getDeadline() == m_commands[node]) {
+          m_deadlines[parent] = node;
+        }
+      }
+      if (m_types[node] == kCommand) {
+        m_commandNodes[m_commandIndices[node]] = node;
+      }
+    }
+    for (int node = size - 1; node >= 0; node--) {
+      m_subtreeEnds[node] = m_childCounts[node] == 0 ? node + 1
+          : m_subtreeEnds[m_children[m_firstChildren[node] + m_childCounts[node] - 1]];
+    }
+
+    m_running = new boolean[size];
+    m_finished = new boolean[size];
+    m_progress = new int[size];
+    m_activeCommands = new long[(commandCount + Long.SIZE - 1) / Long.SIZE];
+    m_executingCommands = new long[m_activeCommands.length];
+    m_pendingGroups = new int[size];
+  }
+
+  /**
+   * Adds a command and everything in it to the tree.
+   */
+  private static void compile(Command command, int parent, List<Integer> types,
+                              List<Command> commands, List<Integer> parents) {
+    final int node = types.size();
+    final int type = getType(command);
+    types.add(type);
+    commands.add(command);
+    parents.add(parent);
+
+    final Collection<Command> children;
+    switch (type) {
+      case kSequence:
+        children = ((SequentialCommandGroup) command).getCommands();
+        break;
+      case kParallel:
+        children = ((ParallelCommandGroup) command).getCommands();
+        break;
+      case kRace:
+        children = ((ParallelRaceGroup) command).getCommands();
+        break;
+      case kDeadline:
+        children = ((ParallelDeadlineGroup) command).getCommands();
+        break;
+      default:
+        return;
+    }
+    for (Command child : children) {
+      compile(child, node, types, commands, parents);
+    }
+  }
+
+  /**
+   * Returns how a command is compiled: as one of the command groups, or as a single command.
+   */
+  private static int getType(Command command) {
+    if (command instanceof SequentialCommandGroup
+        && !((SequentialCommandGroup) command).getCommands().isEmpty()
+        && !overridesRunning(command, SequentialCommandGroup.class)) {
+      return kSequence;
+    } else if (command instanceof ParallelCommandGroup
+        && !((ParallelCommandGroup) command).getCommands().isEmpty()
+        && !overridesRunning(command, ParallelCommandGroup.class)) {
+      return kParallel;
+    } else if (command instanceof ParallelRaceGroup
+        && !((ParallelRaceGroup) command).getCommands().isEmpty()
+        && !overridesRunning(command, ParallelRaceGroup.class)) {
+      return kRace;
+    } else if (command instanceof ParallelDeadlineGroup
+        && !overridesRunning(command, ParallelDeadlineGroup.class)) {
+      return kDeadline;
+    }
+    return kCommand;
+  }
+
+  /**
+   * Returns whether a command overrides any of the methods that a group uses to run its commands.
+   */
+  private static boolean overridesRunning(Command command, Class<?> groupClass) {
+    try {
+      final Class<?> commandClass = command.getClass();
+      return commandClass.getMethod("initialize").getDeclaringClass() != groupClass
+          || commandClass.getMethod("execute").getDeclaringClass() != groupClass
+          || commandClass.getMethod("end", boolean.class).getDeclaringClass() != groupClass
+          || commandClass.getMethod("isFinished").getDeclaringClass() != groupClass;
+    } catch (NoSuchMethodException ex) {
+      return true;
+    }
+  }
+
+  @Override
+  public void initialize() {
+    m_done = false;
+    initializeNode(0);
+  }
+
+  @Override
+  public void execute() {
+    //Run the commands that are active at the start of the iteration in depth-first order, which is
+    //the order the groups would run them in.  Commands started during the iteration wait for the
+    //next one, as a group doesn't run the commands it starts until it is next executed.
+    m_pendingGroupCount = 0;
+    System.arraycopy(m_activeCommands, 0, m_executingCommands, 0, m_activeCommands.length);
+    for (int word = 0; word < m_executingCommands.length; word++) {
+      for (long bits = m_executingCommands[word]; bits != 0; bits &= bits - 1) {
+        final int node = m_commandNodes[word * Long.SIZE + Long.numberOfTrailingZeros(bits)];
+        handleFinishedGroups(node);
+        m_commands[node].execute();
+        if (m_commands[node].isFinished()) {
+          childFinished(node);
+        }
+      }
+    }
+    handleFinishedGroups(m_types.length);
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    endNode(0, interrupted);
+  }
+
+  @Override
+  public boolean isFinished() {
+    return m_done;
+  }
+
+  @Override
+  public boolean runsWhenDisabled() {
+    return m_commands[0].runsWhenDisabled();
+  }
+
+  /**
+   * Initializes a node and, for a group, the children it starts with.
+   */
+  private void initializeNode(int node) {
+    m_running[node] = true;
+    m_finished[node] = false;
+    final int firstChild = m_firstChildren[node];
+    switch (m_types[node]) {
+      case kSequence:
+        m_progress[node] = 0;
+        initializeNode(m_children[firstChild]);
+        break;
+      case kParallel:
+      case kRace:
+      case kDeadline:
+        m_progress[node] = m_childCounts[node];
+        for (int i = 0; i < m_childCounts[node]; i++) {
+          initializeNode(m_children[firstChild + i]);
+        }
+        break;
+      default:
+        m_commands[node].initialize();
+        final int index = m_commandIndices[node];
+        m_activeCommands[index / Long.SIZE] |= 1L << index;
+        break;
+    }
+  }
+
+  /**
+   * Ends a node if it is running, along with whichever of its children the group would end.
+   */
+  private void endNode(int node, boolean interrupted) {
+    if (!m_running[node]) {
+      return;
+    }
+    m_running[node] = false;
+    final int firstChild = m_firstChildren[node];
+    switch (m_types[node]) {
+      case kSequence:
+        if (interrupted && m_progress[node] < m_childCounts[node]) {
+          endNode(m_children[firstChild + m_progress[node]], true);
+        }
+        break;
+      case kParallel:
+        if (interrupted) {
+          for (int i = 0; i < m_childCounts[node]; i++) {
+            endNode(m_children[firstChild + i], true);
+          }
+        }
+        break;
+      case kDeadline:
+        for (int i = 0; i < m_childCounts[node]; i++) {
+          endNode(m_children[firstChild + i], true);
+        }
+        break;
+      case kRace:
+        for (int i = 0; i < m_childCounts[node]; i++) {
+          final int child = m_children[firstChild + i];
+          endNode(child, !(m_types[child] == kCommand ? m_commands[child].isFinished()
+              : m_finished[child]));
+        }
+        break;
+      default:
+        final int index = m_commandIndices[node];
+        m_activeCommands[index / Long.SIZE] &= ~(1L << index);
+        m_commands[node].end(interrupted);
+        break;
+    }
+  }
+
+  /**
+   * Handles the finished groups that have run all of their commands before the given node.  A
+   * group only checks whether it's done once it has run all of its commands, which are the nodes
+   * up to the end of its subtree.
+   */
+  private void handleFinishedGroups(int nextNode) {
+    while (m_pendingGroupCount > 0
+        && m_subtreeEnds[m_pendingGroups[m_pendingGroupCount - 1]] <= nextNode) {
+      childFinished(m_pendingGroups[--m_pendingGroupCount]);
+    }
+  }
+
+  /**
+   * Handles a node finishing, as its parent group would.  If this finishes the parent, the parent
+   * is handled once it has run the rest of its commands.
+   *
+   * @param node The node that finished
+   */
+  private void childFinished(int node) {
+    final int parent = m_parents[node];
+    if (parent < 0) {
+      m_done = true;
+      return;
+    }
+
+    boolean parentFinished;
+    switch (m_types[parent]) {
+      case kSequence:
+        endNode(node, false);
+        m_progress[parent]++;
+        parentFinished = m_progress[parent] == m_childCounts[parent];
+        if (!parentFinished) {
+          initializeNode(m_children[m_firstChildren[parent] + m_progress[parent]]);
+        }
+        break;
+      case kParallel:
+        endNode(node, false);
+        m_progress[parent]--;
+        parentFinished = m_progress[parent] == 0;
+        break;
+      case kDeadline:
+        endNode(node, false);
+        parentFinished = node == m_deadlines[parent];
+        break;
+      default:
+        //A race ends all of its commands itself once it's done
+        parentFinished = true;
+        break;
+    }
+
+    if (parentFinished && !m_finished[parent]) {
+      m_finished[parent] = true;
+      m_pendingGroups[m_pendingGroupCount++] = parent;
+    }
+  }
+}
@@ -7,6 +7,7 @@
 
 package edu.wpi.first.wpilibj2.command;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -54,6 +55,15 @@ public class ParallelCommandGroup extends CommandGroupBase {
     }
   }
 
+  /**
+   * Returns the commands in this group.  Used by {@link CompiledCommandGroup}.
+   *
+   * @return the commands in this group
+   */
+  Collection<Command> getCommands() {
+    return m_commands.keySet();
+  }
+
   @Override
   public void initialize() {
     for (Map.Entry<Command, Boolean> commandRunning : m_commands.entrySet()) {
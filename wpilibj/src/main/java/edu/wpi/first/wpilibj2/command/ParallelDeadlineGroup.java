@@ -7,6 +7,7 @@
 
 package edu.wpi.first.wpilibj2.command;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
@@ -75,6 +76,24 @@ public class ParallelDeadlineGroup extends CommandGroupBase {
     }
   }
 
+  /**
+   * Returns the commands in this group.  Used by {@link CompiledCommandGroup}.
+   *
+   * @return the commands in this group, including the deadline
+   */
+  Collection<Command> getCommands() {
+    return m_commands.keySet();
+  }
+
+  /**
+   * Returns the command that ends this group.  Used by {@link CompiledCommandGroup}.
+   *
+   * @return the deadline
+   */
+  Command getDeadline() {
+    return m_deadline;
+  }
+
   @Override
   public void initialize() {
     for (Map.Entry<Command, Boolean> commandRunning : m_commands.entrySet()) {
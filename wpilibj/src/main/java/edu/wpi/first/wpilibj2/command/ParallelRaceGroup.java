@@ -7,6 +7,7 @@
 
 package edu.wpi.first.wpilibj2.command;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
@@ -55,6 +56,15 @@ public class ParallelRaceGroup extends CommandGroupBase {
     }
   }
 
+  /**
+   * Returns the commands in this group.  Used by {@link CompiledCommandGroup}.
+   *
+   * @return the commands in this group
+   */
+  Collection<Command> getCommands() {
+    return m_commands;
+  }
+
   @Override
   public void initialize() {
     m_finished = false;
@@ -48,6 +48,16 @@ public class SequentialCommandGroup extends CommandGroupBase {
     }
   }
 
+  /**
+   * Returns the commands in this group, in the order they run.  Used by
+   * {@link CompiledCommandGroup}.
+   *
+   * @return the commands in this group
+   */
+  List<Command> getCommands() {
+    return m_commands;
+  }
+
   @Override
   public void initialize() {
     m_currentCommandIndex = 0;
@@ -0,0 +1,74 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import edu.wpi.first.wpilibj.Timer;
+import edu.wpi.first.wpilibj.trajectory.SynchronizedTrapezoidProfile;
+
+import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
+
+/**
+ * A command that runs a {@link SynchronizedTrapezoidProfile}.  Useful for moving several
+ * mechanisms, such as an elevator and a wrist, so that they arrive at their goals together.  The
+ * profile's target must be set before the command is scheduled.  The positions and velocities of
+ * every axis are passed to the output each execute(), typically as the setpoints of one controller
+ * per axis.  The arrays are reused between calls, so the output should copy any values it keeps.
+ */
+public class SynchronizedTrapezoidProfileCommand extends CommandBase {
+  private final SynchronizedTrapezoidProfile m_profile;
+  private final BiConsumer<double[], double[]> m_output;
+  private final double[] m_positions;
+  private final double[] m_velocities;
+
+  private final Timer m_timer = new Timer();
+
+  /**
+   * Creates a new SynchronizedTrapezoidProfileCommand that will execute the given profile.
+   *
+   * @param profile      The motion profile to execute.
+   * @param output       The consumer for the profile positions and velocities of every axis.
+   * @param requirements The subsystems required by this command.
+   */
+  public SynchronizedTrapezoidProfileCommand(SynchronizedTrapezoidProfile profile,
+                                             BiConsumer<double[], double[]> output,
+                                             Subsystem... requirements) {
+    requireNonNullParam(profile, "profile", "SynchronizedTrapezoidProfileCommand");
+    requireNonNullParam(output, "output", "SynchronizedTrapezoidProfileCommand");
+
+    m_profile = profile;
+    m_output = output;
+    m_positions = new double[profile.getNumAxes()];
+    m_velocities = new double[profile.getNumAxes()];
+    m_requirements.addAll(Set.of(requirements));
+  }
+
+  @Override
+  public void initialize() {
+    m_timer.reset();
+    m_timer.start();
+  }
+
+  @Override
+  public void execute() {
+    m_profile.calculate(m_timer.get(), m_positions, m_velocities);
+    m_output.accept(m_positions, m_velocities);
+  }
+
+  @Override
+  public void end(boolean interrupted) {
+    m_timer.stop();
+  }
+
+  @Override
+  public boolean isFinished() {
+    return m_timer.hasPeriodPassed(m_profile.totalTime());
+  }
+}
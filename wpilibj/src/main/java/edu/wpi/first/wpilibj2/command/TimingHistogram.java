@@ -0,0 +1,109 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of how long a piece of robot code took each time it ran.  Used by the
+ * {@link CommandScheduler} to time subsystems and commands; see
+ * {@link CommandScheduler#setTimingEnabled(boolean)}.
+ *
+ * <p>Durations are sorted into buckets whose upper bounds double from one microsecond up, so
+ * recording a duration takes constant time and never allocates.  Percentiles are reported as the
+ * upper bound of the bucket they fall in, so they are accurate to within a factor of two; the mean
+ * and maximum are exact.
+ */
+public class TimingHistogram {
+  //Bucket i holds durations of less than 2^i microseconds, and at least 2^(i-1) microseconds if i
+  //is not zero.  The last bucket also holds all longer durations.
+  private static final int kNumBuckets = 25;
+
+  private final long[] m_buckets = new long[kNumBuckets];
+  private long m_count;
+  private long m_totalNanos;
+  private long m_maxNanos;
+
+  /**
+   * Records one duration.
+   *
+   * @param nanos The duration in nanoseconds, as measured with {@link System#nanoTime()}.
+   */
+  public void record(long nanos) {
+    final int bucket = Long.SIZE - Long.numberOfLeadingZeros(Math.max(nanos, 0) / 1000);
+    m_buckets[Math.min(bucket, kNumBuckets - 1)]++;
+    m_count++;
+    m_totalNanos += nanos;
+    m_maxNanos = Math.max(m_maxNanos, nanos);
+  }
+
+  /**
+   * Clears all recorded durations.
+   */
+  public void reset() {
+    Arrays.fill(m_buckets, 0);
+    m_count = 0;
+    m_totalNanos = 0;
+    m_maxNanos = 0;
+  }
+
+  /**
+   * Returns the number of recorded durations.
+   *
+   * @return The number of recorded durations.
+   */
+  public long getCount() {
+    return m_count;
+  }
+
+  /**
+   * Returns the sum of the recorded durations.
+   *
+   * @return The total duration in seconds.
+   */
+  public double getTotal() {
+    return m_totalNanos / 1e9;
+  }
+
+  /**
+   * Returns the mean of the recorded durations.
+   *
+   * @return The mean duration in seconds, or 0 if nothing has been recorded.
+   */
+  public double getMean() {
+    return m_count > 0 ? m_totalNanos / 1e9 / m_count : 0.0;
+  }
+
+  /**
+   * Returns the longest recorded duration.
+   *
+   * @return The longest duration in seconds, or 0 if nothing has been recorded.
+   */
+  public double getMax() {
+    return m_maxNanos / 1e9;
+  }
+
+  /**
+   * Returns an upper bound on a percentile of the recorded durations.  The bound is never more
+   * than the longest recorded duration.
+   *
+   * @param percentile The percentile, from 0 to 1.
+   * @return The upper bound in seconds, or 0 if nothing has been recorded.
+   */
+  public double getPercentile(double percentile) {
+    final long rank = (long) Math.ceil(percentile * m_count);
+    long seen = 0;
+    for (int bucket = 0; bucket < kNumBuckets - 1; bucket++) {
+      seen += m_buckets[bucket];
+      if (seen >= rank && seen > 0) {
+        return Math.min((1L << bucket) / 1e6, getMax());
+      }
+    }
+    return getMax();
+  }
+}
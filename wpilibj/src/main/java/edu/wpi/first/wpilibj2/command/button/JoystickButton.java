@@ -8,11 +8,18 @@
 package edu.wpi.first.wpilibj2.command.button;
 
 import edu.wpi.first.wpilibj.GenericHID;
+import edu.wpi.first.wpilibj2.command.CommandScheduler;
 
 import static edu.wpi.first.wpilibj.util.ErrorMessages.requireNonNullParam;
 
 /**
  * A {@link Button} that gets its state from a {@link GenericHID}.
+ *
+ * <p>Commands bound to a joystick button are only checked when the button changes, rather than
+ * every time the scheduler runs; see
+ * {@link CommandScheduler#addJoystickButton(Runnable, int, int, boolean)}.  This doesn't apply to
+ * subclasses, or to joysticks that override {@link GenericHID#getRawButton(int)}, as their state
+ * may depend on other inputs.
  */
 public class JoystickButton extends Button {
   private final GenericHID m_joystick;
@@ -41,4 +48,26 @@ public class JoystickButton extends Button {
   public boolean get() {
     return m_joystick.getRawButton(m_buttonNumber);
   }
+
+  @Override
+  void addBinding(Runnable binding, boolean whileActive) {
+    if (getClass() == JoystickButton.class && readsStickButton(m_joystick)) {
+      CommandScheduler.getInstance().addJoystickButton(binding, m_joystick.getPort(),
+          m_buttonNumber, whileActive);
+    } else {
+      super.addBinding(binding, whileActive);
+    }
+  }
+
+  /**
+   * Returns whether a joystick reads its buttons straight from the driver station.
+   */
+  private static boolean readsStickButton(GenericHID joystick) {
+    try {
+      return joystick.getClass().getMethod("getRawButton", int.class).getDeclaringClass()
+          == GenericHID.class;
+    } catch (NoSuchMethodException ex) {
+      return false;
+    }
+  }
 }
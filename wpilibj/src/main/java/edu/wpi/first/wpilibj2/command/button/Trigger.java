@@ -58,6 +58,17 @@ public class Trigger {
     return m_isActive.getAsBoolean();
   }
 
+  /**
+   * Adds a binding of this trigger to the scheduler, which polls it to check this trigger.
+   *
+   * @param binding     the binding to add
+   * @param whileActive whether the binding acts every iteration while this trigger is active,
+   *                    rather than only when this trigger changes
+   */
+  void addBinding(Runnable binding, boolean whileActive) {
+    CommandScheduler.getInstance().addButton(binding);
+  }
+
   /**
    * Starts the given command whenever the trigger just becomes active.
    *
@@ -68,7 +79,7 @@ public class Trigger {
   public Trigger whenActive(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "whenActive");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
+    addBinding(new Runnable() {
       private boolean m_pressedLast = get();
 
       @Override
@@ -81,7 +92,7 @@ public class Trigger {
 
         m_pressedLast = pressed;
       }
-    });
+    }, false);
 
     return this;
   }
@@ -120,7 +131,7 @@ public class Trigger {
   public Trigger whileActiveContinuous(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "whileActiveContinuous");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
+    addBinding(new Runnable() {
       private boolean m_pressedLast = get();
 
       @Override
@@ -135,7 +146,7 @@ public class Trigger {
 
         m_pressedLast = pressed;
       }
-    });
+    }, true);
     return this;
   }
 
@@ -173,7 +184,7 @@ public class Trigger {
   public Trigger whileActiveOnce(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "whileActiveOnce");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
+    addBinding(new Runnable() {
       private boolean m_pressedLast = get();
 
       @Override
@@ -188,7 +199,7 @@ public class Trigger {
 
         m_pressedLast = pressed;
       }
-    });
+    }, false);
     return this;
   }
 
@@ -213,7 +224,7 @@ public class Trigger {
   public Trigger whenInactive(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "whenInactive");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
+    addBinding(new Runnable() {
       private boolean m_pressedLast = get();
 
       @Override
@@ -226,7 +237,7 @@ public class Trigger {
 
         m_pressedLast = pressed;
       }
-    });
+    }, false);
     return this;
   }
 
@@ -260,7 +271,7 @@ public class Trigger {
   public Trigger toggleWhenActive(final Command command, boolean interruptible) {
     requireNonNullParam(command, "command", "toggleWhenActive");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
+    addBinding(new Runnable() {
       private boolean m_pressedLast = get();
 
       @Override
@@ -277,7 +288,7 @@ public class Trigger {
 
         m_pressedLast = pressed;
       }
-    });
+    }, false);
     return this;
   }
 
@@ -300,7 +311,7 @@ public class Trigger {
   public Trigger cancelWhenActive(final Command command) {
     requireNonNullParam(command, "command", "cancelWhenActive");
 
-    CommandScheduler.getInstance().addButton(new Runnable() {
+    addBinding(new Runnable() {
       private boolean m_pressedLast = get();
 
       @Override
@@ -313,7 +324,7 @@ public class Trigger {
 
         m_pressedLast = pressed;
       }
-    });
+    }, false);
     return this;
   }
 
@@ -17,6 +17,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -113,4 +114,72 @@ class LinearFilterTest {
             0.0)
     );
   }
+
+  @Test
+  void movingAverageMatchesWindowSumTest() {
+    final int taps = 50;
+    final LinearFilter filter = LinearFilter.movingAverage(taps);
+    final double[] inputs = new double[3000];
+    final Random gen = new Random(2019);
+    for (int i = 0; i < inputs.length; i++) {
+      inputs[i] = 1000.0 + gen.nextGaussian() * 100.0;
+    }
+
+    for (int i = 0; i < inputs.length; i++) {
+      double expected = 0.0;
+      for (int j = Math.max(0, i - taps + 1); j <= i; j++) {
+        expected += inputs[j] / taps;
+      }
+      assertEquals(expected, filter.calculate(inputs[i]), 1e-9);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("nonFiniteInputProvider")
+  void movingAverageRecoversFromNonFiniteInputTest(double badInput) {
+    final int taps = 5;
+    final LinearFilter filter = LinearFilter.movingAverage(taps);
+    for (int i = 0; i < taps; i++) {
+      filter.calculate(2.0);
+    }
+
+    assertFalse(Double.isFinite(filter.calculate(badInput)));
+    for (int i = 1; i < taps; i++) {
+      filter.calculate(2.0);
+    }
+    assertEquals(2.0, filter.calculate(2.0), 1e-12);
+  }
+
+  static Stream<Double> nonFiniteInputProvider() {
+    return Stream.of(Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+  }
+
+  @Test
+  void batchCalculateTest() {
+    final LinearFilter single = LinearFilter.highPass(kHighPassTimeConstant, kFilterStep);
+    final LinearFilter batch = LinearFilter.highPass(kHighPassTimeConstant, kFilterStep);
+
+    final double[] inputs = new double[400];
+    for (int i = 0; i < inputs.length; i++) {
+      inputs[i] = getData(i * kFilterStep);
+    }
+    final double[] outputs = new double[inputs.length];
+    batch.calculate(inputs, outputs);
+
+    for (int i = 0; i < inputs.length; i++) {
+      assertEquals(single.calculate(inputs[i]), outputs[i]);
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> batch.calculate(inputs, new double[inputs.length - 1]));
+  }
+
+  @Test
+  void resetTest() {
+    final LinearFilter filter = LinearFilter.movingAverage(3);
+    filter.calculate(3.0);
+    filter.calculate(6.0);
+    filter.reset();
+
+    assertEquals(1.0, filter.calculate(3.0), 1e-12);
+  }
 }
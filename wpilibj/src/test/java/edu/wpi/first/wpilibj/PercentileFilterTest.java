@@ -0,0 +1,85 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PercentileFilterTest {
+  /**
+   * Computes the percentile of the window ending at the given index by sorting it.
+   */
+  private static double sortedPercentile(double[] inputs, int end, int size, double percentile) {
+    final int start = Math.max(0, end - size + 1);
+    final double[] window = Arrays.copyOfRange(inputs, start, end + 1);
+    Arrays.sort(window);
+
+    final double rank = percentile * (window.length - 1);
+    final int lowerRank = (int) rank;
+    if (lowerRank + 1 >= window.length) {
+      return window[lowerRank];
+    }
+    return window[lowerRank] + (window[lowerRank + 1] - window[lowerRank]) * (rank - lowerRank);
+  }
+
+  @Test
+  void illegalArgumentTest() {
+    assertThrows(IllegalArgumentException.class, () -> PercentileFilter.median(0));
+    assertThrows(IllegalArgumentException.class, () -> new PercentileFilter(5, -0.1));
+    assertThrows(IllegalArgumentException.class, () -> new PercentileFilter(5, 1.1));
+    assertThrows(IllegalArgumentException.class, () -> new PercentileFilter(5, Double.NaN));
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1, 0.5", "2, 0.5", "5, 0.5", "6, 0.5", "101, 0.5", "10, 0.0", "10, 1.0",
+      "17, 0.9", "32, 0.25"})
+  void matchesSortedWindowTest(int size, double percentile) {
+    final PercentileFilter filter = new PercentileFilter(size, percentile);
+    final Random gen = new Random(size);
+    final double[] inputs = new double[1000];
+    for (int i = 0; i < inputs.length; i++) {
+      // Round the inputs so that there are plenty of duplicates
+      inputs[i] = Math.round(gen.nextGaussian() * 10.0);
+    }
+
+    for (int i = 0; i < inputs.length; i++) {
+      assertEquals(sortedPercentile(inputs, i, size, percentile), filter.calculate(inputs[i]),
+          1e-12);
+    }
+  }
+
+  @Test
+  void rejectsOutliersTest() {
+    final PercentileFilter filter = PercentileFilter.median(5);
+    final double[] inputs = {1.0, 1.1, 500.0, 0.9, 1.0, -300.0, 1.05};
+    final double[] outputs = new double[inputs.length];
+    filter.calculate(inputs, outputs);
+
+    assertEquals(1.0, outputs[4]);
+    assertEquals(1.0, outputs[5]);
+    assertEquals(1.0, outputs[6]);
+  }
+
+  @Test
+  void resetTest() {
+    final PercentileFilter filter = PercentileFilter.median(3);
+    filter.calculate(10.0);
+    filter.calculate(20.0);
+    filter.reset();
+
+    assertEquals(5.0, filter.calculate(5.0));
+    assertEquals(6.0, filter.calculate(7.0));
+  }
+}
@@ -0,0 +1,65 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SimClockTest {
+  @AfterEach
+  void restoreDefaultClock() {
+    Clock.setDefault(null);
+  }
+
+  @Test
+  void testStep() {
+    var clock = new SimClock(1000);
+    clock.step(0.02);
+    clock.stepMicroseconds(5);
+
+    assertEquals(21005, clock.getMicroseconds());
+    assertEquals(0.021005, clock.getSeconds(), 1e-12);
+    assertThrows(IllegalArgumentException.class, () -> clock.stepMicroseconds(-1));
+  }
+
+  @Test
+  void testDefaultClockFollowsReplacement() {
+    // Objects that keep the default clock see a clock set after they got it.
+    var defaultClock = Clock.getDefault();
+
+    var clock = new SimClock();
+    Clock.setDefault(clock);
+    clock.step(1.5);
+
+    assertEquals(1500000, defaultClock.getMicroseconds());
+  }
+
+  @Test
+  void testTimer() {
+    var clock = new SimClock();
+    var timer = new Timer(clock);
+    timer.start();
+    clock.step(0.25);
+
+    assertEquals(0.25, timer.get(), 1e-9);
+    assertFalse(timer.hasPeriodPassed(0.5));
+
+    clock.step(0.5);
+    assertTrue(timer.hasPeriodPassed(0.5));
+    assertEquals(0.25, timer.get(), 1e-9);
+
+    timer.stop();
+    clock.step(1.0);
+    assertEquals(0.25, timer.get(), 1e-9);
+  }
+}
@@ -0,0 +1,100 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PIDControllerBankTest {
+  private PIDControllerBank m_bank;
+
+  @BeforeEach
+  void setUp() {
+    m_bank = new PIDControllerBank(3);
+  }
+
+  @AfterEach
+  void tearDown() {
+    m_bank.close();
+  }
+
+  @Test
+  @SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+  void matchesPIDControllerTest() {
+    final double[][] gains = {{1.0, 0.5, 0.1}, {4.0, 0.0, 0.0}, {0.2, 2.0, 0.05}};
+    final var controllers = new PIDController[3];
+    for (int i = 0; i < 3; i++) {
+      controllers[i] = new PIDController(gains[i][0], gains[i][1], gains[i][2]);
+      m_bank.setPID(i, gains[i][0], gains[i][1], gains[i][2]);
+    }
+    controllers[2].enableContinuousInput(-180, 180);
+    m_bank.enableContinuousInput(2, -180, 180);
+
+    final double[] setpoints = {1.0, -2.0, 170.0};
+    final var measurements = new double[3];
+    final var outputs = new double[3];
+    for (int step = 0; step < 50; step++) {
+      for (int i = 0; i < 3; i++) {
+        measurements[i] = Math.sin(step * 0.1 + i) * (i == 2 ? 180.0 : 1.0);
+      }
+      m_bank.calculate(measurements, setpoints, outputs);
+      for (int i = 0; i < 3; i++) {
+        assertEquals(controllers[i].calculate(measurements[i], setpoints[i]), outputs[i], 1e-12);
+        assertEquals(controllers[i].getPositionError(), m_bank.getPositionError(i), 1e-12);
+        assertEquals(controllers[i].atSetpoint(), m_bank.atSetpoint(i));
+      }
+    }
+
+    for (var controller : controllers) {
+      controller.close();
+    }
+  }
+
+  @Test
+  void channelViewTest() {
+    var channel = m_bank.getChannel(1);
+    channel.setP(4);
+
+    assertEquals(4, m_bank.getChannel(1).getP());
+    assertEquals(0, m_bank.getChannel(0).getP());
+    assertEquals(-0.1, channel.calculate(0.025, 0), 1e-5);
+    assertEquals(0.025, m_bank.getPositionError(1) * -1, 1e-5);
+  }
+
+  @Test
+  void integralGainOutputTest() {
+    var channel = m_bank.getChannel(0);
+    channel.setI(4);
+
+    double out = 0;
+
+    for (int i = 0; i < 5; i++) {
+      out = channel.calculate(.025, 0);
+    }
+
+    assertEquals(-0.5 * m_bank.getPeriod(), out, 1e-5);
+
+    channel.reset();
+    assertEquals(-0.1 * m_bank.getPeriod(), channel.calculate(.025, 0), 1e-5);
+  }
+
+  @Test
+  void atSetpointsTest() {
+    m_bank.calculate(new double[] {0.0, 0.0, 0.0}, new double[] {0.0, 0.01, 0.0},
+        new double[3]);
+    assertTrue(m_bank.atSetpoints());
+
+    m_bank.getChannel(1).setTolerance(0.001);
+    assertFalse(m_bank.atSetpoints());
+  }
+}
@@ -10,6 +10,8 @@ package edu.wpi.first.wpilibj.controller;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import edu.wpi.first.wpilibj.SimClock;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -57,4 +59,15 @@ class PIDInputOutputTest {
 
     assertEquals(-0.01 / m_controller.getPeriod(), m_controller.calculate(0.0025, 0), 1e-5);
   }
+
+  @Test
+  void measuredPeriodTest() {
+    var clock = new SimClock();
+    var controller = new PIDController(0, 0, 4, 0.02, clock);
+
+    controller.calculate(0, 0);
+    clock.step(0.005);
+
+    assertEquals(-0.01 / 0.005, controller.calculate(0.0025, 0), 1e-5);
+  }
 }
@@ -14,11 +14,14 @@ import org.junit.jupiter.api.Test;
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
 import edu.wpi.first.wpilibj.geometry.Twist2d;
+import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
+import edu.wpi.first.wpilibj.trajectory.PackedTrajectory;
 import edu.wpi.first.wpilibj.trajectory.TrajectoryGenerator;
 import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class RamseteControllerTest {
   private static final double kTolerance = 1 / 12.0;
@@ -64,6 +67,41 @@ class RamseteControllerTest {
     );
   }
 
+  @Test
+  void testAllocationFreeOverloadsMatch() {
+    final var controller = new RamseteController(2.0, 0.7);
+    final var robotPose = new Pose2d(2.7, 23.0, Rotation2d.fromDegrees(10.0));
+
+    final var waypoints = new ArrayList<Pose2d>();
+    waypoints.add(new Pose2d(2.75, 22.521, new Rotation2d(0)));
+    waypoints.add(new Pose2d(24.73, 19.68, new Rotation2d(5.846)));
+    final var trajectory = TrajectoryGenerator.generateTrajectory(waypoints,
+        new ArrayList<TrajectoryConstraint>(), 0, 0, 8.8, 0.1, false);
+    final var sampler = new PackedTrajectory(trajectory).sampler();
+    final var packedState = new PackedTrajectory.MutableState();
+    final var result = new ChassisSpeeds();
+
+    for (double time = 0.0; time < trajectory.getTotalTimeSeconds(); time += 0.5) {
+      var expected = controller.calculate(robotPose, trajectory.sample(time));
+
+      sampler.sample(time, packedState);
+      assertSame(result, controller.calculate(robotPose, packedState, result));
+      assertAll(
+          () -> assertEquals(expected.vxMetersPerSecond, result.vxMetersPerSecond, 1e-9),
+          () -> assertEquals(expected.omegaRadiansPerSecond, result.omegaRadiansPerSecond, 1e-9)
+      );
+
+      controller.calculate(robotPose.getTranslation().getX(), robotPose.getTranslation().getY(),
+          robotPose.getRotation().getRadians(), packedState.xMeters, packedState.yMeters,
+          packedState.headingRadians, packedState.velocityMetersPerSecond,
+          packedState.velocityMetersPerSecond * packedState.curvatureRadPerMeter, result);
+      assertAll(
+          () -> assertEquals(expected.vxMetersPerSecond, result.vxMetersPerSecond, 1e-9),
+          () -> assertEquals(expected.omegaRadiansPerSecond, result.omegaRadiansPerSecond, 1e-9)
+      );
+    }
+  }
+
   private static double boundRadians(double value) {
     while (value > Math.PI) {
       value -= Math.PI * 2;
@@ -0,0 +1,101 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.geometry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MutablePose2dTest {
+  private static final double kEpsilon = 1E-9;
+
+  private static void assertPoseEquals(Pose2d expected, MutablePose2d actual) {
+    assertAll(
+        () -> assertEquals(expected.getTranslation().getX(), actual.getX(), kEpsilon),
+        () -> assertEquals(expected.getTranslation().getY(), actual.getY(), kEpsilon),
+        () -> assertEquals(expected.getRotation().getCos(), actual.getCos(), kEpsilon),
+        () -> assertEquals(expected.getRotation().getSin(), actual.getSin(), kEpsilon)
+    );
+  }
+
+  @Test
+  void testTransformBy() {
+    var initial = new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(45.0));
+    var transformation = new Transform2d(new Translation2d(5.0, 0.0),
+        Rotation2d.fromDegrees(5.0));
+
+    var pose = new MutablePose2d(initial);
+    assertSame(pose, pose.transformBy(transformation));
+    assertPoseEquals(initial.transformBy(transformation), pose);
+    assertEquals(Math.toRadians(50.0), pose.getRadians(), kEpsilon);
+  }
+
+  @Test
+  void testRelativeTo() {
+    var initial = new Pose2d(1.0, -3.0, Rotation2d.fromDegrees(45.0));
+    var last = new Pose2d(5.0, 5.0, Rotation2d.fromDegrees(-130.0));
+
+    var pose = new MutablePose2d(last).relativeTo(new MutablePose2d(initial));
+    assertPoseEquals(last.relativeTo(initial), pose);
+  }
+
+  @Test
+  void testExpMatchesPose2d() {
+    var start = new Pose2d(2.0, 1.0, Rotation2d.fromDegrees(160.0));
+    var twists = new Twist2d[] {
+        new Twist2d(1.0, 0.0, 0.0),
+        new Twist2d(0.5, 0.2, Math.PI / 3),
+        new Twist2d(-0.3, 0.0, -1E-12),
+        new Twist2d(0.0, 0.0, 2.5)
+    };
+
+    for (var twist : twists) {
+      var pose = new MutablePose2d(start);
+      pose.exp(twist);
+      assertPoseEquals(start.exp(twist), pose);
+    }
+  }
+
+  @Test
+  void testLogMatchesPose2d() {
+    var start = new Pose2d(2.0, 1.0, Rotation2d.fromDegrees(160.0));
+    var ends = new Pose2d[] {
+        new Pose2d(5.0, 5.0, Rotation2d.fromDegrees(90.0)),
+        new Pose2d(3.0, 1.0, Rotation2d.fromDegrees(160.0)),
+        new Pose2d(-1.0, 0.0, Rotation2d.fromDegrees(-170.0))
+    };
+
+    var twist = new Twist2d();
+    for (var end : ends) {
+      new MutablePose2d(start).log(new MutablePose2d(end), twist);
+      assertEquals(start.log(end), twist);
+    }
+  }
+
+  @Test
+  void testLogExpRoundTrip() {
+    var start = new MutablePose2d(1.0, 1.0, 0.3);
+    var end = new MutablePose2d(4.0, -2.0, 2.9);
+
+    var twist = start.log(end, new Twist2d());
+    start.exp(twist);
+
+    assertPoseEquals(end.toPose2d(), start);
+  }
+
+  @Test
+  void testRepeatedCompositionStaysNormalized() {
+    var pose = new MutablePose2d();
+    for (int i = 0; i < 100000; i++) {
+      pose.exp(0.01, 0.0, 0.001);
+    }
+    assertEquals(1.0, Math.hypot(pose.getCos(), pose.getSin()), 1E-12);
+  }
+}
@@ -0,0 +1,105 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.kinematics;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchDifferentialDriveOdometryTest {
+  private static final double kEpsilon = 1E-9;
+
+  @Test
+  void testMatchesDifferentialDriveOdometry() {
+    final int count = 8;
+    var kinematics = new DifferentialDriveKinematics(0.7);
+    var initialPose = new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(170.0));
+
+    var batch = new BatchDifferentialDriveOdometry(count);
+    batch.resetPositions(initialPose);
+    var odometries = new DifferentialDriveOdometry[count];
+    for (int i = 0; i < count; i++) {
+      odometries[i] = new DifferentialDriveOdometry(kinematics, initialPose);
+    }
+
+    var random = new Random(5190);
+    double[] angles = new double[count];
+    double[] left = new double[count];
+    double[] right = new double[count];
+    for (int i = 0; i < count; i++) {
+      angles[i] = initialPose.getRotation().getRadians();
+    }
+
+    for (int step = 0; step < 100; step++) {
+      double time = 0.02 * step;
+      for (int i = 0; i < count; i++) {
+        // Wrap past +/-pi to check that the heading change is wrapped the same way.
+        angles[i] += 0.1 * random.nextGaussian();
+        left[i] = 2.0 + random.nextGaussian();
+        right[i] = 2.0 + random.nextGaussian();
+        odometries[i].updateWithTime(time, new Rotation2d(angles[i]),
+            new DifferentialDriveWheelSpeeds(left[i], right[i]));
+      }
+      batch.updateWithTime(time, angles, left, right);
+    }
+
+    for (int i = 0; i < count; i++) {
+      var expected = odometries[i].getPoseMeters();
+      int hypothesis = i;
+      assertAll(
+          () -> assertEquals(expected.getTranslation().getX(), batch.getXMeters(hypothesis),
+              kEpsilon),
+          () -> assertEquals(expected.getTranslation().getY(), batch.getYMeters(hypothesis),
+              kEpsilon),
+          () -> assertEquals(expected.getRotation().getRadians(),
+              batch.getHeadingRadians(hypothesis), kEpsilon)
+      );
+    }
+  }
+
+  @Test
+  void testParallelMatchesSerial() {
+    final int count = 10000;
+    var serial = new BatchDifferentialDriveOdometry(count);
+    var parallel = new BatchDifferentialDriveOdometry(count);
+    parallel.setPool(ForkJoinPool.commonPool());
+
+    double[] angles = new double[count];
+    double[] left = new double[count];
+    double[] right = new double[count];
+    for (int step = 0; step < 10; step++) {
+      for (int i = 0; i < count; i++) {
+        angles[i] = 0.01 * step * (i % 7);
+        left[i] = 1.0 + 0.001 * i;
+        right[i] = 1.5;
+      }
+      serial.updateWithTime(0.02 * step, angles, left, right);
+      parallel.updateWithTime(0.02 * step, angles, left, right);
+    }
+
+    for (int i = 0; i < count; i++) {
+      assertEquals(serial.getXMeters(i), parallel.getXMeters(i));
+      assertEquals(serial.getYMeters(i), parallel.getYMeters(i));
+    }
+  }
+
+  @Test
+  void testWrongInputCount() {
+    var batch = new BatchDifferentialDriveOdometry(4);
+    assertThrows(IllegalArgumentException.class,
+        () -> batch.updateWithTime(0.0, new double[4], new double[3], new double[4]));
+  }
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class DifferentialDriveKinematicsTest {
   private static final double kEpsilon = 1E-9;
@@ -85,4 +86,16 @@ class DifferentialDriveKinematicsTest {
         () -> assertEquals(-Math.PI, chassisSpeeds.omegaRadiansPerSecond, kEpsilon)
     );
   }
+
+  @Test
+  void testInverseKinematicsIntoResult() {
+    var chassisSpeeds = new ChassisSpeeds(1.0, 0, Math.PI);
+    var result = new DifferentialDriveWheelSpeeds(5.0, 5.0);
+    assertSame(result, m_kinematics.toWheelSpeeds(chassisSpeeds, result));
+
+    assertAll(
+        () -> assertEquals(1.0 - 0.381 * Math.PI, result.leftMetersPerSecond, kEpsilon),
+        () -> assertEquals(1.0 + 0.381 * Math.PI, result.rightMetersPerSecond, kEpsilon)
+    );
+  }
 }
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 
 import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Translation2d;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -48,4 +49,23 @@ class DifferentialDriveOdometryTest {
         () -> assertEquals(pose.getRotation().getDegrees(), 90.0, kEpsilon)
     );
   }
+
+  @Test
+  void testLatencyCompensatedCorrection() {
+    m_odometry.resetPosition(new Pose2d());
+    var speeds = new DifferentialDriveWheelSpeeds(1.0, 1.0);
+    for (int i = 0; i <= 10; i++) {
+      m_odometry.updateWithTime(0.1 * i, new Rotation2d(), speeds);
+    }
+
+    // The robot was measured 0.2 m further along and 0.1 m to the left at 0.55 s.
+    var pose = m_odometry.correctTranslation(0.55, new Translation2d(0.75, 0.1));
+
+    assertAll(
+        () -> assertEquals(1.2, pose.getTranslation().getX(), kEpsilon),
+        () -> assertEquals(0.1, pose.getTranslation().getY(), kEpsilon),
+        () -> assertEquals(0.0, pose.getRotation().getRadians(), kEpsilon),
+        () -> assertEquals(11, m_odometry.getPoseHistory().size())
+    );
+  }
 }
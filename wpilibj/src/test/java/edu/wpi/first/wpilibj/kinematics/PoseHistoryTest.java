@@ -0,0 +1,121 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.kinematics;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.MutablePose2d;
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.geometry.Twist2d;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PoseHistoryTest {
+  private static final double kEpsilon = 1E-9;
+
+  @Test
+  void testDropsOldestSampleWhenFull() {
+    var history = new PoseHistory(4);
+    for (int i = 0; i < 6; i++) {
+      history.add(i, i, 0.0, 0.0);
+    }
+
+    assertAll(
+        () -> assertEquals(4, history.size()),
+        () -> assertEquals(2.0, history.getTimestampSeconds(0)),
+        () -> assertEquals(5.0, history.getTimestampSeconds(3)),
+        () -> assertFalse(history.sample(1.5, new MutablePose2d()))
+    );
+  }
+
+  @Test
+  void testTimeGoingBackwardsClearsHistory() {
+    var history = new PoseHistory(4);
+    history.add(1.0, 1.0, 0.0, 0.0);
+    history.add(2.0, 2.0, 0.0, 0.0);
+    history.add(2.0, 3.0, 0.0, 0.0);
+    assertEquals(2, history.size());
+    assertEquals(3.0, history.getXMeters(1));
+
+    history.add(0.5, 0.0, 0.0, 0.0);
+    assertEquals(1, history.size());
+  }
+
+  @Test
+  void testSampleInterpolatesAlongArc() {
+    var start = new Pose2d(1.0, 2.0, Rotation2d.fromDegrees(30.0));
+    var twist = new Twist2d(1.0, 0.0, 1.0);
+    var end = start.exp(twist);
+
+    var history = new PoseHistory(8);
+    history.add(0.0, start);
+    history.add(1.0, end);
+
+    var expected = start.exp(new Twist2d(0.25, 0.0, 0.25));
+    var result = new MutablePose2d();
+    assertTrue(history.sample(0.25, result));
+    assertAll(
+        () -> assertEquals(expected.getTranslation().getX(), result.getX(), kEpsilon),
+        () -> assertEquals(expected.getTranslation().getY(), result.getY(), kEpsilon),
+        () -> assertEquals(expected.getRotation().getRadians(), result.getRadians(), kEpsilon)
+    );
+
+    // Times after the latest sample return the latest sample.
+    assertTrue(history.sample(3.0, result));
+    assertEquals(end.getTranslation().getX(), result.getX(), kEpsilon);
+  }
+
+  @Test
+  void testSampleWrappedBuffer() {
+    var history = new PoseHistory(5);
+    for (int i = 0; i < 12; i++) {
+      history.add(0.1 * i, i, -i, 0.0);
+    }
+
+    var result = new MutablePose2d();
+    assertTrue(history.sample(0.95, result));
+    assertAll(
+        () -> assertEquals(9.5, result.getX(), kEpsilon),
+        () -> assertEquals(-9.5, result.getY(), kEpsilon)
+    );
+  }
+
+  @Test
+  void testCorrectReplaysMotion() {
+    var history = new PoseHistory(8);
+    for (int i = 0; i < 5; i++) {
+      history.add(i, i, 0.0, 0.0);
+    }
+
+    // At t = 2 the robot was actually at (0, 2), facing +y, so the motion
+    // since then was along +y.
+    assertTrue(history.correct(2.0, 0.0, 2.0, Math.PI / 2));
+
+    assertAll(
+        () -> assertEquals(1.0, history.getXMeters(1), kEpsilon),
+        () -> assertEquals(0.0, history.getYMeters(1), kEpsilon),
+        () -> assertEquals(0.0, history.getXMeters(4), kEpsilon),
+        () -> assertEquals(4.0, history.getYMeters(4), kEpsilon),
+        () -> assertEquals(Math.PI / 2, history.getHeadingRadians(4), kEpsilon)
+    );
+  }
+
+  @Test
+  void testCorrectBeforeOldestSample() {
+    var history = new PoseHistory(8);
+    assertFalse(history.correctTranslation(0.0, 1.0, 1.0));
+
+    history.add(1.0, 0.0, 0.0, 0.0);
+    assertFalse(history.correctTranslation(0.5, 1.0, 1.0));
+    assertEquals(0.0, history.getXMeters(0));
+  }
+}
@@ -14,6 +14,8 @@ import edu.wpi.first.wpilibj.geometry.Translation2d;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SuppressWarnings("PMD.TooManyMethods")
 class SwerveDriveKinematicsTest {
@@ -260,4 +262,83 @@ class SwerveDriveKinematicsTest {
     );
   }
 
+  @Test
+  void testPrimitiveInverseKinematicsMatches() {
+    var speeds = new ChassisSpeeds(1.5, -0.5, 2.0);
+    var centerOfRotation = new Translation2d(24, 0);
+    var expected = m_kinematics.toSwerveModuleStates(speeds, centerOfRotation);
+
+    double[] moduleSpeeds = new double[4];
+    double[] moduleAngles = new double[4];
+    m_kinematics.toSwerveModuleStates(speeds, centerOfRotation, moduleSpeeds, moduleAngles);
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(expected[i].speedMetersPerSecond, moduleSpeeds[i], kEpsilon);
+      assertEquals(expected[i].angle.getRadians(), moduleAngles[i], kEpsilon);
+    }
+  }
+
+  @Test
+  void testPrimitiveInverseKinematicsMatchesNearZero() {
+    var speeds = new ChassisSpeeds(-1E-8, 3E-8, 0.0);
+    var expected = m_kinematics.toSwerveModuleStates(speeds);
+
+    double[] moduleSpeeds = new double[4];
+    double[] moduleAngles = new double[4];
+    m_kinematics.toSwerveModuleStates(speeds, moduleSpeeds, moduleAngles);
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals(expected[i].speedMetersPerSecond, moduleSpeeds[i], kEpsilon);
+      assertEquals(expected[i].angle.getRadians(), moduleAngles[i], kEpsilon);
+      assertEquals(0.0, moduleAngles[i], kEpsilon);
+    }
+  }
+
+  @Test
+  void testPrimitiveForwardKinematicsMatches() {
+    var states = new SwerveModuleState[] {
+        new SwerveModuleState(1.0, Rotation2d.fromDegrees(10.0)),
+        new SwerveModuleState(2.0, Rotation2d.fromDegrees(-30.0)),
+        new SwerveModuleState(1.5, Rotation2d.fromDegrees(95.0)),
+        new SwerveModuleState(0.5, Rotation2d.fromDegrees(180.0))
+    };
+    var expected = m_kinematics.toChassisSpeeds(states);
+
+    double[] moduleSpeeds = new double[4];
+    double[] moduleAngles = new double[4];
+    for (int i = 0; i < 4; i++) {
+      moduleSpeeds[i] = states[i].speedMetersPerSecond;
+      moduleAngles[i] = states[i].angle.getRadians();
+    }
+    var result = new ChassisSpeeds(9.0, 9.0, 9.0);
+    assertSame(result, m_kinematics.toChassisSpeeds(moduleSpeeds, moduleAngles, result));
+
+    assertAll(
+        () -> assertEquals(expected.vxMetersPerSecond, result.vxMetersPerSecond, kEpsilon),
+        () -> assertEquals(expected.vyMetersPerSecond, result.vyMetersPerSecond, kEpsilon),
+        () -> assertEquals(expected.omegaRadiansPerSecond, result.omegaRadiansPerSecond, kEpsilon)
+    );
+  }
+
+  @Test
+  void testPrimitiveWrongModuleCount() {
+    assertThrows(IllegalArgumentException.class,
+        () -> m_kinematics.toSwerveModuleStates(new ChassisSpeeds(), new double[3],
+            new double[4]));
+  }
+
+  @Test
+  void testPrimitiveNormalize() {
+    double[] speeds = {5.0, 6.0, 4.0, 7.0};
+    SwerveDriveKinematics.normalizeWheelSpeeds(speeds, 5.5);
+
+    double factor = 5.5 / 7.0;
+
+    assertAll(
+        () -> assertEquals(5.0 * factor, speeds[0], kEpsilon),
+        () -> assertEquals(6.0 * factor, speeds[1], kEpsilon),
+        () -> assertEquals(4.0 * factor, speeds[2], kEpsilon),
+        () -> assertEquals(7.0 * factor, speeds[3], kEpsilon)
+    );
+  }
 }
@@ -88,4 +88,37 @@ class QuinticHermiteSplineTest {
     run(new Pose2d(0, 0, Rotation2d.fromDegrees(90)),
         new Pose2d(-1, 0, Rotation2d.fromDegrees(90)));
   }
+
+  @Test
+  void testCurvatureMatchesHeadingRate() {
+    var spline = SplineHelper.getQuinticSplinesFromWaypoints(new Pose2d[]{
+        new Pose2d(0, 0, Rotation2d.fromDegrees(90)),
+        new Pose2d(-1, 0, Rotation2d.fromDegrees(90))})[0];
+
+    final double step = 1E-5;
+    var before = new SplineSample();
+    var sample = new SplineSample();
+    var after = new SplineSample();
+
+    for (double t = 0.0; t <= 1.0; t += 0.05) {
+      spline.getPoint(Math.max(t - step, 0.0), before);
+      spline.getPoint(t, sample);
+      spline.getPoint(Math.min(t + step, 1.0), after);
+
+      // The curvature is the rate of change of heading with respect to
+      // distance traveled along the spline.
+      var dtheta = after.getHeadingRadians() - before.getHeadingRadians();
+      var distance = Math.hypot(after.xMeters - before.xMeters, after.yMeters - before.yMeters);
+
+      var point = spline.getPoint(t);
+      assertAll(
+          () -> assertEquals(dtheta / distance, sample.curvatureRadPerMeter, 1E-3),
+          () -> assertEquals(point.poseMeters.getTranslation().getX(), sample.xMeters, 1E-9),
+          () -> assertEquals(point.poseMeters.getTranslation().getY(), sample.yMeters, 1E-9),
+          () -> assertEquals(point.poseMeters.getRotation().getRadians(),
+              sample.getHeadingRadians(), 1E-9),
+          () -> assertEquals(point.curvatureRadPerMeter, sample.curvatureRadPerMeter, 1E-9)
+      );
+    }
+  }
 }
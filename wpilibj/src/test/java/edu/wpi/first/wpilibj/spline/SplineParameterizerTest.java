@@ -0,0 +1,86 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.spline;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SplineParameterizerTest {
+  private final Spline m_spline = SplineHelper.getQuinticSplinesFromWaypoints(new Pose2d[]{
+      new Pose2d(0, 0, Rotation2d.fromDegrees(90)),
+      new Pose2d(-1, 0, Rotation2d.fromDegrees(90))})[0];
+
+  private static void assertWithinTolerance(List<PoseWithCurvature> poses,
+                                            SplineParameterizer.Tolerances tolerances) {
+    for (int i = 0; i < poses.size() - 1; i++) {
+      var twist = poses.get(i).poseMeters.log(poses.get(i + 1).poseMeters);
+      assertAll(
+          () -> assertTrue(Math.abs(twist.dx) <= tolerances.maxDx),
+          () -> assertTrue(Math.abs(twist.dy) <= tolerances.maxDy),
+          () -> assertTrue(Math.abs(twist.dtheta) <= tolerances.maxDtheta)
+      );
+    }
+  }
+
+  @Test
+  void testCoarseTolerances() {
+    var coarse = new SplineParameterizer.Tolerances(0.5, 0.01, 0.25);
+
+    var finePoses = SplineParameterizer.parameterize(m_spline);
+    var coarsePoses = SplineParameterizer.parameterize(m_spline, 0.0, 1.0, coarse);
+
+    assertWithinTolerance(finePoses, SplineParameterizer.kDefaultTolerances);
+    assertWithinTolerance(coarsePoses, coarse);
+    assertTrue(coarsePoses.size() < finePoses.size());
+  }
+
+  @Test
+  void testAppendPointsSkipsInitialPoint() {
+    var poses = SplineParameterizer.parameterize(m_spline);
+
+    var buffer = new SplineSampleBuffer(1);
+    SplineParameterizer.appendPoints(m_spline, 0.0, 1.0, SplineParameterizer.kDefaultTolerances,
+        buffer);
+
+    assertEquals(poses.size() - 1, buffer.size());
+    for (int i = 0; i < buffer.size(); i++) {
+      var pose = poses.get(i + 1).poseMeters;
+      assertEquals(pose.getTranslation().getX(), buffer.getXMeters(i), 1E-9);
+      assertEquals(pose.getTranslation().getY(), buffer.getYMeters(i), 1E-9);
+      assertEquals(pose.getRotation().getCos(), buffer.getCos(i), 1E-9);
+      assertEquals(pose.getRotation().getSin(), buffer.getSin(i), 1E-9);
+    }
+  }
+
+  @Test
+  void testInvalidTolerances() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new SplineParameterizer.Tolerances(0.0, 0.01, 0.25));
+    assertThrows(IllegalArgumentException.class,
+        () -> new SplineParameterizer.Tolerances(0.5, Double.NaN, 0.25));
+  }
+
+  @Test
+  void testMalformedSpline() {
+    var spline = SplineHelper.getQuinticSplinesFromWaypoints(new Pose2d[]{
+        new Pose2d(0, 0, Rotation2d.fromDegrees(0)),
+        new Pose2d(1, 0, Rotation2d.fromDegrees(180))})[0];
+
+    assertThrows(SplineParameterizer.MalformedSplineException.class,
+        () -> SplineParameterizer.parameterize(spline));
+  }
+}
@@ -11,12 +11,14 @@ import java.util.Collections;
 
 import org.junit.jupiter.api.Test;
 
+import edu.wpi.first.wpilibj.geometry.Pose2d;
 import edu.wpi.first.wpilibj.kinematics.ChassisSpeeds;
 import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
 import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveKinematicsConstraint;
 import edu.wpi.first.wpilibj.util.Units;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class DifferentialDriveKinematicsConstraintTest {
@@ -50,4 +52,22 @@ class DifferentialDriveKinematicsConstraintTest {
       );
     }
   }
+
+  @Test
+  void testBatchMatchesSinglePoint() {
+    var constraint = new DifferentialDriveKinematicsConstraint(
+        new DifferentialDriveKinematics(Units.inchesToMeters(27)), Units.feetToMeters(12.0));
+
+    double[] curvatures = {0.0, 0.5, -0.5, 2.0, -4.0, 0.5, 0.0};
+    double[] velocities = {1.0, 3.0, 3.0, 2.0, 0.5, -3.0, -5.0};
+    double[] zeros = new double[curvatures.length];
+    double[] maxVelocities = new double[curvatures.length];
+    constraint.getMaxVelocitiesMetersPerSecond(zeros, zeros, zeros, curvatures, velocities,
+        maxVelocities, 0, curvatures.length);
+
+    for (int i = 0; i < curvatures.length; i++) {
+      assertEquals(constraint.getMaxVelocityMetersPerSecond(new Pose2d(), curvatures[i],
+          velocities[i]), maxVelocities[i], 1E-9);
+    }
+  }
 }
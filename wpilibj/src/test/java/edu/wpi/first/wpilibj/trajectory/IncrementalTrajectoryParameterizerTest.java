@@ -0,0 +1,164 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.kinematics.DifferentialDriveKinematics;
+import edu.wpi.first.wpilibj.spline.PoseWithCurvature;
+import edu.wpi.first.wpilibj.spline.SplineHelper;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.DifferentialDriveKinematicsConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IncrementalTrajectoryParameterizerTest {
+  private static final List<TrajectoryConstraint> kConstraints = List.of(
+      new CentripetalAccelerationConstraint(2.0),
+      new DifferentialDriveKinematicsConstraint(new DifferentialDriveKinematics(0.7), 2.5));
+
+  private static Pose2d[] getWaypoints() {
+    var waypoints = new Pose2d[8];
+    for (int i = 0; i < waypoints.length; i++) {
+      waypoints[i] = new Pose2d(2.0 * i, (i % 2 == 0) ? 0.0 : 1.5,
+          Rotation2d.fromDegrees((i % 2 == 0) ? 30.0 : -30.0));
+    }
+    return waypoints;
+  }
+
+  private static List<PoseWithCurvature> getPoints(Pose2d[] waypoints) {
+    return TrajectoryGenerator.splinePointsFromSplines(
+        SplineHelper.getQuinticSplinesFromWaypoints(waypoints));
+  }
+
+  private static IncrementalTrajectoryParameterizer createParameterizer() {
+    return new IncrementalTrajectoryParameterizer(kConstraints, 0.0, 0.0, 3.0, 2.0, false);
+  }
+
+  private static boolean pointEquals(PoseWithCurvature first, PoseWithCurvature second) {
+    return first.poseMeters.equals(second.poseMeters)
+        && first.curvatureRadPerMeter == second.curvatureRadPerMeter;
+  }
+
+  /**
+   * Re-parameterizes the new points after the old ones, finding the changed
+   * range by comparing the two, and checks that the result is the same as
+   * parameterizing the new points from scratch.
+   */
+  private static void assertMatchesFullParameterization(List<PoseWithCurvature> oldPoints,
+                                                        List<PoseWithCurvature> newPoints) {
+    int changedStart = 0;
+    while (changedStart < Math.min(oldPoints.size(), newPoints.size())
+        && pointEquals(oldPoints.get(changedStart), newPoints.get(changedStart))) {
+      changedStart++;
+    }
+    int changedEnd = newPoints.size();
+    int oldEnd = oldPoints.size();
+    while (changedEnd > changedStart && oldEnd > changedStart
+        && pointEquals(oldPoints.get(oldEnd - 1), newPoints.get(changedEnd - 1))) {
+      changedEnd--;
+      oldEnd--;
+    }
+
+    var parameterizer = createParameterizer();
+    parameterizer.parameterize(oldPoints);
+    var incremental = parameterizer.reparameterize(newPoints, changedStart, changedEnd)
+        .getStates();
+    var full = createParameterizer().parameterize(newPoints).getStates();
+
+    assertEquals(full.size(), incremental.size());
+    for (int i = 0; i < full.size(); i++) {
+      var expected = full.get(i);
+      var actual = incremental.get(i);
+      assertAll(
+          () -> assertEquals(expected.timeSeconds, actual.timeSeconds),
+          () -> assertEquals(expected.velocityMetersPerSecond, actual.velocityMetersPerSecond),
+          () -> assertEquals(expected.accelerationMetersPerSecondSq,
+              actual.accelerationMetersPerSecondSq),
+          () -> assertEquals(expected.poseMeters, actual.poseMeters)
+      );
+    }
+  }
+
+  @Test
+  void testMiddleWaypointMoved() {
+    var waypoints = getWaypoints();
+    var oldPoints = getPoints(waypoints);
+
+    waypoints[4] = new Pose2d(8.2, 0.3, Rotation2d.fromDegrees(20.0));
+    assertMatchesFullParameterization(oldPoints, getPoints(waypoints));
+  }
+
+  @Test
+  void testFirstAndLastWaypointsMoved() {
+    var waypoints = getWaypoints();
+    var oldPoints = getPoints(waypoints);
+
+    waypoints[0] = new Pose2d(-0.5, 0.2, Rotation2d.fromDegrees(40.0));
+    assertMatchesFullParameterization(oldPoints, getPoints(waypoints));
+
+    waypoints = getWaypoints();
+    waypoints[waypoints.length - 1] = new Pose2d(14.5, -0.5, new Rotation2d());
+    assertMatchesFullParameterization(oldPoints, getPoints(waypoints));
+  }
+
+  @Test
+  void testUnchangedPath() {
+    var points = getPoints(getWaypoints());
+    assertMatchesFullParameterization(points, points);
+  }
+
+  @Test
+  void testMatchesOriginalParameterizer() {
+    // Without a previous path, the path is parameterized from scratch. The
+    // expected states are the output of the original two-pass
+    // TrajectoryParameterizer for the same points.
+    var points = getPoints(getWaypoints());
+    var states = createParameterizer().reparameterize(points, 0, points.size()).getStates();
+
+    double[][] expected = {
+        {0, 0.0, 0.0, 2.0},
+        {79, 3.8361108887612247, 0.8505273482340097, 0.8118721692701373},
+        {158, 7.4026607800056885, 1.005467360566326, -1.788950787226173},
+        {237, 10.667990647282156, 2.1352519728835393, -2.0},
+        {315, 14.218962858558813, 0.0, -2.0}
+    };
+    assertEquals(316, states.size());
+    for (var row : expected) {
+      var state = states.get((int) row[0]);
+      assertAll(
+          () -> assertEquals(row[1], state.timeSeconds, 1e-9),
+          () -> assertEquals(row[2], state.velocityMetersPerSecond, 1e-9),
+          () -> assertEquals(row[3], state.accelerationMetersPerSecondSq, 1e-9)
+      );
+    }
+  }
+
+  @Test
+  void testInvalidRange() {
+    var points = getPoints(getWaypoints());
+    var parameterizer = createParameterizer();
+    parameterizer.parameterize(points);
+
+    assertAll(
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> parameterizer.reparameterize(points, 5, 4)),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> parameterizer.reparameterize(points, 0, points.size() + 1)),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> parameterizer.reparameterize(points, -1, 3))
+    );
+  }
+}
@@ -0,0 +1,102 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SuppressWarnings("PMD.AvoidInstantiatingObjectsInLoops")
+class MutableTrapezoidProfileTest {
+  private static final double kDt = 0.01;
+  private static final double kEpsilon = 1E-9;
+
+  private static void assertMatchesTrapezoidProfile(TrapezoidProfile.Constraints constraints,
+                                                    TrapezoidProfile.State goal,
+                                                    TrapezoidProfile.State initial) {
+    var profile = new MutableTrapezoidProfile(constraints);
+    profile.setTarget(goal, initial);
+
+    var expectedProfile = new TrapezoidProfile(constraints, goal, initial);
+    assertEquals(expectedProfile.totalTime(), profile.totalTime(), kEpsilon);
+
+    var state = new TrapezoidProfile.State();
+    for (double t = 0.0; t < profile.totalTime() + 1.0; t += kDt) {
+      // TrapezoidProfile.calculate() isn't safe to call more than once
+      var expected = new TrapezoidProfile(constraints, goal, initial).calculate(t);
+      profile.calculate(t, state);
+      assertEquals(expected.position, state.position, kEpsilon);
+      assertEquals(expected.velocity, state.velocity, kEpsilon);
+    }
+  }
+
+  @Test
+  void testMatchesTrapezoidProfile() {
+    var constraints = new TrapezoidProfile.Constraints(1.75, 0.75);
+    assertMatchesTrapezoidProfile(constraints, new TrapezoidProfile.State(3, 0),
+        new TrapezoidProfile.State());
+    assertMatchesTrapezoidProfile(constraints, new TrapezoidProfile.State(12, 0),
+        new TrapezoidProfile.State(0, 1));
+    assertMatchesTrapezoidProfile(constraints, new TrapezoidProfile.State(-2, 0),
+        new TrapezoidProfile.State(0, 0));
+    assertMatchesTrapezoidProfile(constraints, new TrapezoidProfile.State(0.5, 0.2),
+        new TrapezoidProfile.State(0, -0.5));
+    assertMatchesTrapezoidProfile(constraints, new TrapezoidProfile.State(10, 0),
+        new TrapezoidProfile.State(0, 3));
+  }
+
+  @Test
+  void testReachesGoalInPlace() {
+    var profile = new MutableTrapezoidProfile(1.75, 0.75);
+    var goal = new TrapezoidProfile.State(3, 0);
+    var state = new TrapezoidProfile.State();
+
+    for (int i = 0; i < 450; ++i) {
+      profile.setTarget(goal, state);
+      assertSame(state, profile.calculate(kDt, state));
+    }
+    assertEquals(goal, state);
+  }
+
+  @Test
+  void testAcceleration() {
+    var profile = new MutableTrapezoidProfile(1.0, 0.5);
+    profile.setTarget(-4.0, 0.0, 0.0, 0.0);
+
+    // Accelerates for 2 s, cruises for 2 s and decelerates for 2 s in the
+    // negative direction
+    assertEquals(6.0, profile.totalTime(), kEpsilon);
+    assertEquals(-0.5, profile.getAcceleration(1.0), kEpsilon);
+    assertEquals(0.0, profile.getAcceleration(3.0), kEpsilon);
+    assertEquals(0.5, profile.getAcceleration(5.0), kEpsilon);
+    assertEquals(0.0, profile.getAcceleration(7.0), kEpsilon);
+
+    assertEquals(-1.0, profile.getVelocity(3.0), kEpsilon);
+    assertEquals(-2.0, profile.getPosition(3.0), kEpsilon);
+    assertFalse(profile.isFinished(5.0));
+    assertTrue(profile.isFinished(6.0));
+  }
+
+  @Test
+  void testSetConstraintsRecomputes() {
+    var profile = new MutableTrapezoidProfile(1.0, 0.5);
+    profile.setTarget(4.0, 0.0, 0.0, 0.0);
+    assertEquals(6.0, profile.totalTime(), kEpsilon);
+
+    profile.setConstraints(2.0, 0.5);
+
+    // Never reaches full speed; accelerates for 2 * sqrt(2) s each way
+    var expected = new TrapezoidProfile(new TrapezoidProfile.Constraints(2.0, 0.5),
+        new TrapezoidProfile.State(4.0, 0.0)).totalTime();
+    assertEquals(expected, profile.totalTime(), kEpsilon);
+    assertEquals(4.0 * Math.sqrt(2.0), profile.totalTime(), kEpsilon);
+  }
+}
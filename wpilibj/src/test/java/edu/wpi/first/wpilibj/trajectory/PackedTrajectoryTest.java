@@ -0,0 +1,75 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PackedTrajectoryTest {
+  private static void assertStateEquals(Trajectory.State expected,
+                                        PackedTrajectory.MutableState actual) {
+    assertAll(
+        () -> assertEquals(expected.timeSeconds, actual.timeSeconds, 1E-9),
+        () -> assertEquals(expected.velocityMetersPerSecond, actual.velocityMetersPerSecond,
+            1E-9),
+        () -> assertEquals(expected.accelerationMetersPerSecondSq,
+            actual.accelerationMetersPerSecondSq, 1E-9),
+        () -> assertEquals(expected.poseMeters.getTranslation().getX(), actual.xMeters, 1E-9),
+        () -> assertEquals(expected.poseMeters.getTranslation().getY(), actual.yMeters, 1E-9),
+        () -> assertEquals(expected.poseMeters.getRotation().getRadians(), actual.headingRadians,
+            1E-9),
+        () -> assertEquals(expected.curvatureRadPerMeter, actual.curvatureRadPerMeter, 1E-9)
+    );
+  }
+
+  @Test
+  void testSampleMatchesTrajectory() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    var sampler = new PackedTrajectory(trajectory).sampler();
+    var state = new PackedTrajectory.MutableState();
+
+    for (double t = -0.1; t < trajectory.getTotalTimeSeconds() + 0.1; t += 0.02) {
+      sampler.sample(t, state);
+      assertStateEquals(trajectory.sample(t), state);
+    }
+  }
+
+  @Test
+  void testSampleBackwards() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    var sampler = new PackedTrajectory(trajectory).sampler();
+    var state = new PackedTrajectory.MutableState();
+
+    for (double t = trajectory.getTotalTimeSeconds(); t > 0.0; t -= 0.37) {
+      sampler.sample(t, state);
+      assertStateEquals(trajectory.sample(t), state);
+
+      // Jump forward to move the sampler's cursor before going back again.
+      sampler.sample(t + 0.5, state);
+      assertStateEquals(trajectory.sample(t + 0.5), state);
+    }
+  }
+
+  @Test
+  void testRoundTrip() {
+    var trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+    var states = new PackedTrajectory(trajectory).toTrajectory().getStates();
+    var state = new PackedTrajectory.MutableState();
+    var packed = new PackedTrajectory(states);
+
+    assertEquals(trajectory.getStates().size(), states.size());
+    for (int i = 0; i < states.size(); i++) {
+      packed.getState(i, state);
+      assertStateEquals(trajectory.getStates().get(i), state);
+    }
+  }
+}
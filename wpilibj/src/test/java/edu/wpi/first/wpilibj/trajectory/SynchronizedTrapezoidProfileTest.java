@@ -0,0 +1,107 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SynchronizedTrapezoidProfileTest {
+  private static final double kDt = 0.01;
+  private static final double kEpsilon = 1E-9;
+
+  @Test
+  void testAxesFinishTogether() {
+    final double[] maxVelocities = {1.75, 2.0, 0.5};
+    final double[] maxAccelerations = {0.75, 3.0, 1.0};
+    final double[] goals = {3.0, -1.0, 0.25};
+    final double[] initials = {0.0, 1.0, 0.0};
+
+    var profile = new SynchronizedTrapezoidProfile(maxVelocities, maxAccelerations);
+    profile.setTarget(goals, initials);
+
+    // The first axis is the slowest, so it follows its own profile
+    var slowest = new TrapezoidProfile(new TrapezoidProfile.Constraints(1.75, 0.75),
+        new TrapezoidProfile.State(3.0, 0.0));
+    assertEquals(slowest.totalTime(), profile.totalTime(), kEpsilon);
+    for (int i = 0; i < profile.getNumAxes(); i++) {
+      assertEquals(profile.totalTime(), profile.axisTime(i), kEpsilon);
+    }
+
+    final var positions = new double[3];
+    final var velocities = new double[3];
+    final var prevVelocities = new double[3];
+    for (double t = 0.0; t <= profile.totalTime() + kDt; t += kDt) {
+      profile.calculate(t, positions, velocities);
+      assertEquals(new TrapezoidProfile(new TrapezoidProfile.Constraints(1.75, 0.75),
+          new TrapezoidProfile.State(3.0, 0.0)).calculate(t).position, positions[0], kEpsilon);
+
+      for (int i = 0; i < 3; i++) {
+        assertTrue(Math.abs(velocities[i]) <= maxVelocities[i] + kEpsilon);
+        assertTrue(Math.abs(velocities[i] - prevVelocities[i])
+            <= maxAccelerations[i] * kDt + kEpsilon);
+      }
+      System.arraycopy(velocities, 0, prevVelocities, 0, 3);
+    }
+
+    profile.calculate(profile.totalTime(), positions, velocities);
+    assertArrayEquals(goals, positions, 1E-6);
+    assertArrayEquals(new double[3], velocities, 1E-6);
+  }
+
+  @Test
+  void testReachesGoalInPlace() {
+    var profile = new SynchronizedTrapezoidProfile(new double[] {1.0, 1.0},
+        new double[] {1.0, 2.0});
+    final double[] goalPositions = {2.0, -0.5};
+    final double[] goalVelocities = {0.0, 0.0};
+    final double[] positions = {0.0, 0.0};
+    final double[] velocities = {0.0, 0.0};
+
+    for (int i = 0; i < 500; i++) {
+      profile.setTarget(goalPositions, goalVelocities, positions, velocities);
+      profile.calculate(kDt, positions, velocities);
+    }
+    assertArrayEquals(goalPositions, positions, kEpsilon);
+    assertArrayEquals(goalVelocities, velocities, kEpsilon);
+  }
+
+  @Test
+  void testStationaryAxisStaysPut() {
+    var profile = new SynchronizedTrapezoidProfile(new double[] {1.0, 1.0},
+        new double[] {1.0, 1.0});
+    profile.setTarget(new double[] {4.0, 1.5}, new double[] {0.0, 1.5});
+
+    final var positions = new double[2];
+    final var velocities = new double[2];
+    final var accelerations = new double[2];
+    profile.calculate(0.5, positions, velocities);
+    profile.calculateAccelerations(0.5, accelerations);
+    assertEquals(1.5, positions[1], kEpsilon);
+    assertEquals(0.0, velocities[1], kEpsilon);
+    assertEquals(0.0, accelerations[1], kEpsilon);
+    assertEquals(1.0, accelerations[0], kEpsilon);
+    assertEquals(0.0, profile.axisTime(1), kEpsilon);
+  }
+
+  @Test
+  void testFastAxisFinishesEarly() {
+    var profile = new SynchronizedTrapezoidProfile(new double[] {1.0, 2.0},
+        new double[] {1.0, 1.0});
+
+    // The second axis can't cruise below its initial velocity of 2 while
+    // covering 2 m in 6 s, so it isn't slowed down
+    profile.setTarget(new double[] {5.0, 2.0}, new double[] {0.0, 0.0},
+        new double[] {0.0, 0.0}, new double[] {0.0, 2.0});
+    assertEquals(6.0, profile.totalTime(), kEpsilon);
+    assertTrue(profile.axisTime(1) < profile.totalTime());
+    assertTrue(profile.isFinished(6.0));
+  }
+}
@@ -0,0 +1,177 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.wpi.first.wpilibj.geometry.Pose2d;
+import edu.wpi.first.wpilibj.geometry.Rotation2d;
+import edu.wpi.first.wpilibj.trajectory.constraint.CentripetalAccelerationConstraint;
+import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class TrajectoryCacheTest {
+  private static final List<Pose2d> kWaypoints = List.of(
+      new Pose2d(0, 0, new Rotation2d()),
+      new Pose2d(3, 1, Rotation2d.fromDegrees(45)),
+      new Pose2d(5, 4, Rotation2d.fromDegrees(90)));
+
+  private static final class KeyedConstraint implements TrajectoryCache.CacheableConstraint {
+    private final String m_key;
+
+    KeyedConstraint(String key) {
+      m_key = key;
+    }
+
+    @Override
+    public String getCacheKey() {
+      return m_key;
+    }
+
+    @Override
+    public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                                double velocityMetersPerSecond) {
+      return 1.0;
+    }
+
+    @Override
+    public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                         double curvatureRadPerMeter,
+                                                         double velocityMetersPerSecond) {
+      return new MinMax();
+    }
+  }
+
+  @TempDir
+  Path m_directory;
+
+  private Trajectory generate(TrajectoryCache cache, double maxCentripetalAcceleration) {
+    List<TrajectoryConstraint> constraints =
+        List.of(new CentripetalAccelerationConstraint(maxCentripetalAcceleration));
+    return cache.generateTrajectory(kWaypoints, constraints, 0.0, 0.0, 3.0, 2.0, false);
+  }
+
+  private File[] listFiles() {
+    return m_directory.toFile().listFiles();
+  }
+
+  @Test
+  void testHitMatchesGenerated() {
+    var cache = new TrajectoryCache(m_directory.toFile());
+
+    var generated = generate(cache, 2.0);
+    assertEquals(1, listFiles().length);
+
+    var loaded = generate(cache, 2.0);
+    assertEquals(1, listFiles().length);
+
+    var expected = generated.getStates();
+    var actual = loaded.getStates();
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      var expectedState = expected.get(i);
+      var actualState = actual.get(i);
+      assertAll(
+          () -> assertEquals(expectedState.timeSeconds, actualState.timeSeconds),
+          () -> assertEquals(expectedState.velocityMetersPerSecond,
+              actualState.velocityMetersPerSecond),
+          () -> assertEquals(expectedState.accelerationMetersPerSecondSq,
+              actualState.accelerationMetersPerSecondSq),
+          () -> assertEquals(expectedState.poseMeters, actualState.poseMeters),
+          () -> assertEquals(expectedState.curvatureRadPerMeter,
+              actualState.curvatureRadPerMeter)
+      );
+    }
+  }
+
+  @Test
+  void testConstraintChangesKey() {
+    var cache = new TrajectoryCache(m_directory.toFile());
+
+    generate(cache, 2.0);
+    generate(cache, 1.0);
+
+    var files = listFiles();
+    assertEquals(2, files.length);
+    assertNotEquals(files[0].getName(), files[1].getName());
+  }
+
+  @Test
+  void testUserConstraintIsNotCached() {
+    var cache = new TrajectoryCache(m_directory.toFile());
+
+    List<TrajectoryConstraint> constraints = List.of(new TrajectoryConstraint() {
+      @Override
+      public double getMaxVelocityMetersPerSecond(Pose2d poseMeters, double curvatureRadPerMeter,
+                                                  double velocityMetersPerSecond) {
+        return 1.0;
+      }
+
+      @Override
+      public MinMax getMinMaxAccelerationMetersPerSecondSq(Pose2d poseMeters,
+                                                           double curvatureRadPerMeter,
+                                                           double velocityMetersPerSecond) {
+        return new MinMax();
+      }
+    });
+    var trajectory =
+        cache.generateTrajectory(kWaypoints, constraints, 0.0, 0.0, 3.0, 2.0, false);
+
+    assertEquals(0, listFiles().length);
+    assertEquals(
+        TrajectoryGenerator.generateTrajectory(kWaypoints, constraints, 0.0, 0.0, 3.0, 2.0, false)
+            .getTotalTimeSeconds(),
+        trajectory.getTotalTimeSeconds());
+  }
+
+  @Test
+  void testCacheableConstraintKey() {
+    var cache = new TrajectoryCache(m_directory.toFile());
+
+    for (var key : List.of("v1", "v1", "v2")) {
+      List<TrajectoryConstraint> constraints = List.of(new KeyedConstraint(key));
+      cache.generateTrajectory(kWaypoints, constraints, 0.0, 0.0, 3.0, 2.0, false);
+    }
+
+    assertEquals(2, listFiles().length);
+  }
+
+  @Test
+  void testCorruptFileIsRegenerated() throws IOException {
+    var cache = new TrajectoryCache(m_directory.toFile());
+
+    var generated = generate(cache, 2.0);
+    var file = listFiles()[0].toPath();
+    Files.write(file, new byte[] {1, 2, 3});
+
+    var regenerated = generate(cache, 2.0);
+    assertEquals(generated.getTotalTimeSeconds(), regenerated.getTotalTimeSeconds());
+    assertNotEquals(3, Files.size(file));
+  }
+
+  @Test
+  void testClear() throws IOException {
+    var cache = new TrajectoryCache(m_directory.toFile());
+
+    generate(cache, 2.0);
+    generate(cache, 1.0);
+    cache.clear();
+
+    assertEquals(0, listFiles().length);
+  }
+}
@@ -9,6 +9,8 @@ package edu.wpi.first.wpilibj.trajectory;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 import org.junit.jupiter.api.Test;
 
@@ -20,6 +22,7 @@ import edu.wpi.first.wpilibj.trajectory.constraint.TrajectoryConstraint;
 
 import static edu.wpi.first.wpilibj.util.Units.feetToMeters;
 import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TrajectoryGeneratorTest {
@@ -75,4 +78,48 @@ class TrajectoryGeneratorTest {
       );
     }
   }
+
+  @Test
+  void testParallelSplinePointsMatchSerial() {
+    var pool = new ForkJoinPool(2);
+    Trajectory serial = getTrajectory(new ArrayList<>());
+    Trajectory parallel;
+    try {
+      TrajectoryGenerator.setSplinePool(pool);
+      parallel = getTrajectory(new ArrayList<>());
+    } finally {
+      TrajectoryGenerator.setSplinePool(null);
+      pool.shutdown();
+    }
+
+    assertEquals(serial.getStates().size(), parallel.getStates().size());
+    for (int i = 0; i < serial.getStates().size(); i++) {
+      var expected = serial.getStates().get(i);
+      var actual = parallel.getStates().get(i);
+      assertAll(
+          () -> assertEquals(expected.timeSeconds, actual.timeSeconds),
+          () -> assertEquals(expected.poseMeters, actual.poseMeters)
+      );
+    }
+  }
+
+  @Test
+  void testGenerateTrajectories() {
+    var generators = new ArrayList<Supplier<Trajectory>>();
+    for (int i = 1; i <= 4; i++) {
+      final double distance = i;
+      generators.add(() -> TrajectoryGenerator.generateTrajectory(
+          List.of(new Pose2d(), new Pose2d(distance, 0, new Rotation2d())),
+          new ArrayList<>(), 0, 0, feetToMeters(12.0), feetToMeters(12.0)));
+    }
+
+    var trajectories = TrajectoryGenerator.generateTrajectories(generators);
+
+    assertEquals(generators.size(), trajectories.size());
+    for (int i = 0; i < trajectories.size(); i++) {
+      var states = trajectories.get(i).getStates();
+      assertEquals(i + 1.0,
+          states.get(states.size() - 1).poseMeters.getTranslation().getX(), 1E-9);
+    }
+  }
 }
@@ -0,0 +1,120 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj.trajectory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TrajectoryReaderTest {
+  private final Trajectory m_trajectory = TrajectoryGeneratorTest.getTrajectory(new ArrayList<>());
+
+  private void assertMatchesTrajectory(TrajectoryReader reader) {
+    var states = m_trajectory.getStates();
+    assertEquals(states.size(), reader.size());
+    assertEquals(m_trajectory.getTotalTimeSeconds(), reader.getTotalTimeSeconds());
+
+    var state = new PackedTrajectory.MutableState();
+    for (int i = 0; i < states.size(); i++) {
+      var expected = states.get(i);
+      reader.getState(i, state);
+      assertAll(
+          () -> assertEquals(expected.timeSeconds, state.timeSeconds),
+          () -> assertEquals(expected.velocityMetersPerSecond, state.velocityMetersPerSecond),
+          () -> assertEquals(expected.accelerationMetersPerSecondSq,
+              state.accelerationMetersPerSecondSq),
+          () -> assertEquals(expected.poseMeters.getTranslation().getX(), state.xMeters),
+          () -> assertEquals(expected.poseMeters.getTranslation().getY(), state.yMeters),
+          () -> assertEquals(expected.poseMeters.getRotation().getRadians(),
+              state.headingRadians),
+          () -> assertEquals(expected.curvatureRadPerMeter, state.curvatureRadPerMeter)
+      );
+    }
+  }
+
+  @Test
+  void testHeapBuffer() {
+    var buffer = ByteBuffer.allocate(
+        TrajectoryWriter.getSerializedSize(m_trajectory.getStates().size()));
+    TrajectoryWriter.write(m_trajectory, buffer);
+    assertEquals(buffer.capacity(), buffer.position());
+
+    buffer.flip();
+    assertMatchesTrajectory(new TrajectoryReader(buffer));
+  }
+
+  @Test
+  void testDirectBufferWithOffset() {
+    // Write after some other data in a big-endian buffer to check that the
+    // position and byte order are respected.
+    var buffer = ByteBuffer.allocateDirect(
+        3 + TrajectoryWriter.getSerializedSize(m_trajectory.getStates().size()));
+    buffer.put(new byte[] {1, 2, 3});
+    TrajectoryWriter.write(m_trajectory, buffer);
+    assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+
+    buffer.position(3);
+    var reader = new TrajectoryReader(buffer);
+    assertEquals(3, buffer.position());
+    assertMatchesTrajectory(reader);
+  }
+
+  @Test
+  void testMappedFile(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("trajectory.bin");
+    TrajectoryWriter.write(m_trajectory, file);
+
+    var reader = TrajectoryReader.map(file);
+    assertMatchesTrajectory(reader);
+    assertEquals(m_trajectory.getStates().size(), reader.toTrajectory().getStates().size());
+  }
+
+  @Test
+  void testInvalidBuffers() {
+    var buffer = ByteBuffer.allocate(
+        TrajectoryWriter.getSerializedSize(m_trajectory.getStates().size()));
+    TrajectoryWriter.write(m_trajectory, buffer);
+
+    assertAll(
+        // Bad magic number
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> new TrajectoryReader(ByteBuffer.allocate(64))),
+        // Unsupported version
+        () -> assertThrows(IllegalArgumentException.class, () -> {
+          var copy = ByteBuffer.wrap(buffer.array().clone()).order(ByteOrder.LITTLE_ENDIAN);
+          copy.putInt(Integer.BYTES, TrajectoryWriter.kVersion + 1);
+          new TrajectoryReader(copy);
+        }),
+        // Truncated
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> new TrajectoryReader(ByteBuffer.wrap(buffer.array(), 0,
+                buffer.capacity() - 1)))
+    );
+  }
+
+  @Test
+  void testTruncatedFile(@TempDir Path directory) throws IOException {
+    var file = directory.resolve("trajectory.bin");
+    TrajectoryWriter.write(m_trajectory, file);
+    var bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+    assertThrows(IllegalArgumentException.class, () -> TrajectoryReader.map(file));
+  }
+}
@@ -254,4 +254,22 @@ class TrapezoidProfileTest {
       }
     }
   }
+
+  // Tests that the position while accelerating and cruising uses the initial
+  // velocity rather than the velocity at time t
+  @Test
+  void positionUsesInitialVelocity() {
+    TrapezoidProfile.Constraints constraints = new TrapezoidProfile.Constraints(1.75, 0.75);
+    TrapezoidProfile.State goal = new TrapezoidProfile.State(12, 0);
+    TrapezoidProfile.State initial = new TrapezoidProfile.State(0, 1);
+
+    // Accelerates from 1 to 1.75 over the first second
+    TrapezoidProfile.State state = new TrapezoidProfile(constraints, goal, initial).calculate(0.5);
+    assertNear(0.5 + 0.75 * 0.5 * 0.5 / 2.0, state.position, 1e-9);
+    assertNear(1.375, state.velocity, 1e-9);
+
+    state = new TrapezoidProfile(constraints, goal, initial).calculate(1.25);
+    assertNear(1.375 + 1.75 * 0.25, state.position, 1e-9);
+    assertNear(1.75, state.velocity, 1e-9);
+  }
 }
@@ -9,7 +9,9 @@ package edu.wpi.first.wpilibj2.command;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.verify;
@@ -61,6 +63,86 @@ class CommandRequirementsTest extends CommandTestBase {
     assertFalse(scheduler.isScheduled(interrupter));
   }
 
+  @Test
+  void manySubsystemsRequirementTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Subsystem[] requirements = new Subsystem[150];
+    for (int i = 0; i < requirements.length; i++) {
+      requirements[i] = new TestSubsystem();
+    }
+
+    MockCommandHolder lowHolder = new MockCommandHolder(true, requirements[0], requirements[63]);
+    Command low = lowHolder.getMock();
+    MockCommandHolder highHolder = new MockCommandHolder(true, requirements[149]);
+    Command high = highHolder.getMock();
+
+    scheduler.schedule(low, high);
+    assertEquals(low, scheduler.requiring(requirements[63]));
+    assertEquals(high, scheduler.requiring(requirements[149]));
+
+    MockCommandHolder interrupterHolder =
+        new MockCommandHolder(true, requirements[63], requirements[100]);
+    Command interrupter = interrupterHolder.getMock();
+    scheduler.schedule(interrupter);
+
+    verify(low).end(true);
+    assertFalse(scheduler.isScheduled(low));
+    assertTrue(scheduler.isScheduled(high, interrupter));
+    assertNull(scheduler.requiring(requirements[0]));
+    assertEquals(interrupter, scheduler.requiring(requirements[100]));
+
+    scheduler.cancel(interrupter);
+    assertNull(scheduler.requiring(requirements[63]));
+    assertNull(scheduler.requiring(requirements[100]));
+  }
+
+  @Test
+  void reusedSubsystemIdTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Subsystem first = new TestSubsystem();
+    Subsystem second = new TestSubsystem();
+
+    MockCommandHolder firstHolder = new MockCommandHolder(true, first);
+    Command firstCommand = firstHolder.getMock();
+    MockCommandHolder secondHolder = new MockCommandHolder(true, second);
+    Command secondCommand = secondHolder.getMock();
+
+    scheduler.registerSubsystem(first);
+    scheduler.schedule(firstCommand);
+    scheduler.cancel(firstCommand);
+    scheduler.unregisterSubsystem(first);
+    scheduler.registerSubsystem(second);
+    scheduler.schedule(false, secondCommand);
+    scheduler.schedule(firstCommand);
+
+    assertTrue(scheduler.isScheduled(firstCommand, secondCommand));
+    assertEquals(firstCommand, scheduler.requiring(first));
+    assertEquals(secondCommand, scheduler.requiring(second));
+  }
+
+  @Test
+  void addedRequirementTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Subsystem requirement = new TestSubsystem();
+
+    CommandBase command = new WaitUntilCommand(() -> false);
+
+    scheduler.schedule(command);
+    scheduler.cancel(command);
+    command.addRequirements(requirement);
+
+    MockCommandHolder holderHolder = new MockCommandHolder(true, requirement);
+    Command holder = holderHolder.getMock();
+    scheduler.schedule(false, holder);
+    scheduler.schedule(command);
+
+    assertTrue(scheduler.isScheduled(holder));
+    assertFalse(scheduler.isScheduled(command));
+  }
+
   @Test
   void defaultCommandRequirementErrorTest() {
     CommandScheduler scheduler = new CommandScheduler();
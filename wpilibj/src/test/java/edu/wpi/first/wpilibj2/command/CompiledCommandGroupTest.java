@@ -0,0 +1,201 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledCommandGroupTest {
+  private final List<String> m_log = new ArrayList<>();
+  //Every call on the logging commands, including executions, in the order they were made
+  private final List<String> m_calls = new ArrayList<>();
+
+  /**
+   * A command that finishes after executing a set number of times, and logs what is called on it.
+   */
+  private class LoggingCommand extends CommandBase {
+    private final String m_name;
+    private final int m_length;
+    private int m_executions;
+
+    LoggingCommand(String name, int length, Subsystem... requirements) {
+      m_name = name;
+      m_length = length;
+      addRequirements(requirements);
+    }
+
+    @Override
+    public void initialize() {
+      m_executions = 0;
+      m_log.add(m_name + ".initialize");
+      m_calls.add(m_name + ".initialize");
+    }
+
+    @Override
+    public void execute() {
+      m_executions++;
+      m_calls.add(m_name + ".execute");
+    }
+
+    @Override
+    public void end(boolean interrupted) {
+      m_log.add(m_name + ".end(" + interrupted + ")");
+      m_calls.add(m_name + ".end(" + interrupted + ")");
+    }
+
+    @Override
+    public boolean isFinished() {
+      return m_executions >= m_length;
+    }
+  }
+
+  @BeforeEach
+  void clearGroupedCommands() {
+    CommandGroupBase.clearGroupedCommands();
+  }
+
+  private Command createTree() {
+    return new SequentialCommandGroup(
+        new ParallelCommandGroup(new LoggingCommand("a", 2)),
+        new ParallelRaceGroup(new LoggingCommand("b", 5),
+            new SequentialCommandGroup(new LoggingCommand("c", 1), new LoggingCommand("d", 1))),
+        new ParallelDeadlineGroup(new LoggingCommand("e", 2), new LoggingCommand("f", 4)),
+        new LoggingCommand("g", 1));
+  }
+
+  /**
+   * Runs a command to completion and returns what was logged in each iteration.  The parallel
+   * groups don't run their commands in any particular order, so each iteration's log is sorted.
+   */
+  private List<List<String>> run(Command command) {
+    List<List<String>> iterations = new ArrayList<>();
+    m_log.clear();
+    command.initialize();
+    for (int i = 0; i < 20; i++) {
+      command.execute();
+      boolean finished = command.isFinished();
+      if (finished) {
+        command.end(false);
+      }
+      Collections.sort(m_log);
+      iterations.add(new ArrayList<>(m_log));
+      m_log.clear();
+      if (finished) {
+        break;
+      }
+    }
+    return iterations;
+  }
+
+  @Test
+  void matchesGroupsTest() {
+    List<List<String>> expected = run(createTree());
+    CommandGroupBase.clearGroupedCommands();
+
+    assertEquals(expected, run(new CompiledCommandGroup(createTree())));
+    assertEquals(List.of("c.end(false)", "d.initialize"), expected.get(2));
+    assertEquals(List.of("b.end(true)", "d.end(false)", "e.initialize", "f.initialize"),
+        expected.get(3));
+    assertEquals(List.of("e.end(false)", "f.end(true)", "g.initialize"), expected.get(5));
+  }
+
+  /**
+   * Runs a command to completion and returns every call made on its commands, in order.
+   */
+  private List<String> runInOrder(Command command) {
+    m_calls.clear();
+    command.initialize();
+    for (int i = 0; i < 20; i++) {
+      command.execute();
+      if (command.isFinished()) {
+        command.end(false);
+        break;
+      }
+    }
+    return new ArrayList<>(m_calls);
+  }
+
+  @Test
+  void callOrderTest() {
+    //The same tree is run both ways, so the parallel groups run their commands in the same order
+    Command tree = new ParallelCommandGroup(
+        new SequentialCommandGroup(new LoggingCommand("a", 1), new LoggingCommand("b", 2)),
+        new LoggingCommand("c", 3),
+        new ParallelRaceGroup(new LoggingCommand("d", 3),
+            new ParallelDeadlineGroup(new LoggingCommand("e", 2), new LoggingCommand("f", 1),
+                new SequentialCommandGroup(new LoggingCommand("g", 1),
+                    new LoggingCommand("h", 1)))));
+    List<String> expected = runInOrder(tree);
+
+    assertEquals(expected, runInOrder(new CompiledCommandGroup(tree)));
+    assertTrue(Collections.indexOfSubList(expected,
+        List.of("a.execute", "a.end(false)", "b.initialize")) >= 0);
+    assertTrue(Collections.indexOfSubList(expected,
+        List.of("e.execute", "e.end(false)")) >= 0);
+  }
+
+  @Test
+  void interruptTest() {
+    Command compiled = new CompiledCommandGroup(createTree());
+    compiled.initialize();
+    compiled.execute();
+    compiled.execute();
+    compiled.execute();
+    m_log.clear();
+    compiled.end(true);
+    Collections.sort(m_log);
+
+    assertEquals(List.of("b.end(true)", "d.end(true)"), m_log);
+  }
+
+  @Test
+  void reinitializeTest() {
+    Command compiled = new CompiledCommandGroup(createTree());
+
+    assertEquals(run(compiled), run(compiled));
+  }
+
+  @Test
+  void overriddenGroupTest() {
+    AtomicInteger executions = new AtomicInteger();
+    Command group = new SequentialCommandGroup(new LoggingCommand("a", 1)) {
+      @Override
+      public void execute() {
+        executions.incrementAndGet();
+        super.execute();
+      }
+    };
+    run(new CompiledCommandGroup(group));
+
+    assertEquals(1, executions.get());
+  }
+
+  @Test
+  void groupingTest() {
+    Subsystem system1 = new Subsystem() {};
+    Subsystem system2 = new Subsystem() {};
+    Command tree = new SequentialCommandGroup(new LoggingCommand("a", 1, system1),
+        new LoggingCommand("b", 1, system2));
+    Command compiled = new CompiledCommandGroup(tree);
+
+    assertEquals(Set.of(system1, system2), compiled.getRequirements());
+    assertThrows(IllegalArgumentException.class, () -> new CompiledCommandGroup(tree));
+    assertFalse(compiled.isFinished());
+  }
+}
@@ -0,0 +1,253 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import edu.wpi.first.hal.sim.mockdata.DriverStationDataJNI;
+import edu.wpi.first.wpilibj.DriverStation;
+import edu.wpi.first.wpilibj.Joystick;
+import edu.wpi.first.wpilibj2.command.button.JoystickButton;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SuppressWarnings("PMD.TooManyMethods")
+class JoystickButtonTest extends CommandTestBase {
+  private int m_buttons;
+
+  @BeforeEach
+  void clearJoystickButtons() {
+    m_buttons = 0;
+    setStickButtons();
+  }
+
+  private void setButton(int buttonNumber, boolean pressed) {
+    if (pressed) {
+      m_buttons |= 1 << (buttonNumber - 1);
+    } else {
+      m_buttons &= ~(1 << (buttonNumber - 1));
+    }
+    setStickButtons();
+  }
+
+  private void setStickButtons() {
+    DriverStationDataJNI.setJoystickButtons((byte) 0, m_buttons, 12);
+    DriverStationDataJNI.notifyNewData();
+    while (DriverStation.getInstance().getStickButtons(0) != m_buttons) {
+      try {
+        Thread.sleep(1);
+      } catch (InterruptedException exception) {
+        exception.printStackTrace();
+      }
+    }
+  }
+
+  @Test
+  void whenPressedTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    MockCommandHolder command1Holder = new MockCommandHolder(true);
+    Command command1 = command1Holder.getMock();
+
+    new JoystickButton(new Joystick(0), 1).whenPressed(command1);
+    scheduler.run();
+    verify(command1, never()).schedule(true);
+    setButton(1, true);
+    scheduler.run();
+    scheduler.run();
+    verify(command1).schedule(true);
+  }
+
+  @Test
+  void whenReleasedTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    MockCommandHolder command1Holder = new MockCommandHolder(true);
+    Command command1 = command1Holder.getMock();
+
+    setButton(1, true);
+    new JoystickButton(new Joystick(0), 1).whenReleased(command1);
+    scheduler.run();
+    verify(command1, never()).schedule(true);
+    setButton(1, false);
+    scheduler.run();
+    scheduler.run();
+    verify(command1).schedule(true);
+  }
+
+  @Test
+  void whileHeldTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    MockCommandHolder command1Holder = new MockCommandHolder(true);
+    Command command1 = command1Holder.getMock();
+
+    new JoystickButton(new Joystick(0), 1).whileHeld(command1);
+    scheduler.run();
+    verify(command1, never()).schedule(true);
+    setButton(1, true);
+    scheduler.run();
+    scheduler.run();
+    verify(command1, times(2)).schedule(true);
+    setButton(1, false);
+    scheduler.run();
+    verify(command1).cancel();
+  }
+
+  @Test
+  void whenHeldTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    MockCommandHolder command1Holder = new MockCommandHolder(true);
+    Command command1 = command1Holder.getMock();
+
+    new JoystickButton(new Joystick(0), 1).whenHeld(command1);
+    scheduler.run();
+    verify(command1, never()).schedule(true);
+    setButton(1, true);
+    scheduler.run();
+    scheduler.run();
+    verify(command1).schedule(true);
+    setButton(1, false);
+    scheduler.run();
+    verify(command1).cancel();
+  }
+
+  @Test
+  void toggleWhenPressedTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    MockCommandHolder command1Holder = new MockCommandHolder(true);
+    Command command1 = command1Holder.getMock();
+
+    new JoystickButton(new Joystick(0), 1).toggleWhenPressed(command1);
+    scheduler.run();
+    verify(command1, never()).schedule(true);
+    setButton(1, true);
+    scheduler.run();
+    when(command1.isScheduled()).thenReturn(true);
+    scheduler.run();
+    verify(command1).schedule(true);
+    setButton(1, false);
+    scheduler.run();
+    verify(command1, never()).cancel();
+    setButton(1, true);
+    scheduler.run();
+    verify(command1).cancel();
+  }
+
+  @Test
+  void cancelWhenPressedTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    MockCommandHolder command1Holder = new MockCommandHolder(true);
+    Command command1 = command1Holder.getMock();
+
+    new JoystickButton(new Joystick(0), 1).cancelWhenPressed(command1);
+    scheduler.run();
+    verify(command1, never()).cancel();
+    setButton(1, true);
+    scheduler.run();
+    scheduler.run();
+    verify(command1).cancel();
+  }
+
+  @Test
+  void polledOnlyOnChangeTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    Counter changes = new Counter();
+    Counter whilePressed = new Counter();
+
+    scheduler.addJoystickButton(changes::increment, 0, 2, false);
+    scheduler.addJoystickButton(whilePressed::increment, 0, 2, true);
+    scheduler.run();
+    scheduler.run();
+    assertEquals(0, changes.m_counter);
+    assertEquals(0, whilePressed.m_counter);
+
+    setButton(2, true);
+    scheduler.run();
+    scheduler.run();
+    assertEquals(1, changes.m_counter);
+    assertEquals(2, whilePressed.m_counter);
+
+    setButton(2, false);
+    scheduler.run();
+    scheduler.run();
+    assertEquals(2, changes.m_counter);
+    assertEquals(3, whilePressed.m_counter);
+  }
+
+  @Test
+  void subclassTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    ConditionHolder condition = new ConditionHolder();
+    Counter counter = new Counter();
+
+    //The subclass doesn't depend on the joystick's buttons, so it must still be polled
+    new JoystickButton(new Joystick(0), 1) {
+      @Override
+      public boolean get() {
+        return condition.getCondition();
+      }
+    }.whenPressed(counter::increment);
+    scheduler.run();
+    condition.setCondition(true);
+    scheduler.run();
+    assertEquals(1, counter.m_counter);
+  }
+
+  @Test
+  void remappedJoystickTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    ConditionHolder condition = new ConditionHolder();
+    Counter counter = new Counter();
+
+    Joystick joystick = new Joystick(0) {
+      @Override
+      public boolean getRawButton(int button) {
+        return condition.getCondition();
+      }
+    };
+    new JoystickButton(joystick, 1).whenPressed(counter::increment);
+    scheduler.run();
+    condition.setCondition(true);
+    scheduler.run();
+    assertEquals(1, counter.m_counter);
+  }
+
+  @Test
+  void outOfRangeTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    Counter counter = new Counter();
+
+    //Buttons the driver station can't report are polled every iteration
+    scheduler.addJoystickButton(counter::increment, -1, 1, false);
+    scheduler.addJoystickButton(counter::increment, DriverStation.kJoystickPorts, 1, false);
+    scheduler.addJoystickButton(counter::increment, 0, 0, false);
+    scheduler.addJoystickButton(counter::increment, 0, Integer.SIZE + 1, false);
+    scheduler.run();
+    scheduler.run();
+    assertEquals(8, counter.m_counter);
+  }
+
+  @Test
+  void registrationOrderTest() {
+    CommandScheduler scheduler = CommandScheduler.getInstance();
+    List<String> polled = new ArrayList<>();
+
+    scheduler.addButton(() -> polled.add("first"));
+    scheduler.addJoystickButton(() -> polled.add("joystick"), 0, 3, false);
+    scheduler.addButton(() -> polled.add("last"));
+    setButton(3, true);
+    scheduler.run();
+    assertEquals(List.of("first", "joystick", "last"), polled);
+  }
+}
@@ -7,10 +7,19 @@
 
 package edu.wpi.first.wpilibj2.command;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SchedulerTest extends CommandTestBase {
   @Test
@@ -54,4 +63,116 @@ class SchedulerTest extends CommandTestBase {
     scheduler.registerSubsystem(system);
     assertDoesNotThrow(() -> scheduler.unregisterSubsystem(system));
   }
+
+  @Test
+  void parallelPeriodicTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    Subsystem[] systems = new Subsystem[8];
+    for (int i = 0; i < systems.length; i++) {
+      systems[i] = new Subsystem() {
+        @Override
+        public void periodic() {
+          threads.add(Thread.currentThread());
+        }
+      };
+      scheduler.registerSubsystem(systems[i]);
+    }
+    for (int i = 1; i < systems.length; i++) {
+      scheduler.setPeriodicThreadSafe(systems[i], true);
+    }
+
+    Thread mainThread = Thread.currentThread();
+    Counter counter = new Counter();
+    Subsystem serial = new Subsystem() {
+      @Override
+      public void periodic() {
+        if (Thread.currentThread() == mainThread) {
+          counter.increment();
+        }
+      }
+    };
+    scheduler.registerSubsystem(serial);
+
+    scheduler.enableParallelPeriodic(2);
+    try {
+      for (int i = 0; i < 10; i++) {
+        scheduler.run();
+      }
+      assertEquals(10, counter.m_counter);
+      assertTrue(threads.contains(mainThread));
+      assertTrue(threads.size() <= 3);
+
+      Subsystem throwing = new Subsystem() {
+        @Override
+        public void periodic() {
+          throw new IllegalStateException();
+        }
+      };
+      scheduler.registerSubsystem(throwing);
+      scheduler.setPeriodicThreadSafe(throwing, true);
+      assertThrows(IllegalStateException.class, scheduler::run);
+      assertEquals(11, counter.m_counter);
+    } finally {
+      scheduler.disableParallelPeriodic();
+    }
+  }
+
+  @Test
+  void parallelPeriodicSerialExceptionTest() {
+    CommandScheduler scheduler = new CommandScheduler();
+
+    //Each thread-safe subsystem waits until the latch is released, which only happens if enough
+    //threads run them at once
+    AtomicReference<CountDownLatch> latch = new AtomicReference<>();
+    AtomicInteger timeouts = new AtomicInteger();
+    for (int i = 0; i < 3; i++) {
+      Subsystem system = new Subsystem() {
+        @Override
+        public void periodic() {
+          CountDownLatch current = latch.get();
+          current.countDown();
+          try {
+            if (!current.await(5, TimeUnit.SECONDS)) {
+              timeouts.incrementAndGet();
+            }
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        }
+      };
+      scheduler.registerSubsystem(system);
+      scheduler.setPeriodicThreadSafe(system, true);
+    }
+
+    Counter calls = new Counter();
+    Subsystem throwing = new Subsystem() {
+      @Override
+      public void periodic() {
+        calls.increment();
+        if (calls.m_counter == 1) {
+          throw new IllegalStateException();
+        }
+      }
+    };
+    scheduler.registerSubsystem(throwing);
+
+    scheduler.enableParallelPeriodic(2);
+    try {
+      //The main thread throws before helping, so only the two workers run the subsystems
+      latch.set(new CountDownLatch(2));
+      assertThrows(IllegalStateException.class, scheduler::run);
+
+      //Afterwards the main thread and both workers must still run them together
+      for (int i = 0; i < 3; i++) {
+        latch.set(new CountDownLatch(3));
+        assertDoesNotThrow(scheduler::run);
+      }
+      assertEquals(4, calls.m_counter);
+      assertEquals(0, timeouts.get());
+    } finally {
+      scheduler.disableParallelPeriodic();
+    }
+  }
 }
@@ -0,0 +1,65 @@
+/*----------------------------------------------------------------------------*/
+/* Copyright (c) 2019 FIRST. All Rights Reserved.                             */
+/* Open Source Software - may be modified and shared by FRC teams. The code   */
+/* must be accompanied by the FIRST BSD license file in the root directory of */
+/* the project.                                                               */
+/*----------------------------------------------------------------------------*/
+
+package edu.wpi.first.wpilibj2.command;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimingHistogramTest {
+  @Test
+  void emptyTest() {
+    TimingHistogram histogram = new TimingHistogram();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0.0, histogram.getMean());
+    assertEquals(0.0, histogram.getMax());
+    assertEquals(0.0, histogram.getPercentile(0.99));
+  }
+
+  @Test
+  void statisticsTest() {
+    TimingHistogram histogram = new TimingHistogram();
+    // 90 runs of 1.5 ms and 10 runs of 30 ms
+    for (int i = 0; i < 90; i++) {
+      histogram.record(1_500_000);
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.record(30_000_000);
+    }
+
+    assertEquals(100, histogram.getCount());
+    assertEquals(0.435, histogram.getTotal(), 1e-12);
+    assertEquals(0.00435, histogram.getMean(), 1e-12);
+    assertEquals(0.030, histogram.getMax(), 1e-12);
+
+    // 1.5 ms falls in the bucket up to 2.048 ms
+    assertEquals(0.002048, histogram.getPercentile(0.5), 1e-12);
+    assertEquals(0.002048, histogram.getPercentile(0.9), 1e-12);
+    // 30 ms falls in the bucket up to 32.768 ms, which is clamped to the maximum
+    assertEquals(0.030, histogram.getPercentile(0.95), 1e-12);
+  }
+
+  @Test
+  void longDurationTest() {
+    TimingHistogram histogram = new TimingHistogram();
+    histogram.record(100_000_000_000L);
+
+    assertEquals(100.0, histogram.getPercentile(0.5), 1e-9);
+  }
+
+  @Test
+  void resetTest() {
+    TimingHistogram histogram = new TimingHistogram();
+    histogram.record(5_000);
+    histogram.reset();
+
+    assertEquals(0, histogram.getCount());
+    assertEquals(0.0, histogram.getMax());
+  }
+}